@@ -0,0 +1,319 @@
+//AssignmentWorkspace.java
+
+/**
+ * Fungsi pembatas assignment problem untuk graf berarah.
+ * Simpul pohon ruang status adalah lintasan dari simpul awal v0 hingga vk, sehingga sisa tur
+ * memasangkan setiap baris {vk} dan U (vertex yang belum dikunjungi) dengan tepat satu kolom U dan
+ * {v0}. Tanpa syarat tur tunggal, ini adalah assignment problem yang nilai optimalnya batas bawah
+ * bobot sisa tur, jauh lebih ketat daripada satu kali reduksi baris/kolom Reduced Cost Matrix.
+ * Assignment diselesaikan dengan metode Hungarian (lintasan augmentasi terpendek dengan potensial
+ * dual). Akar diselesaikan dari awal dalam O(n^3). Anak memakai assignment dan potensial parent :
+ * menetapkan sisi vk ke anak hanya melepas paling banyak dua pasangan, sehingga cukup paling banyak
+ * dua augmentasi O(n^2). Jika assignment anak sudah berupa satu lintasan dari anak ke v0, lintasan
+ * tersebut adalah tur terbaik di subpohon anak.
+ * Satu objek hanya boleh dipakai oleh satu thread pencarian.
+ * @author Arno Alexander
+ */
+class AssignmentWorkspace {
+
+  /*Banyak vertex*/
+  private final int numberOfVertex;
+  /*Bobot sisi i ke j pada indeks i*numberOfVertex+j, tak hingga jika tidak ada atau i sama j*/
+  private final double[] weight;
+
+  /*Keadaan parent yang dimuat dengan load()*/
+  private SimpulAssignment parent;
+  private final int[] parentAssignment;
+  private final double[] parentRowPotential;
+  private final double[] parentColumnPotential;
+  /*Keadaan kerja simpul yang sedang dihitung, baris atau kolom tidak aktif bernilai -1*/
+  private int lastVertex;
+  private final int[] assignment;
+  private final int[] assignedRow;
+  private final double[] rowPotential;
+  private final double[] columnPotential;
+  /*Kolom aktif : U dan v0, tanpa kolom vertex anak*/
+  private final int[] column;
+  private int numberOfColumn;
+  /*Baris yang belum berpasangan*/
+  private final int[] freeRow;
+  private int numberOfFreeRow;
+  /*Array kerja lintasan augmentasi terpendek*/
+  private final double[] distance;
+  private final int[] previousRow;
+  private final boolean[] isScanned;
+  private final int[] scanned;
+
+  /**
+   * Konstruktor. Menyalin bobot matriks ke array datar.
+   * @param matrix matriks bobot permasalahan
+   * @throws IllegalArgumentException jika matriks n x n melebihi ukuran array maksimum
+   */
+  AssignmentWorkspace(WeightMatrix matrix) {
+    numberOfVertex = matrix.getNumberOfVertex();
+    weight = new double[WeightMatrix.computeDenseSize(numberOfVertex)];
+    for (int i = 0; i < numberOfVertex; ++i) {
+      for (int j = 0; j < numberOfVertex; ++j) {
+        double edgeWeight = matrix.getWeight(i, j);
+        weight[i*numberOfVertex + j] = edgeWeight == WeightMatrix.INVALID_WEIGHT || i == j
+            ? Double.POSITIVE_INFINITY : edgeWeight;
+      }
+    }
+    parentAssignment = new int[numberOfVertex];
+    parentRowPotential = new double[numberOfVertex];
+    parentColumnPotential = new double[numberOfVertex];
+    assignment = new int[numberOfVertex];
+    assignedRow = new int[numberOfVertex];
+    rowPotential = new double[numberOfVertex];
+    columnPotential = new double[numberOfVertex];
+    column = new int[numberOfVertex];
+    freeRow = new int[numberOfVertex];
+    distance = new double[numberOfVertex];
+    previousRow = new int[numberOfVertex];
+    isScanned = new boolean[numberOfVertex];
+    scanned = new int[numberOfVertex];
+  }
+
+  /**
+   * Membuat simpul akar dengan menyelesaikan assignment problem seluruh vertex dari awal.
+   * @return simpul akar, nilai batasnya tak hingga jika tidak ada assignment
+   */
+  SimpulAssignment createRoot() {
+    SimpulAssignment root = new SimpulAssignment(numberOfVertex);
+    lastVertex = WeightMatrix.START_VERTEX;
+    numberOfColumn = 0;
+    numberOfFreeRow = 0;
+    for (int j = 0; j < numberOfVertex; ++j) {
+      double minimum = Double.POSITIVE_INFINITY;
+      for (int i = 0; i < numberOfVertex; ++i) {
+        minimum = Math.min(minimum, getCost(i, j));
+      }
+      if (minimum == Double.POSITIVE_INFINITY) { //tidak ada sisi masuk ke j
+        return root;
+      }
+      columnPotential[j] = minimum; //potensial awal layak : bobot tereduksi tidak negatif
+      rowPotential[j] = 0;
+      assignment[j] = -1;
+      assignedRow[j] = -1;
+      column[numberOfColumn++] = j;
+      freeRow[numberOfFreeRow++] = j;
+    }
+    double value = solveFreeRows();
+    if (value < Double.POSITIVE_INFINITY) {
+      root.cost = value;
+      saveTo(root);
+    }
+    return root;
+  }
+
+  /**
+   * Memuat assignment dan potensial simpul sebagai parent untuk evaluateChild(), lalu melepasnya
+   * dari simpul karena simpul hanya diekspansi sekali.
+   * @param simpul simpul yang akan diekspansi, nilai batasnya tidak tak hingga
+   */
+  void load(SimpulAssignment simpul) {
+    parent = simpul;
+    System.arraycopy(simpul.assignment, 0, parentAssignment, 0, numberOfVertex);
+    System.arraycopy(simpul.rowPotential, 0, parentRowPotential, 0, numberOfVertex);
+    System.arraycopy(simpul.columnPotential, 0, parentColumnPotential, 0, numberOfVertex);
+    simpul.assignment = null;
+    simpul.rowPotential = null;
+    simpul.columnPotential = null;
+  }
+
+  /**
+   * Menghitung nilai batas anak parent dengan sisi vk ke nextVertex ditetapkan.
+   * Setelah dipanggil, findTour() dan createChild() memakai assignment anak ini.
+   * @param nextVertex vertex anak, anggota U, bukan vertex terakhir yang belum dikunjungi
+   * @param childPathWeight bobot lintasan hingga nextVertex
+   * @return bobot lintasan ditambah nilai assignment, tak hingga jika tidak ada assignment
+   */
+  double evaluateChild(int nextVertex, double childPathWeight) {
+    int vertex = parent.vertex;
+    lastVertex = nextVertex;
+    numberOfColumn = 0;
+    for (int j = 0; j < numberOfVertex; ++j) {
+      assignment[j] = parentAssignment[j];
+      assignedRow[j] = -1;
+      rowPotential[j] = parentRowPotential[j];
+      columnPotential[j] = parentColumnPotential[j];
+      if ((!parent.isVisited[j] && j != nextVertex) || j == WeightMatrix.START_VERTEX) {
+        column[numberOfColumn++] = j;
+      }
+    }
+    for (int i = 0; i < numberOfVertex; ++i) {
+      if (assignment[i] >= 0) {
+        assignedRow[assignment[i]] = i;
+      }
+    }
+    numberOfFreeRow = 0;
+    int releasedColumn = assignment[vertex];
+    assignment[vertex] = -1;
+    if (releasedColumn != nextVertex) { //pasangan kolom nextVertex dan baris vk sama-sama lepas
+      int releasedRow = assignedRow[nextVertex];
+      assignment[releasedRow] = -1;
+      assignedRow[releasedColumn] = -1;
+      freeRow[numberOfFreeRow++] = releasedRow;
+    }
+    assignedRow[nextVertex] = -1;
+    if (assignment[nextVertex] == WeightMatrix.START_VERTEX) { //sisi ke v0 terlarang bagi vk baru
+      assignment[nextVertex] = -1;
+      assignedRow[WeightMatrix.START_VERTEX] = -1;
+      freeRow[numberOfFreeRow++] = nextVertex;
+    }
+    double value = solveFreeRows();
+    return value == Double.POSITIVE_INFINITY ? value : childPathWeight + value;
+  }
+
+  /**
+   * Mengambil sisa tur jika assignment evaluateChild() terakhir berupa satu lintasan dari anak
+   * melalui seluruh U kembali ke v0. Bobot tur tersebut sama dengan nilai batas anak.
+   * @return urutan vertex dari anak hingga vertex terakhir sebelum v0, null jika ada subtur
+   */
+  int[] findTour() {
+    int[] tour = new int[numberOfColumn];
+    int current = lastVertex;
+    for (int k = 0; k < numberOfColumn; ++k) {
+      if (current == WeightMatrix.START_VERTEX) {
+        return null;
+      }
+      tour[k] = current;
+      current = assignment[current];
+    }
+    return tour;
+  }
+
+  /**
+   * Membuat anak dengan assignment dan potensial dari evaluateChild() terakhir.
+   * @param parentSimpul simpul yang dimuat dengan load()
+   * @param nextVertex vertex anak
+   * @param childPathWeight bobot lintasan hingga nextVertex
+   * @param cost nilai batas anak
+   * @return simpul anak
+   */
+  SimpulAssignment createChild(SimpulAssignment parentSimpul, int nextVertex,
+      double childPathWeight, double cost) {
+    SimpulAssignment child = new SimpulAssignment(parentSimpul, nextVertex, childPathWeight, cost);
+    saveTo(child);
+    return child;
+  }
+
+  /*Menyalin keadaan kerja ke simpul*/
+  private void saveTo(SimpulAssignment simpul) {
+    simpul.assignment = assignment.clone();
+    simpul.rowPotential = rowPotential.clone();
+    simpul.columnPotential = columnPotential.clone();
+  }
+
+  /*Bobot sisi pada assignment simpul yang sedang dihitung, sisi vk ke v0 menutup tur terlalu awal*/
+  private double getCost(int row, int col) {
+    if (row == lastVertex && col == WeightMatrix.START_VERTEX) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return weight[row*numberOfVertex + col];
+  }
+
+  /*Memasangkan seluruh freeRow, mengembalikan nilai assignment atau tak hingga jika tidak ada*/
+  private double solveFreeRows() {
+    for (int k = 0; k < numberOfFreeRow; ++k) {
+      if (!augment(freeRow[k])) {
+        return Double.POSITIVE_INFINITY;
+      }
+    }
+    double value = 0;
+    for (int k = 0; k < numberOfColumn; ++k) {
+      int col = column[k];
+      value += getCost(assignedRow[col], col);
+    }
+    return value;
+  }
+
+  /*
+   * Mencari lintasan augmentasi terpendek dari row dengan algoritma Dijkstra pada bobot tereduksi
+   * (bobot dikurangi potensial baris dan kolom, tidak negatif dan nol pada setiap pasangan), lalu
+   * memperbarui potensial agar tetap layak dan menukar pasangan di sepanjang lintasan.
+   * Mengembalikan false jika row tidak dapat dipasangkan.
+   */
+  private boolean augment(int row) {
+    for (int k = 0; k < numberOfColumn; ++k) {
+      int col = column[k];
+      distance[col] = getCost(row, col) - rowPotential[row] - columnPotential[col];
+      previousRow[col] = row;
+      isScanned[col] = false;
+    }
+    int numberOfScanned = 0;
+    int endColumn;
+    while (true) {
+      endColumn = -1;
+      double minimum = Double.POSITIVE_INFINITY;
+      for (int k = 0; k < numberOfColumn; ++k) {
+        int col = column[k];
+        if (!isScanned[col] && distance[col] < minimum) {
+          minimum = distance[col];
+          endColumn = col;
+        }
+      }
+      if (endColumn < 0) {
+        return false;
+      }
+      isScanned[endColumn] = true;
+      int nextRow = assignedRow[endColumn];
+      if (nextRow < 0) {
+        break;
+      }
+      scanned[numberOfScanned++] = endColumn;
+      double base = minimum - rowPotential[nextRow];
+      for (int k = 0; k < numberOfColumn; ++k) {
+        int col = column[k];
+        double candidate = base + getCost(nextRow, col) - columnPotential[col];
+        if (!isScanned[col] && candidate < distance[col]) {
+          distance[col] = candidate;
+          previousRow[col] = nextRow;
+        }
+      }
+    }
+    double shortest = distance[endColumn];
+    for (int k = 0; k < numberOfScanned; ++k) {
+      int col = scanned[k];
+      double delta = shortest - distance[col];
+      columnPotential[col] -= delta;
+      rowPotential[assignedRow[col]] += delta;
+    }
+    rowPotential[row] += shortest;
+    int col = endColumn;
+    while (true) {
+      int currentRow = previousRow[col];
+      int previousColumn = assignment[currentRow];
+      assignment[currentRow] = col;
+      assignedRow[col] = currentRow;
+      if (currentRow == row) {
+        return true;
+      }
+      col = previousColumn;
+    }
+  }
+
+  /**
+   * Simpul pohon ruang status untuk fungsi pembatas assignment.
+   */
+  static final class SimpulAssignment extends WeightMatrix.Simpul {
+
+    public final boolean[] isVisited; //apakah vertex pada suatu indeks sudah dikunjungi
+    /*Pasangan kolom setiap baris dan potensial dual, null setelah simpul diekspansi*/
+    int[] assignment;
+    double[] rowPotential;
+    double[] columnPotential;
+
+    SimpulAssignment(int numberOfVertex) {
+      super(Double.POSITIVE_INFINITY);
+      isVisited = new boolean[numberOfVertex];
+      isVisited[vertex] = true;
+    }
+
+    SimpulAssignment(SimpulAssignment parent, int nextVertex, double pathWeight, double cost) {
+      super(parent, nextVertex, pathWeight, cost);
+      isVisited = parent.isVisited.clone();
+      isVisited[vertex] = true;
+    }
+  }
+}
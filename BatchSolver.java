@@ -0,0 +1,458 @@
+//BatchSolver.java
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Mode baris perintah tanpa antarmuka grafis untuk menyelesaikan banyak instance sekaligus.
+ * Pembacaan file, penyelesaian, dan penulisan hasil berjalan bersamaan : satu thread membaca
+ * instance berikutnya selama worker menyelesaikan instance sebelumnya, dan hasil ditulis satu
+ * baris per instance segera setelah selesai. Banyak instance yang sudah dibaca namun belum selesai
+ * dibatasi sehingga memori tidak bertambah dengan banyaknya file.
+ * @author Arno Alexander
+ */
+class BatchSolver {
+
+  /*Nama algoritma yang dapat dipilih*/
+  static final String ALGORITHM_AUTO = "auto";
+  static final String ALGORITHM_REDUCED_COST_MATRIX = "rcm";
+  static final String ALGORITHM_BOBOT_TUR_LENGKAP = "btl";
+  static final String ALGORITHM_DEPTH_FIRST_REDUCED_COST_MATRIX = "dfs-rcm";
+  static final String ALGORITHM_DEPTH_FIRST_BOBOT_TUR_LENGKAP = "dfs-btl";
+  static final String ALGORITHM_PARALLEL_REDUCED_COST_MATRIX = "parallel-rcm";
+  static final String ALGORITHM_PARALLEL_BOBOT_TUR_LENGKAP = "parallel-btl";
+  static final String ALGORITHM_ONE_TREE = "one-tree";
+  static final String ALGORITHM_PARALLEL_ONE_TREE = "parallel-one-tree";
+  static final String ALGORITHM_ASSIGNMENT = "assignment";
+  static final String ALGORITHM_PARALLEL_ASSIGNMENT = "parallel-assignment";
+  static final String ALGORITHM_HELD_KARP = "held-karp";
+  static final String ALGORITHM_HEURISTIC = "heuristic";
+  static final String ALGORITHM_DECOMPOSITION = "decomposition";
+  private static final List<String> ALGORITHMS = Arrays.asList(ALGORITHM_AUTO,
+      ALGORITHM_REDUCED_COST_MATRIX, ALGORITHM_BOBOT_TUR_LENGKAP,
+      ALGORITHM_DEPTH_FIRST_REDUCED_COST_MATRIX, ALGORITHM_DEPTH_FIRST_BOBOT_TUR_LENGKAP,
+      ALGORITHM_PARALLEL_REDUCED_COST_MATRIX, ALGORITHM_PARALLEL_BOBOT_TUR_LENGKAP,
+      ALGORITHM_ONE_TREE, ALGORITHM_PARALLEL_ONE_TREE, ALGORITHM_ASSIGNMENT,
+      ALGORITHM_PARALLEL_ASSIGNMENT, ALGORITHM_HELD_KARP, ALGORITHM_HEURISTIC,
+      ALGORITHM_DECOMPOSITION);
+  /*Status hasil pada keluaran*/
+  private static final String STATUS_OK = "OK";
+  private static final String STATUS_NO_TOUR = "NO_TOUR";
+  private static final String STATUS_TIME_LIMIT = "TIME_LIMIT";
+  private static final String STATUS_ERROR = "ERROR";
+  /*Kode keluar program*/
+  private static final int EXIT_SUCCESS = 0;
+  private static final int EXIT_INSTANCE_FAILED = 1;
+  private static final int EXIT_USAGE = 2;
+  /*Nilai awal pilihan*/
+  private static final long DEFAULT_TIME_LIMIT_MILLIS = 10000;
+  private static final String USAGE = String.join(System.lineSeparator(),
+      "Penggunaan : java Main [pilihan] file|direktori ...",
+      "  --algorithm NAMA   " + String.join(", ", ALGORITHMS) + " (awal : auto)",
+      "  --time-limit MS    batas waktu setiap instance dalam milidetik, 0 tanpa batas untuk",
+      "                     solver eksak, heuristik tetap dibatasi " + DEFAULT_TIME_LIMIT_MILLIS,
+      "                     (awal : " + DEFAULT_TIME_LIMIT_MILLIS + "). Jika Held-Karp pada auto",
+      "                     terhenti batas waktu, hanya tur konstruksi heuristik yang dibuat",
+      "  --threads N        banyak thread untuk satu instance (awal : 1)",
+      "  --workers N        banyak instance yang diselesaikan bersamaan (awal : banyak prosesor)",
+      "  --list FILE        baca daftar file instance dari FILE, - untuk input standar",
+      "  --output FILE      tulis hasil ke FILE (awal : output standar)",
+      "  --progress MS      cetak kemajuan setiap instance ke error standar setiap MS milidetik",
+      "  --cache FILE       pakai ulang hasil instance yang isinya sama dari FILE, lalu simpan",
+      "                     hasil baru ke FILE",
+      "Tanpa argumen, program membuka antarmuka grafis.",
+      "Keluaran : satu baris per instance berisi file, status, bobot, batas bawah, banyak simpul,",
+      "waktu (ms), dan tur, dipisahkan tab. Status TIME_LIMIT berarti solver eksak dihentikan",
+      "batas waktu dengan tur terbaik sejauh ini, atau local search heuristik dihentikan sebelum",
+      "tidak ada perbaikan lagi.");
+
+  /*Algoritma yang digunakan*/
+  private String algorithm = ALGORITHM_AUTO;
+  /*Batas waktu setiap instance*/
+  private long timeLimitMillis = DEFAULT_TIME_LIMIT_MILLIS;
+  /*Banyak thread untuk satu instance*/
+  private int numberOfThread = 1;
+  /*Banyak instance yang diselesaikan bersamaan*/
+  private int numberOfWorker = Runtime.getRuntime().availableProcessors();
+  /*Selang waktu laporan kemajuan, 0 jika tidak ada laporan*/
+  private long progressIntervalMillis = 0;
+  /*Cache hasil bersama seluruh instance, null jika tidak memakai cache*/
+  private SolutionCache solutionCache;
+
+  /**
+   * Menjalankan mode baris perintah.
+   * @param args argumen program
+   * @return kode keluar, 0 jika semua instance berhasil diselesaikan
+   */
+  static int run(String[] args) {
+    BatchSolver batchSolver = new BatchSolver();
+    List<String> inputPaths = new ArrayList<>();
+    String outputPath = null;
+    String cachePath = null;
+    try {
+      for (int i = 0; i < args.length; ++i) {
+        switch (args[i]) {
+          case "--help":
+            System.out.println(USAGE);
+            return EXIT_SUCCESS;
+          case "--algorithm":
+            batchSolver.setAlgorithm(value(args, ++i));
+            break;
+          case "--time-limit":
+            batchSolver.setTimeLimitMillis(Long.parseLong(value(args, ++i)));
+            break;
+          case "--threads":
+            batchSolver.setNumberOfThread(Integer.parseInt(value(args, ++i)));
+            break;
+          case "--workers":
+            batchSolver.setNumberOfWorker(Integer.parseInt(value(args, ++i)));
+            break;
+          case "--list":
+            readList(value(args, ++i), inputPaths);
+            break;
+          case "--output":
+            outputPath = value(args, ++i);
+            break;
+          case "--progress":
+            batchSolver.setProgressIntervalMillis(Long.parseLong(value(args, ++i)));
+            break;
+          case "--cache":
+            cachePath = value(args, ++i);
+            break;
+          default:
+            if (args[i].startsWith("--")) {
+              throw new IllegalArgumentException("Pilihan tidak dikenal : " + args[i]);
+            }
+            addInput(args[i], inputPaths);
+            break;
+        }
+      }
+      if (inputPaths.isEmpty()) {
+        throw new IllegalArgumentException("Tidak ada file instance");
+      }
+      if (cachePath != null) {
+        SolutionCache cache = new SolutionCache();
+        if (new File(cachePath).exists()) {
+          cache.load(cachePath);
+        }
+        batchSolver.setSolutionCache(cache);
+      }
+    } catch (IllegalArgumentException | IOException exception) {
+      System.err.println("Error : " + exception.getMessage());
+      System.err.println(USAGE);
+      return EXIT_USAGE;
+    }
+    OutputStream outputStream = System.out;
+    try {
+      if (outputPath != null) {
+        outputStream = new FileOutputStream(outputPath);
+      }
+      Writer output = new BufferedWriter(new OutputStreamWriter(outputStream,
+          StandardCharsets.UTF_8));
+      int numberOfFailed = batchSolver.solve(inputPaths, output);
+      output.flush();
+      if (outputStream != System.out) {
+        output.close();
+      }
+      if (cachePath != null) {
+        batchSolver.solutionCache.save(cachePath);
+      }
+      return numberOfFailed == 0 ? EXIT_SUCCESS : EXIT_INSTANCE_FAILED;
+    } catch (IOException exception) {
+      System.err.println("Error : Hasil tidak dapat ditulis (" + exception.getMessage() + ")");
+      return EXIT_INSTANCE_FAILED;
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      return EXIT_INSTANCE_FAILED;
+    }
+  }
+
+  /**
+   * Setter algorithm.
+   * @param algorithm salah satu konstanta ALGORITHM_*
+   */
+  void setAlgorithm(String algorithm) {
+    if (!ALGORITHMS.contains(algorithm)) {
+      throw new IllegalArgumentException("Algoritma tidak dikenal : " + algorithm);
+    }
+    this.algorithm = algorithm;
+  }
+
+  /**
+   * Setter timeLimitMillis.
+   * @param timeLimitMillis batas waktu setiap instance dalam milidetik, 0 berarti solver eksak
+   *     tidak dibatasi dan heuristik dibatasi DEFAULT_TIME_LIMIT_MILLIS
+   */
+  void setTimeLimitMillis(long timeLimitMillis) {
+    if (timeLimitMillis < 0) {
+      throw new IllegalArgumentException("Batas waktu tidak boleh negatif : " + timeLimitMillis);
+    }
+    this.timeLimitMillis = timeLimitMillis;
+  }
+
+  /**
+   * Setter numberOfThread.
+   * @param numberOfThread banyak thread untuk satu instance, minimal 1
+   */
+  void setNumberOfThread(int numberOfThread) {
+    if (numberOfThread < 1) {
+      throw new IllegalArgumentException("Banyak thread minimal 1 : " + numberOfThread);
+    }
+    this.numberOfThread = numberOfThread;
+  }
+
+  /**
+   * Setter numberOfWorker.
+   * @param numberOfWorker banyak instance yang diselesaikan bersamaan, minimal 1
+   */
+  void setNumberOfWorker(int numberOfWorker) {
+    if (numberOfWorker < 1) {
+      throw new IllegalArgumentException("Banyak worker minimal 1 : " + numberOfWorker);
+    }
+    this.numberOfWorker = numberOfWorker;
+  }
+
+  /**
+   * Setter progressIntervalMillis.
+   * @param progressIntervalMillis selang waktu laporan kemajuan dalam milidetik, 0 untuk tanpa
+   *     laporan
+   */
+  void setProgressIntervalMillis(long progressIntervalMillis) {
+    if (progressIntervalMillis < 0) {
+      throw new IllegalArgumentException("Selang waktu tidak boleh negatif : "
+          + progressIntervalMillis);
+    }
+    this.progressIntervalMillis = progressIntervalMillis;
+  }
+
+  /**
+   * Setter solutionCache.
+   * @param solutionCache cache hasil bersama seluruh instance, null untuk tidak memakai cache
+   */
+  void setSolutionCache(SolutionCache solutionCache) {
+    this.solutionCache = solutionCache;
+  }
+
+  /**
+   * Menyelesaikan seluruh instance dan menulis hasilnya sesuai urutan selesai.
+   * @param inputPaths lokasi file instance
+   * @param output tujuan keluaran, di-flush setiap satu baris
+   * @return banyak instance yang gagal dibaca atau diselesaikan
+   * @throws IOException jika keluaran gagal ditulis
+   * @throws InterruptedException jika thread diinterupsi saat menunggu hasil
+   */
+  int solve(List<String> inputPaths, Writer output) throws IOException, InterruptedException {
+    ExecutorService loaderPool = Executors.newSingleThreadExecutor();
+    ExecutorService solverPool = Executors.newFixedThreadPool(numberOfWorker);
+    CompletionService<String[]> completion = new ExecutorCompletionService<>(solverPool);
+    Semaphore loadedPermit = new Semaphore(numberOfWorker + 1); //satu instance menunggu worker
+    loaderPool.execute(() -> {
+      for (String inputPath : inputPaths) {
+        try {
+          loadedPermit.acquire();
+        } catch (InterruptedException exception) {
+          return;
+        }
+        WeightMatrix matrix = null;
+        String loadError = null;
+        try {
+          matrix = WeightMatrix.open(inputPath);
+        } catch (Exception | OutOfMemoryError exception) {
+          loadError = "File tidak dapat dibaca : " + exception;
+        }
+        final WeightMatrix loadedMatrix = matrix;
+        final String error = loadError;
+        completion.submit(() -> {
+          try {
+            return error != null ? errorLine(inputPath, error) : solve(inputPath, loadedMatrix);
+          } finally {
+            loadedPermit.release();
+          }
+        });
+      }
+    });
+    int numberOfFailed = 0;
+    try {
+      output.write("#file\tstatus\tbobot\tbatas_bawah\tsimpul\twaktu_ms\ttur"
+          + System.lineSeparator());
+      output.flush();
+      for (int i = 0; i < inputPaths.size(); ++i) {
+        String[] line;
+        try {
+          line = completion.take().get();
+        } catch (ExecutionException exception) {
+          line = errorLine("?", exception.getCause().toString());
+        }
+        if (STATUS_ERROR.equals(line[1])) {
+          numberOfFailed++;
+        }
+        output.write(String.join("\t", line) + System.lineSeparator());
+        output.flush();
+      }
+    } finally {
+      loaderPool.shutdownNow();
+      solverPool.shutdownNow();
+    }
+    return numberOfFailed;
+  }
+
+  /*Menyelesaikan satu instance yang sudah dibaca*/
+  private String[] solve(String inputPath, WeightMatrix matrix) {
+    long startTime = System.nanoTime();
+    if (progressIntervalMillis > 0) {
+      matrix.setSolverListener(progress -> System.err.println(inputPath + "\t" + progress),
+          progressIntervalMillis);
+    }
+    matrix.setTimeLimitMillis(timeLimitMillis);
+    matrix.setSolutionCache(solutionCache);
+    int[] tour;
+    try {
+      tour = solve(matrix);
+    } catch (RuntimeException | OutOfMemoryError error) {
+      return errorLine(inputPath, error.toString());
+    }
+    long elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+    SolverMetrics metrics = matrix.getMetrics();
+    String status = metrics.isStopped() ? STATUS_TIME_LIMIT
+        : tour == null ? STATUS_NO_TOUR : STATUS_OK;
+    double lowerBound = metrics.getLowerBound();
+    String lowerBoundText = Double.isInfinite(lowerBound) ? "-" : Double.toString(lowerBound);
+    if (tour == null) {
+      return new String[] {inputPath, status, "-", lowerBoundText, Integer.toString(
+          matrix.numberOfSimpulToSolve), Long.toString(elapsedMillis), "-"};
+    }
+    StringBuilder tourText = new StringBuilder();
+    for (int vertex : tour) {
+      if (tourText.length() > 0) {
+        tourText.append(' ');
+      }
+      tourText.append(vertex);
+    }
+    return new String[] {inputPath, status, Double.toString(matrix.shortestTourWeight),
+        lowerBoundText, Integer.toString(matrix.numberOfSimpulToSolve),
+        Long.toString(elapsedMillis), tourText.toString()};
+  }
+
+  /*Menjalankan algoritma yang dipilih*/
+  private int[] solve(WeightMatrix matrix) {
+    switch (algorithm) {
+      case ALGORITHM_REDUCED_COST_MATRIX:
+        return matrix.solveReducedCostMatrix();
+      case ALGORITHM_BOBOT_TUR_LENGKAP:
+        return matrix.solveBobotTurLengkap();
+      case ALGORITHM_DEPTH_FIRST_REDUCED_COST_MATRIX:
+        return matrix.solveDepthFirst(WeightMatrix.BOUND_REDUCED_COST_MATRIX);
+      case ALGORITHM_DEPTH_FIRST_BOBOT_TUR_LENGKAP:
+        return matrix.solveDepthFirst(WeightMatrix.BOUND_BOBOT_TUR_LENGKAP);
+      case ALGORITHM_PARALLEL_REDUCED_COST_MATRIX:
+        return matrix.solveParallel(WeightMatrix.BOUND_REDUCED_COST_MATRIX, numberOfThread);
+      case ALGORITHM_PARALLEL_BOBOT_TUR_LENGKAP:
+        return matrix.solveParallel(WeightMatrix.BOUND_BOBOT_TUR_LENGKAP, numberOfThread);
+      case ALGORITHM_ONE_TREE:
+        return matrix.solveOneTree();
+      case ALGORITHM_PARALLEL_ONE_TREE:
+        return matrix.solveParallel(WeightMatrix.BOUND_ONE_TREE, numberOfThread);
+      case ALGORITHM_ASSIGNMENT:
+        return matrix.solveAssignment();
+      case ALGORITHM_PARALLEL_ASSIGNMENT:
+        return matrix.solveParallel(WeightMatrix.BOUND_ASSIGNMENT, numberOfThread);
+      case ALGORITHM_HELD_KARP:
+        return matrix.solveHeldKarp(numberOfThread);
+      case ALGORITHM_HEURISTIC:
+        return matrix.solveHeuristic(getHeuristicTimeLimitMillis());
+      case ALGORITHM_DECOMPOSITION:
+        return matrix.solveDecomposition(DecompositionSolver.DEFAULT_CLUSTER_SIZE, numberOfThread);
+      default: //auto : eksak jika tabel Held-Karp muat di memori, selain itu heuristik
+        long memoryLimit = Runtime.getRuntime().maxMemory() / (2L * numberOfWorker);
+        if (matrix.isHeldKarpFeasible(memoryLimit)) {
+          int[] tour = matrix.solveHeldKarp(numberOfThread);
+          if (tour != null || !matrix.getMetrics().isStopped()) {
+            return tour;
+          }
+          //tabel tidak selesai dalam batas waktu, tur cepat lebih berguna daripada tidak ada tur;
+          //batas waktu sudah habis sehingga tanpa local search
+          matrix.setTimeLimitMillis(0);
+          tour = matrix.solveHeuristic(0);
+          matrix.getMetrics().requestStop(); //status tetap TIME_LIMIT karena solver eksak berhenti
+          return tour;
+        }
+        return matrix.solveHeuristic(getHeuristicTimeLimitMillis());
+    }
+  }
+
+  /*Batas waktu local search heuristik, tidak pernah 0 agar tur tidak berhenti pada konstruksi*/
+  private long getHeuristicTimeLimitMillis() {
+    return timeLimitMillis > 0 ? timeLimitMillis : DEFAULT_TIME_LIMIT_MILLIS;
+  }
+
+  /*Baris keluaran untuk instance yang gagal*/
+  private static String[] errorLine(String inputPath, String message) {
+    return new String[] {inputPath, STATUS_ERROR, "-", "-", "-", "-",
+        message.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ')};
+  }
+
+  /*Mengambil nilai pilihan*/
+  private static String value(String[] args, int index) {
+    if (index >= args.length) {
+      throw new IllegalArgumentException("Pilihan " + args[index-1] + " membutuhkan nilai");
+    }
+    return args[index];
+  }
+
+  /*Menambahkan file, atau seluruh file di dalam direktori secara terurut*/
+  private static void addInput(String path, List<String> inputPaths) {
+    File file = new File(path);
+    if (!file.isDirectory()) {
+      inputPaths.add(path);
+      return;
+    }
+    File[] children = file.listFiles();
+    if (children == null) {
+      throw new IllegalArgumentException("Direktori tidak dapat dibaca : " + path);
+    }
+    Arrays.sort(children);
+    for (File child : children) {
+      if (child.isFile() && !child.isHidden()) {
+        inputPaths.add(child.getPath());
+      }
+    }
+  }
+
+  /*Membaca daftar file instance, satu lokasi per baris*/
+  private static void readList(String listPath, List<String> inputPaths) throws IOException {
+    InputStream inputStream = listPath.equals("-") ? System.in : new FileInputStream(listPath);
+    BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream,
+        StandardCharsets.UTF_8));
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.trim().isEmpty()) {
+          addInput(line.trim(), inputPaths);
+        }
+      }
+    } finally {
+      if (inputStream != System.in) {
+        reader.close();
+      }
+    }
+  }
+}
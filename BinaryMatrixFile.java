@@ -0,0 +1,255 @@
+//BinaryMatrixFile.java
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Format file biner untuk matriks bobot.
+ * File diawali header berukuran tetap lalu diikuti bobot per baris (row-major) dalam presisi float
+ * atau double. Header berisi :
+ * <pre>
+ *   offset 0  : magic number "TSPM"
+ *   offset 4  : versi format
+ *   offset 8  : banyak vertex n
+ *   offset 12 : flag, bit 0 menyatakan graf berarah
+ *   offset 16 : presisi, ukuran satu bobot dalam byte (4 atau 8)
+ *   offset 20 : cadangan, berisi 0
+ * </pre>
+ * Semua bilangan disimpan dengan urutan byte big-endian. Sisi yang tidak ada disimpan sebagai
+ * INVALID_WEIGHT, sama seperti di dalam WeightMatrix. File dibuka dengan MappedByteBuffer sehingga
+ * bobot dibaca langsung dari file tanpa disalin ke heap.
+ * @author Arno Alexander
+ */
+class BinaryMatrixFile {
+
+  /*Konstanta presisi bobot*/
+  static final int PRECISION_FLOAT = Float.BYTES;
+  static final int PRECISION_DOUBLE = Double.BYTES;
+  /*Magic number di awal file, "TSPM" dalam ASCII*/
+  private static final int MAGIC = 0x5453504D;
+  /*Versi format yang ditulis dan dapat dibaca*/
+  private static final int VERSION = 1;
+  /*Ukuran header dalam byte, kelipatan 8 agar bobot double tetap rata*/
+  private static final int HEADER_SIZE = 32;
+  /*Posisi flag dalam header*/
+  private static final int FLAG_OFFSET = 12;
+  /*Bit flag graf berarah*/
+  private static final int FLAG_DIRECTED = 1;
+  /*Urutan byte semua bilangan dalam file*/
+  private static final ByteOrder BYTE_ORDER = ByteOrder.BIG_ENDIAN;
+  /*Ukuran buffer penulisan*/
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Program konversi dari file teks ke file biner.
+   * Penggunaan : java BinaryMatrixFile input.txt output.bin [float|double]
+   * @param args argumen
+   * @throws IOException jika file gagal dibaca atau ditulis
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2 || args.length > 3) {
+      System.err.println("Penggunaan : java BinaryMatrixFile input.txt output.bin [float|double]");
+      System.exit(1);
+    }
+    int precision = PRECISION_DOUBLE;
+    if (args.length == 3) {
+      precision = parsePrecision(args[2]);
+    }
+    convertText(args[0], args[1], precision);
+  }
+
+  /**
+   * Mengubah nama presisi menjadi konstanta presisi.
+   * @param name "float" atau "double"
+   * @return PRECISION_FLOAT atau PRECISION_DOUBLE
+   */
+  static int parsePrecision(String name) {
+    switch (name) {
+      case "float":
+        return PRECISION_FLOAT;
+      case "double":
+        return PRECISION_DOUBLE;
+      default:
+        throw new IllegalArgumentException("Presisi harus float atau double : " + name);
+    }
+  }
+
+  /**
+   * Memeriksa apakah sebuah file diawali magic number format biner.
+   * @param path lokasi file
+   * @return true jika file berformat biner
+   * @throws IOException jika file gagal dibaca
+   */
+  static boolean isBinaryFile(String path) throws IOException {
+    try (FileChannel channel = new FileInputStream(path).getChannel()) {
+      ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(BYTE_ORDER);
+      while (magic.hasRemaining() && channel.read(magic) >= 0) {
+      }
+      return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+    }
+  }
+
+  /**
+   * Mengonversi file teks input menjadi file biner.
+   * Baris teks ditulis ke file biner segera setelah diurai sehingga matriks tidak pernah berada
+   * di memori seluruhnya. Flag graf berarah diisi setelah semua baris ditulis.
+   * @param textPath lokasi file teks
+   * @param binaryPath lokasi file biner yang akan ditulis
+   * @param precision PRECISION_FLOAT atau PRECISION_DOUBLE
+   * @throws IOException jika file gagal dibaca atau ditulis
+   */
+  static void convertText(String textPath, String binaryPath, int precision) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(binaryPath, "rw");
+        FileChannel channel = file.getChannel()) {
+      file.setLength(0);
+      MatrixWriter writer = new MatrixWriter(channel, precision);
+      new MatrixLoader(textPath).load(writer);
+      writer.flush();
+      MappedWeightStorage storage = new MappedWeightStorage(channel, HEADER_SIZE,
+          writer.numberOfVertex, precision, BYTE_ORDER);
+      writeDirected(channel, !isSymmetric(storage));
+    }
+  }
+
+  /**
+   * Menulis matriks ke file biner.
+   * @param matrix matriks yang ditulis
+   * @param binaryPath lokasi file biner
+   * @param precision PRECISION_FLOAT atau PRECISION_DOUBLE
+   * @throws IOException jika file gagal ditulis
+   */
+  static void write(WeightMatrix matrix, String binaryPath, int precision) throws IOException {
+    int numberOfVertex = matrix.getNumberOfVertex();
+    try (RandomAccessFile file = new RandomAccessFile(binaryPath, "rw");
+        FileChannel channel = file.getChannel()) {
+      file.setLength(0);
+      MatrixWriter writer = new MatrixWriter(channel, precision);
+      writer.begin(numberOfVertex);
+      double[] rowWeight = new double[numberOfVertex];
+      for (int i = 0; i < numberOfVertex; ++i) {
+        for (int j = 0; j < numberOfVertex; ++j) {
+          rowWeight[j] = matrix.getWeight(i, j);
+        }
+        writer.acceptRow(i, rowWeight);
+      }
+      writer.flush();
+      writeDirected(channel, !matrix.isSymmetric());
+    }
+  }
+
+  /**
+   * Membuka file biner sebagai matriks bobot yang di-map ke memori.
+   * @param binaryPath lokasi file biner
+   * @return matriks bobot
+   * @throws IOException jika file tidak ditemukan, gagal dibaca, atau bukan file biner yang valid
+   */
+  static WeightMatrix open(String binaryPath) throws IOException {
+    try (FileChannel channel = new FileInputStream(binaryPath).getChannel()) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+      while (header.hasRemaining() && channel.read(header) >= 0) {
+      }
+      if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+        throw new IOException("File " + binaryPath + " bukan file matriks biner");
+      }
+      int version = header.getInt(4);
+      if (version != VERSION) {
+        throw new IOException("Versi file matriks biner tidak didukung : " + version);
+      }
+      int numberOfVertex = header.getInt(8);
+      boolean isDirected = (header.getInt(FLAG_OFFSET) & FLAG_DIRECTED) != 0;
+      int precision = header.getInt(16);
+      if (numberOfVertex <= 0 || (precision != PRECISION_FLOAT && precision != PRECISION_DOUBLE)) {
+        throw new IOException("Header file matriks biner rusak");
+      }
+      long expectedSize = HEADER_SIZE + (long) numberOfVertex * numberOfVertex * precision;
+      if (channel.size() != expectedSize) {
+        throw new IOException("Ukuran file matriks biner " + channel.size()
+            + " byte, seharusnya " + expectedSize + " byte");
+      }
+      WeightStorage storage = new MappedWeightStorage(channel, HEADER_SIZE, numberOfVertex,
+          precision, BYTE_ORDER);
+      return new WeightMatrix(storage, !isDirected);
+    }
+  }
+
+  /*Memeriksa kesimetrisan bobot yang sudah ditulis*/
+  private static boolean isSymmetric(WeightStorage storage) {
+    int numberOfVertex = storage.getNumberOfVertex();
+    for (int i = 0; i < numberOfVertex; i++) {
+      for (int j = i + 1; j < numberOfVertex; j++) {
+        if (storage.getWeight(i, j) != storage.getWeight(j, i)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /*Menulis flag graf berarah ke header*/
+  private static void writeDirected(FileChannel channel, boolean isDirected) throws IOException {
+    ByteBuffer flag = ByteBuffer.allocate(Integer.BYTES).order(BYTE_ORDER);
+    flag.putInt(0, isDirected ? FLAG_DIRECTED : 0);
+    while (flag.hasRemaining()) {
+      channel.write(flag, FLAG_OFFSET + flag.position());
+    }
+  }
+
+  /**
+   * Penulis header dan baris matriks ke channel melalui buffer.
+   */
+  private static class MatrixWriter implements MatrixLoader.RowSink {
+
+    private final FileChannel channel;
+    private final int precision;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+    private int numberOfVertex;
+
+    MatrixWriter(FileChannel channel, int precision) {
+      if (precision != PRECISION_FLOAT && precision != PRECISION_DOUBLE) {
+        throw new IllegalArgumentException("Presisi bobot tidak dikenal : " + precision);
+      }
+      this.channel = channel;
+      this.precision = precision;
+    }
+
+    @Override
+    public void begin(int numberOfVertex) throws IOException {
+      this.numberOfVertex = numberOfVertex;
+      buffer.putInt(MAGIC);
+      buffer.putInt(VERSION);
+      buffer.putInt(numberOfVertex);
+      buffer.putInt(0); //flag diisi setelah seluruh bobot ditulis
+      buffer.putInt(precision);
+      while (buffer.position() < HEADER_SIZE) {
+        buffer.put((byte) 0);
+      }
+    }
+
+    @Override
+    public void acceptRow(int row, double[] rowWeight) throws IOException {
+      for (double weight : rowWeight) {
+        if (buffer.remaining() < precision) {
+          flush();
+        }
+        if (precision == PRECISION_DOUBLE) {
+          buffer.putDouble(weight);
+        } else {
+          buffer.putFloat((float) weight);
+        }
+      }
+    }
+
+    /*Menulis isi buffer ke channel*/
+    void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+  }
+}
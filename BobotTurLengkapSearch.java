@@ -0,0 +1,287 @@
+//BobotTurLengkapSearch.java
+
+import java.util.Arrays;
+
+/**
+ * Pencarian best-first Bobot Tur Lengkap tanpa objek per simpul.
+ * Simpul disimpan dalam arena berupa array primitif sejajar (struct of arrays) dan dirujuk dengan
+ * indeks : parent berupa indeks, himpunan vertex yang sudah dikunjungi berupa bitmask long (satu
+ * word per 64 vertex), dan antrian berupa FrontierHeap berisi indeks. Nilai batas hanya disimpan
+ * di heap karena sama dengan boundSum / 2, dan level dihitung dari banyak bit bitmask. Simpul
+ * yang sudah diekspansi dan tidak lagi memiliki anak hidup dikembalikan ke free list, sehingga
+ * memori sebanding dengan banyak simpul hidup beserta leluhurnya, sama seperti Simpul yang dibuang
+ * garbage collector, dan ekspansi tidak mengalokasikan objek selama arena tidak perlu diperbesar.
+ * @author Arno Alexander
+ */
+class BobotTurLengkapSearch {
+
+  /*Kapasitas awal arena*/
+  private static final int INITIAL_CAPACITY = 1024;
+  /*Penanda akhir free list dan parent simpul akar*/
+  private static final int NONE = -1;
+
+  /*Matriks permasalahan dan daftar ketetanggaannya*/
+  private final WeightMatrix matrix;
+  private final SparseGraph graph;
+  /*Banyak vertex*/
+  private final int numberOfVertex;
+  /*Banyak word bitmask per simpul*/
+  private final int words;
+
+  /*Arena simpul, simpul index berada pada indeks index setiap array*/
+  private int[] parent; //indeks parent, NONE untuk akar; pada simpul bebas, simpul bebas berikutnya
+  private int[] vertex; //vertex yang ditempati
+  private int[] numberOfChild; //banyak anak yang masih tersimpan di arena
+  private double[] pathWeight; //bobot lintasan dari simpul awal
+  private double[] boundSum; //dua kali nilai batas
+  private long[] visited; //bitmask vertex yang sudah dikunjungi, words word per simpul
+  private int capacity;
+  private int size; //banyak indeks yang pernah dipakai
+  private int freeHead = NONE;
+
+  /*Indeks simpul hidup, terurut menurut nilai batas*/
+  private final FrontierHeap heap = new FrontierHeap();
+
+  /*Hasil pencarian*/
+  private double incumbentCost = Double.POSITIVE_INFINITY;
+  private int[] incumbentTour;
+  private int numberOfSimpul;
+  /*Nilai batas terkecil simpul yang belum selesai saat pencarian dihentikan*/
+  private double lowerBound = Double.POSITIVE_INFINITY;
+  private final int[] path;
+  /*Penghitung kemajuan*/
+  private final SolverMetrics metrics;
+  private final SolverMetrics.LocalCounter generatedCounter;
+  private final SolverMetrics.LocalCounter expandedCounter;
+  private final SolverMetrics.LocalCounter prunedCounter;
+
+  /**
+   * Konstruktor.
+   * @param matrix matriks permasalahan
+   * @param metrics penghitung kemajuan
+   */
+  BobotTurLengkapSearch(WeightMatrix matrix, SolverMetrics metrics) {
+    this.matrix = matrix;
+    this.metrics = metrics;
+    graph = matrix.getSparseGraph();
+    numberOfVertex = matrix.getNumberOfVertex();
+    words = (numberOfVertex + Long.SIZE - 1) / Long.SIZE;
+    path = new int[numberOfVertex];
+    capacity = INITIAL_CAPACITY;
+    parent = new int[capacity];
+    vertex = new int[capacity];
+    numberOfChild = new int[capacity];
+    pathWeight = new double[capacity];
+    boundSum = new double[capacity];
+    visited = new long[capacity * words];
+    generatedCounter = metrics.createGeneratedCounter();
+    expandedCounter = metrics.createExpandedCounter();
+    prunedCounter = metrics.createPrunedCounter();
+  }
+
+  /**
+   * Mengatur tur awal sebagai batas atas sebelum run().
+   * @param tour tur awal, diabaikan jika null atau memuat sisi yang tidak ada
+   */
+  void setInitialTour(int[] tour) {
+    double tourWeight = matrix.computeTourWeight(tour);
+    if (tourWeight < incumbentCost) {
+      incumbentCost = tourWeight;
+      incumbentTour = tour.clone();
+      metrics.setUpperBound(tourWeight);
+    }
+  }
+
+  /**
+   * Menjalankan pencarian hingga antrian habis atau terpangkas, atau hingga metrics meminta
+   * berhenti.
+   */
+  void run() {
+    int root = allocate();
+    parent[root] = NONE;
+    vertex[root] = WeightMatrix.START_VERTEX;
+    pathWeight[root] = 0;
+    setVisited(root, WeightMatrix.START_VERTEX);
+    double sum = matrix.computeRootBoundSum();
+    boundSum[root] = sum;
+    heap.push(root, sum / 2, 1);
+    numberOfSimpul++;
+    generatedCounter.increment();
+    while (!heap.isEmpty()) {
+      int head = heap.peekHandle();
+      double headCost = heap.peekKey();
+      if (headCost >= incumbentCost) { //simpul tersisa pasti bukan solusi yang lebih baik
+        prunedCounter.add(heap.size());
+        break;
+      }
+      if (metrics.isStopRequested()) { //head adalah simpul hidup dengan nilai batas terkecil
+        lowerBound = headCost;
+        break;
+      }
+      heap.pop();
+      if (expandedCounter.increment()) { //nilai batas head tidak lebih besar dari simpul hidup
+        metrics.setLowerBound(headCost);
+        metrics.setFrontierSize(heap.size());
+      }
+      expand(head);
+    }
+    generatedCounter.flush();
+    expandedCounter.flush();
+    prunedCounter.flush();
+  }
+
+  /**
+   * Getter incumbentTour.
+   * @return tur terbaik, null jika tidak ada tur
+   */
+  int[] getTour() {
+    return incumbentTour;
+  }
+
+  /**
+   * Getter incumbentCost.
+   * @return bobot tur terbaik, tak hingga jika tidak ada tur
+   */
+  double getTourWeight() {
+    return incumbentCost;
+  }
+
+  /**
+   * Getter lowerBound.
+   * @return nilai batas terkecil simpul hidup saat pencarian dihentikan, tak hingga jika selesai
+   */
+  double getLowerBound() {
+    return lowerBound;
+  }
+
+  /**
+   * Getter numberOfSimpul.
+   * @return banyak simpul yang dibangkitkan
+   */
+  int getNumberOfSimpul() {
+    return numberOfSimpul;
+  }
+
+  /*Membangkitkan anak head, sama dengan BobotTurLengkapExpander dan SimpulBobotTurLengkap*/
+  private void expand(int head) {
+    int headVertex = vertex[head];
+    int headParent = parent[head];
+    double headPathWeight = pathWeight[head];
+    int level = computeLevel(head);
+    for (int e = graph.getOutBegin(headVertex); e < graph.getOutEnd(headVertex); ++e) {
+      int i = graph.getTarget(e);
+      double edgeWeight = graph.getWeight(e);
+      if (isVisited(head, i) || headPathWeight + edgeWeight >= incumbentCost) {
+        continue;
+      }
+      numberOfSimpul++;
+      generatedCounter.increment();
+      if (level + 1 == numberOfVertex) { //daun, langsung dievaluasi sebagai tur
+        double tourWeight = matrix.computeTourWeight(headPathWeight, headVertex, i);
+        if (tourWeight < incumbentCost) {
+          incumbentCost = tourWeight;
+          fillPath(head, level);
+          path[numberOfVertex-1] = i;
+          incumbentTour = path.clone();
+          metrics.setUpperBound(tourWeight);
+          prune();
+        }
+        continue;
+      }
+      int previousVertex = headParent == NONE ? -1 : vertex[headParent];
+      double sum = boundSum[head] + matrix.computeBoundSumChange(previousVertex, headVertex, i);
+      if (sum / 2 >= incumbentCost) {
+        prunedCounter.increment();
+        continue;
+      }
+      int child = allocate();
+      parent[child] = head;
+      vertex[child] = i;
+      pathWeight[child] = headPathWeight + edgeWeight;
+      boundSum[child] = sum;
+      System.arraycopy(visited, head * words, visited, child * words, words);
+      setVisited(child, i);
+      numberOfChild[head]++;
+      heap.push(child, sum / 2, level + 1);
+    }
+    release(head);
+  }
+
+  /*Membuang seluruh simpul hidup yang tidak lebih ringan dari incumbent baru*/
+  private void prune() {
+    int numberOfRemoved = heap.pruneAtLeast(incumbentCost);
+    for (int k = 0; k < numberOfRemoved; ++k) {
+      release(heap.getRemovedHandle(k));
+    }
+    prunedCounter.add(numberOfRemoved);
+  }
+
+  /*Mengisi path dengan lintasan dari simpul awal hingga simpul index pada level tertentu*/
+  private void fillPath(int index, int level) {
+    for (int i = level-1; i >= 0; --i) {
+      path[i] = vertex[index];
+      index = parent[index];
+    }
+  }
+
+  /*Level simpul, yaitu banyak vertex yang sudah dikunjungi*/
+  private int computeLevel(int index) {
+    int level = 0;
+    for (int k = 0; k < words; ++k) {
+      level += Long.bitCount(visited[index * words + k]);
+    }
+    return level;
+  }
+
+  private boolean isVisited(int index, int vertexIndex) {
+    return (visited[index * words + (vertexIndex >>> 6)] & (1L << vertexIndex)) != 0;
+  }
+
+  private void setVisited(int index, int vertexIndex) {
+    visited[index * words + (vertexIndex >>> 6)] |= 1L << vertexIndex;
+  }
+
+  /*Mengambil indeks dari free list, atau indeks baru jika free list kosong*/
+  private int allocate() {
+    int index;
+    if (freeHead != NONE) {
+      index = freeHead;
+      freeHead = parent[index];
+    } else {
+      if (size == capacity) {
+        grow();
+      }
+      index = size++;
+    }
+    numberOfChild[index] = 0;
+    return index;
+  }
+
+  /*
+   * Mengembalikan simpul yang sudah diekspansi ke free list jika tidak memiliki anak, lalu
+   * memeriksa parent-nya dengan cara yang sama.
+   */
+  private void release(int index) {
+    while (index != NONE && numberOfChild[index] == 0) {
+      int parentIndex = parent[index];
+      parent[index] = freeHead;
+      freeHead = index;
+      Arrays.fill(visited, index * words, (index + 1) * words, 0);
+      if (parentIndex != NONE) {
+        numberOfChild[parentIndex]--;
+      }
+      index = parentIndex;
+    }
+  }
+
+  /*Menggandakan kapasitas arena*/
+  private void grow() {
+    capacity *= 2;
+    parent = Arrays.copyOf(parent, capacity);
+    vertex = Arrays.copyOf(vertex, capacity);
+    numberOfChild = Arrays.copyOf(numberOfChild, capacity);
+    pathWeight = Arrays.copyOf(pathWeight, capacity);
+    boundSum = Arrays.copyOf(boundSum, capacity);
+    visited = Arrays.copyOf(visited, capacity * words);
+  }
+}
@@ -0,0 +1,211 @@
+//CoordinateLoader.java
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Pembaca instance berupa koordinat titik.
+ * Dua format didukung :
+ * <ul>
+ *   <li>TSPLIB dengan NODE_COORD_SECTION dan EDGE_WEIGHT_TYPE EUC_2D, CEIL_2D, MAN_2D, MAX_2D, ATT,
+ *       atau GEO. Node nomor 1 menjadi vertex 0.</li>
+ *   <li>CSV berisi "x,y" atau "nomor,x,y" per baris dengan jarak Euclid tanpa pembulatan. Baris
+ *       pertama yang bukan bilangan dianggap judul kolom.</li>
+ * </ul>
+ * @author Arno Alexander
+ */
+class CoordinateLoader {
+
+  /*Lokasi file input*/
+  private final String inputPath;
+  /*Banyak entri cache jarak*/
+  private final int cacheSize;
+  /*Nomor baris yang sedang dibaca*/
+  private int lineNumber;
+
+  /**
+   * Konstruktor.
+   * @param inputPath lokasi file input
+   * @param cacheSize banyak entri cache jarak, 0 jika tidak memakai cache
+   */
+  CoordinateLoader(String inputPath, int cacheSize) {
+    this.inputPath = inputPath;
+    this.cacheSize = cacheSize;
+  }
+
+  /**
+   * Memeriksa apakah lokasi file menunjuk file koordinat, dikenali dari ekstensi .tsp atau .csv.
+   * @param path lokasi file
+   * @return true jika file koordinat
+   */
+  static boolean isCoordinateFile(String path) {
+    String lowerPath = path.toLowerCase();
+    return lowerPath.endsWith(".tsp") || lowerPath.endsWith(".csv");
+  }
+
+  /**
+   * Membaca file sesuai ekstensinya.
+   * @return penyimpanan bobot berupa koordinat
+   * @throws IOException jika file tidak ditemukan atau gagal dibaca
+   * @throws NoSuchElementException jika bagian yang dibutuhkan tidak ada di file
+   * @throws InputMismatchException jika ada baris yang tidak sesuai format
+   */
+  CoordinateWeightStorage load() throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        new FileInputStream(inputPath), StandardCharsets.US_ASCII))) {
+      lineNumber = 0;
+      if (inputPath.toLowerCase().endsWith(".csv")) {
+        return loadCsv(reader);
+      }
+      return loadTsplib(reader);
+    }
+  }
+
+  /*Membaca file TSPLIB*/
+  private CoordinateWeightStorage loadTsplib(BufferedReader reader) throws IOException {
+    int numberOfVertex = -1;
+    int distance = -1;
+    String line;
+    while ((line = nextLine(reader)) != null) {
+      int separator = line.indexOf(':');
+      String key = (separator < 0 ? line : line.substring(0, separator)).trim();
+      String value = separator < 0 ? "" : line.substring(separator + 1).trim();
+      if (key.equals("TYPE") && !value.equals("TSP")) {
+        throw new InputMismatchException("Baris " + lineNumber + " : hanya TYPE TSP yang didukung");
+      } else if (key.equals("DIMENSION")) {
+        numberOfVertex = parseInt(value);
+      } else if (key.equals("EDGE_WEIGHT_TYPE")) {
+        distance = parseDistance(value);
+      } else if (key.equals("NODE_COORD_SECTION")) {
+        break;
+      } else if (key.equals("EOF")) {
+        line = null;
+        break;
+      }
+    }
+    if (line == null) {
+      throw new NoSuchElementException("File input tidak memiliki NODE_COORD_SECTION");
+    }
+    if (numberOfVertex <= 0) {
+      throw new NoSuchElementException("File input tidak memiliki DIMENSION yang valid");
+    }
+    if (distance < 0) {
+      throw new NoSuchElementException("File input tidak memiliki EDGE_WEIGHT_TYPE");
+    }
+    double[] x = new double[numberOfVertex];
+    double[] y = new double[numberOfVertex];
+    boolean[] isRead = new boolean[numberOfVertex];
+    for (int i = 0; i < numberOfVertex; ++i) {
+      line = nextLine(reader);
+      if (line == null || line.equals("EOF")) {
+        throw new NoSuchElementException("File input hanya berisi " + i
+            + " koordinat, seharusnya " + numberOfVertex);
+      }
+      String[] token = line.split("\\s+");
+      if (token.length != 3) {
+        throw new InputMismatchException("Baris " + lineNumber + " harus berisi nomor, x, dan y");
+      }
+      int vertex = parseInt(token[0]) - 1;
+      if (vertex < 0 || vertex >= numberOfVertex || isRead[vertex]) {
+        throw new InputMismatchException("Baris " + lineNumber + " : nomor node " + token[0]
+            + " tidak valid atau ganda");
+      }
+      isRead[vertex] = true;
+      x[vertex] = parseDouble(token[1]);
+      y[vertex] = parseDouble(token[2]);
+    }
+    return new CoordinateWeightStorage(x, y, distance, cacheSize);
+  }
+
+  /*Membaca file CSV*/
+  private CoordinateWeightStorage loadCsv(BufferedReader reader) throws IOException {
+    double[] x = new double[16];
+    double[] y = new double[16];
+    int numberOfVertex = 0;
+    String line;
+    while ((line = nextLine(reader)) != null) {
+      String[] token = line.split("\\s*[,;]\\s*");
+      if (token.length != 2 && token.length != 3) {
+        throw new InputMismatchException("Baris " + lineNumber + " harus berisi x,y atau nomor,x,y");
+      }
+      int first = token.length - 2;
+      if (numberOfVertex == 0 && !isNumber(token[first])) { //judul kolom
+        continue;
+      }
+      if (numberOfVertex == x.length) {
+        x = Arrays.copyOf(x, numberOfVertex * 2);
+        y = Arrays.copyOf(y, numberOfVertex * 2);
+      }
+      x[numberOfVertex] = parseDouble(token[first]);
+      y[numberOfVertex] = parseDouble(token[first + 1]);
+      numberOfVertex++;
+    }
+    if (numberOfVertex == 0) {
+      throw new NoSuchElementException("File input kosong");
+    }
+    return new CoordinateWeightStorage(Arrays.copyOf(x, numberOfVertex),
+        Arrays.copyOf(y, numberOfVertex), CoordinateWeightStorage.DISTANCE_EUCLIDEAN, cacheSize);
+  }
+
+  /*Membaca baris tidak kosong berikutnya tanpa spasi di awal dan akhir, null jika file habis*/
+  private String nextLine(BufferedReader reader) throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      lineNumber++;
+    } while (line != null && line.trim().isEmpty());
+    return line == null ? null : line.trim();
+  }
+
+  /*Mengubah nama EDGE_WEIGHT_TYPE menjadi konstanta fungsi jarak*/
+  private int parseDistance(String name) {
+    switch (name) {
+      case "EUC_2D":
+        return CoordinateWeightStorage.DISTANCE_EUC_2D;
+      case "CEIL_2D":
+        return CoordinateWeightStorage.DISTANCE_CEIL_2D;
+      case "MAN_2D":
+        return CoordinateWeightStorage.DISTANCE_MAN_2D;
+      case "MAX_2D":
+        return CoordinateWeightStorage.DISTANCE_MAX_2D;
+      case "ATT":
+        return CoordinateWeightStorage.DISTANCE_ATT;
+      case "GEO":
+        return CoordinateWeightStorage.DISTANCE_GEO;
+      default:
+        throw new InputMismatchException("Baris " + lineNumber + " : EDGE_WEIGHT_TYPE " + name
+            + " tidak didukung");
+    }
+  }
+
+  private int parseInt(String token) {
+    try {
+      return Integer.parseInt(token);
+    } catch (NumberFormatException nfe) {
+      throw new InputMismatchException("Baris " + lineNumber + " : " + token + " bukan bilangan bulat");
+    }
+  }
+
+  private double parseDouble(String token) {
+    try {
+      return Double.parseDouble(token);
+    } catch (NumberFormatException nfe) {
+      throw new InputMismatchException("Baris " + lineNumber + " : " + token + " bukan bilangan");
+    }
+  }
+
+  private static boolean isNumber(String token) {
+    try {
+      Double.parseDouble(token);
+      return true;
+    } catch (NumberFormatException nfe) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,341 @@
+//CoordinateWeightStorage.java
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Penyimpanan bobot berupa koordinat titik.
+ * Jarak dihitung saat dibutuhkan dari koordinat sehingga memori sebanding dengan n, bukan n^2.
+ * Fungsi jarak mengikuti EDGE_WEIGHT_TYPE pada TSPLIB. Untuk fungsi jarak yang bernilai bulat
+ * tersedia cache kecil opsional; setiap entri cache adalah satu long (tag dan jarak) sehingga dapat
+ * dibaca dan ditulis oleh beberapa thread tanpa lock.
+ * @author Arno Alexander
+ */
+class CoordinateWeightStorage implements WeightStorage {
+
+  /*Konstanta kode fungsi jarak*/
+  static final int DISTANCE_EUCLIDEAN = 0; //jarak Euclid tanpa pembulatan
+  static final int DISTANCE_EUC_2D = 1;
+  static final int DISTANCE_CEIL_2D = 2;
+  static final int DISTANCE_MAN_2D = 3;
+  static final int DISTANCE_MAX_2D = 4;
+  static final int DISTANCE_ATT = 5;
+  static final int DISTANCE_GEO = 6;
+  /*Konstanta jarak GEO menurut TSPLIB*/
+  private static final double GEO_PI = 3.141592;
+  private static final double GEO_EARTH_RADIUS = 6378.388;
+  /*Rata-rata banyak titik dalam satu sel grid pencarian tetangga*/
+  private static final int POINTS_PER_CELL = 2;
+
+  /*Banyak vertex*/
+  private final int numberOfVertex;
+  /*Koordinat setiap vertex*/
+  private final double[] x;
+  private final double[] y;
+  /*Fungsi jarak*/
+  private final int distance;
+  /*Lintang dan bujur dalam radian untuk DISTANCE_GEO*/
+  private final double[] latitude;
+  private final double[] longitude;
+  /*Cache jarak, null jika tidak dipakai. Entri : (tag << 32) | jarak, 0 berarti kosong*/
+  private final AtomicLongArray cache;
+  private final int cacheMask;
+  private final int cacheIndexBits;
+
+  /**
+   * Konstruktor.
+   * @param x absis setiap vertex, tidak disalin
+   * @param y ordinat setiap vertex, tidak disalin
+   * @param distance fungsi jarak, salah satu konstanta DISTANCE_*
+   * @param cacheSize banyak entri cache jarak, dibulatkan ke atas menjadi pangkat dua, 0 jika
+   *     tidak memakai cache. Cache diabaikan untuk DISTANCE_EUCLIDEAN.
+   */
+  CoordinateWeightStorage(double[] x, double[] y, int distance, int cacheSize) {
+    if (x.length != y.length) {
+      throw new IllegalArgumentException("Banyak absis dan ordinat berbeda");
+    }
+    if (distance < DISTANCE_EUCLIDEAN || distance > DISTANCE_GEO) {
+      throw new IllegalArgumentException("Fungsi jarak tidak dikenal : " + distance);
+    }
+    if (cacheSize < 0) {
+      throw new IllegalArgumentException("Ukuran cache tidak boleh negatif : " + cacheSize);
+    }
+    numberOfVertex = x.length;
+    this.x = x;
+    this.y = y;
+    this.distance = distance;
+    if (distance == DISTANCE_GEO) {
+      latitude = new double[numberOfVertex];
+      longitude = new double[numberOfVertex];
+      for (int i = 0; i < numberOfVertex; ++i) {
+        latitude[i] = toGeoRadian(x[i]);
+        longitude[i] = toGeoRadian(y[i]);
+      }
+    } else {
+      latitude = null;
+      longitude = null;
+    }
+    int indexBits = 32 - Integer.numberOfLeadingZeros(Math.max(cacheSize - 1, 1));
+    long numberOfKey = (long) numberOfVertex * numberOfVertex;
+    if (cacheSize > 0 && distance != DISTANCE_EUCLIDEAN && indexBits < 31
+        && (numberOfKey >>> indexBits) < Integer.MAX_VALUE) {
+      cache = new AtomicLongArray(1 << indexBits);
+      cacheMask = (1 << indexBits) - 1;
+      cacheIndexBits = indexBits;
+    } else {
+      cache = null;
+      cacheMask = 0;
+      cacheIndexBits = 0;
+    }
+  }
+
+  @Override
+  public int getNumberOfVertex() {
+    return numberOfVertex;
+  }
+
+  @Override
+  public double getWeight(int beginNode, int endNode) {
+    if (beginNode == endNode) {
+      return WeightMatrix.INVALID_WEIGHT;
+    }
+    if (cache == null) {
+      return computeDistance(beginNode, endNode);
+    }
+    if (beginNode > endNode) { //jarak simetris, kedua arah memakai entri yang sama
+      int temporary = beginNode;
+      beginNode = endNode;
+      endNode = temporary;
+    }
+    long key = (long) beginNode * numberOfVertex + endNode;
+    int index = (int) key & cacheMask;
+    long tag = (key >>> cacheIndexBits) + 1;
+    long entry = cache.get(index);
+    if ((entry >>> 32) == tag) {
+      return (int) entry;
+    }
+    double weight = computeDistance(beginNode, endNode);
+    if (weight <= Integer.MAX_VALUE) {
+      cache.lazySet(index, (tag << 32) | (long) weight);
+    }
+    return weight;
+  }
+
+  @Override
+  public WeightStorage copy() {
+    return this; //koordinat tidak pernah diubah
+  }
+
+  /*Cukup koordinat dan fungsi jarak, O(n) tanpa menghitung jarak; cache tidak memengaruhi bobot*/
+  @Override
+  public void updateContentHash(MessageDigest digest) {
+    WeightMatrix.updateDigest(digest, "coordinate-" + distance, numberOfVertex);
+    WeightMatrix.updateDigest(digest, x);
+    WeightMatrix.updateDigest(digest, y);
+  }
+
+  /**
+   * Getter absis.
+   * @param vertex nomor vertex
+   * @return absis vertex
+   */
+  double getX(int vertex) {
+    return x[vertex];
+  }
+
+  /**
+   * Getter ordinat.
+   * @param vertex nomor vertex
+   * @return ordinat vertex
+   */
+  double getY(int vertex) {
+    return y[vertex];
+  }
+
+  /**
+   * Memilih tetangga terdekat setiap vertex dengan bantuan grid seragam sehingga tidak perlu
+   * menghitung n^2 jarak. Kandidat dipilih berdasarkan jarak Euclid koordinat lalu diurutkan
+   * berdasarkan getWeight().
+   * @param numberOfNeighbor banyak tetangga setiap vertex
+   * @return tetangga vertex i pada indeks i*numberOfNeighbor, terurut dari yang termurah,
+   *     -1 jika vertex kurang dari numberOfNeighbor+1
+   */
+  int[] computeNearestNeighbor(int numberOfNeighbor) {
+    Grid grid = new Grid();
+    int[] neighbor = new int[numberOfVertex * numberOfNeighbor];
+    IntStream.range(0, numberOfVertex).parallel()
+        .forEach(vertex -> grid.selectNeighbor(vertex, numberOfNeighbor, neighbor));
+    return neighbor;
+  }
+
+  /*Menghitung jarak tanpa cache*/
+  private double computeDistance(int i, int j) {
+    double dx = x[i] - x[j];
+    double dy = y[i] - y[j];
+    switch (distance) {
+      case DISTANCE_EUCLIDEAN:
+        return Math.sqrt(dx*dx + dy*dy);
+      case DISTANCE_EUC_2D:
+        return nint(Math.sqrt(dx*dx + dy*dy));
+      case DISTANCE_CEIL_2D:
+        return Math.ceil(Math.sqrt(dx*dx + dy*dy));
+      case DISTANCE_MAN_2D:
+        return nint(Math.abs(dx) + Math.abs(dy));
+      case DISTANCE_MAX_2D:
+        return Math.max(nint(Math.abs(dx)), nint(Math.abs(dy)));
+      case DISTANCE_ATT: {
+        double pseudoDistance = Math.sqrt((dx*dx + dy*dy) / 10.0);
+        double roundedDistance = nint(pseudoDistance);
+        return roundedDistance < pseudoDistance ? roundedDistance + 1 : roundedDistance;
+      }
+      default: {
+        double q1 = Math.cos(longitude[i] - longitude[j]);
+        double q2 = Math.cos(latitude[i] - latitude[j]);
+        double q3 = Math.cos(latitude[i] + latitude[j]);
+        return (long) (GEO_EARTH_RADIUS * Math.acos(0.5*((1.0+q1)*q2 - (1.0-q1)*q3)) + 1.0);
+      }
+    }
+  }
+
+  /*Pembulatan ke bilangan bulat terdekat menurut TSPLIB*/
+  private static double nint(double value) {
+    return (long) (value + 0.5);
+  }
+
+  /*Mengubah koordinat GEO (derajat.menit) menjadi radian menurut TSPLIB*/
+  private static double toGeoRadian(double coordinate) {
+    double degree = (long) coordinate;
+    double minute = coordinate - degree;
+    return GEO_PI * (degree + 5.0 * minute / 3.0) / 180.0;
+  }
+
+  /**
+   * Grid seragam berisi seluruh vertex untuk pencarian tetangga terdekat.
+   */
+  private class Grid {
+
+    private final double minimumX;
+    private final double minimumY;
+    private final double cellSize;
+    private final int numberOfColumn;
+    private final int numberOfRow;
+    /*Vertex pada sel c berada pada cellVertex[cellStart[c]] .. cellVertex[cellStart[c+1]-1]*/
+    private final int[] cellStart;
+    private final int[] cellVertex;
+
+    Grid() {
+      double maximumX = Double.NEGATIVE_INFINITY;
+      double maximumY = Double.NEGATIVE_INFINITY;
+      double lowestX = Double.POSITIVE_INFINITY;
+      double lowestY = Double.POSITIVE_INFINITY;
+      for (int i = 0; i < numberOfVertex; ++i) {
+        lowestX = Math.min(lowestX, x[i]);
+        lowestY = Math.min(lowestY, y[i]);
+        maximumX = Math.max(maximumX, x[i]);
+        maximumY = Math.max(maximumY, y[i]);
+      }
+      minimumX = lowestX;
+      minimumY = lowestY;
+      double width = maximumX - minimumX;
+      double height = maximumY - minimumY;
+      double numberOfCell = Math.max(1.0, (double) numberOfVertex / POINTS_PER_CELL);
+      double size = Math.max(Math.sqrt(width * height / numberOfCell),
+          Math.max(width, height) / numberOfCell);
+      cellSize = size > 0 ? size : 1.0;
+      numberOfColumn = (int) (width / cellSize) + 1;
+      numberOfRow = (int) (height / cellSize) + 1;
+      cellStart = new int[numberOfColumn * numberOfRow + 1];
+      cellVertex = new int[numberOfVertex];
+      int[] cellOfVertex = new int[numberOfVertex];
+      for (int i = 0; i < numberOfVertex; ++i) {
+        cellOfVertex[i] = cellOf(column(x[i]), row(y[i]));
+        cellStart[cellOfVertex[i] + 1]++;
+      }
+      for (int c = 0; c < numberOfColumn * numberOfRow; ++c) {
+        cellStart[c + 1] += cellStart[c];
+      }
+      int[] fill = Arrays.copyOf(cellStart, cellStart.length - 1);
+      for (int i = 0; i < numberOfVertex; ++i) {
+        cellVertex[fill[cellOfVertex[i]]++] = i;
+      }
+    }
+
+    private int column(double coordinate) {
+      return Math.min((int) ((coordinate - minimumX) / cellSize), numberOfColumn - 1);
+    }
+
+    private int row(double coordinate) {
+      return Math.min((int) ((coordinate - minimumY) / cellSize), numberOfRow - 1);
+    }
+
+    private int cellOf(int column, int row) {
+      return row * numberOfColumn + column;
+    }
+
+    /*Mencari tetangga terdekat vertex dengan memeriksa cincin sel yang makin jauh*/
+    void selectNeighbor(int vertex, int numberOfNeighbor, int[] target) {
+      int offset = vertex * numberOfNeighbor;
+      double[] neighborDistance = new double[numberOfNeighbor];
+      int size = 0;
+      int centerColumn = column(x[vertex]);
+      int centerRow = row(y[vertex]);
+      int maximumRadius = Math.max(numberOfColumn, numberOfRow);
+      for (int radius = 0; radius <= maximumRadius; ++radius) {
+        if (size == numberOfNeighbor) { //titik di luar cincin ini berjarak minimal radius-1 sel
+          double reach = (radius - 1) * cellSize;
+          if (reach > 0 && reach * reach > neighborDistance[size-1]) {
+            break;
+          }
+        }
+        for (int row = centerRow - radius; row <= centerRow + radius; ++row) {
+          if (row < 0 || row >= numberOfRow) {
+            continue;
+          }
+          boolean isEdgeRow = row == centerRow - radius || row == centerRow + radius;
+          int step = isEdgeRow ? 1 : Math.max(2 * radius, 1);
+          for (int column = centerColumn - radius; column <= centerColumn + radius; column += step) {
+            if (column < 0 || column >= numberOfColumn) {
+              continue;
+            }
+            int cell = cellOf(column, row);
+            for (int p = cellStart[cell]; p < cellStart[cell + 1]; ++p) {
+              int candidate = cellVertex[p];
+              if (candidate == vertex) {
+                continue;
+              }
+              double dx = x[candidate] - x[vertex];
+              double dy = y[candidate] - y[vertex];
+              double candidateDistance = dx*dx + dy*dy;
+              if (size == numberOfNeighbor && candidateDistance >= neighborDistance[size-1]) {
+                continue;
+              }
+              int i = size < numberOfNeighbor ? size++ : size-1;
+              while (i > 0 && neighborDistance[i-1] > candidateDistance) {
+                neighborDistance[i] = neighborDistance[i-1];
+                target[offset + i] = target[offset + i-1];
+                i--;
+              }
+              neighborDistance[i] = candidateDistance;
+              target[offset + i] = candidate;
+            }
+          }
+        }
+      }
+      for (int i = 1; i < size; ++i) { //urutkan ulang menurut fungsi jarak sebenarnya
+        int candidate = target[offset + i];
+        double weight = getWeight(vertex, candidate);
+        int j = i;
+        while (j > 0 && getWeight(vertex, target[offset + j-1]) > weight) {
+          target[offset + j] = target[offset + j-1];
+          j--;
+        }
+        target[offset + j] = candidate;
+      }
+      for (int i = size; i < numberOfNeighbor; ++i) {
+        target[offset + i] = -1;
+      }
+    }
+  }
+}
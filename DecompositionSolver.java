@@ -0,0 +1,519 @@
+//DecompositionSolver.java
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Solver TSP dengan dekomposisi untuk instance yang terlalu besar bagi solver eksak.
+ * Vertex dibagi menjadi cluster dengan bisection rekursif pada median : pada file koordinat menurut
+ * sumbu koordinat yang sebarannya terlebar, pada matriks menurut selisih jarak ke dua vertex pivot
+ * yang saling berjauhan. Pembagian pada median menjamin setiap cluster berisi paling banyak
+ * clusterSize vertex, sehingga setiap cluster dapat diselesaikan secara eksak pada sub-matriks.
+ * Cluster diselesaikan bersamaan oleh beberapa thread, lalu urutan cluster ditentukan dengan
+ * heuristik atas satu vertex wakil setiap cluster. Tur setiap cluster diputus pada sisi yang paling
+ * murah untuk disambung ke cluster sebelum dan sesudahnya, dan tur gabungan diperbaiki dengan local
+ * search HeuristicSolver. Tur yang lebih ringan antara tur gabungan dan tur HeuristicSolver biasa
+ * lalu diperbaiki lagi dengan menyelesaikan ulang setiap segmen berisi clusterSize vertex secara
+ * eksak, sehingga hasilnya tidak lebih berat dari tur HeuristicSolver. Tur tidak dijamin optimal.
+ * @author Arno Alexander
+ */
+class DecompositionSolver {
+
+  /*Banyak vertex maksimum setiap cluster jika tidak ditentukan*/
+  static final int DEFAULT_CLUSTER_SIZE = 40;
+  /*Banyak vertex maksimum cluster yang diselesaikan dengan Held-Karp*/
+  private static final int HELD_KARP_CLUSTER_SIZE = 12;
+  /*Batas waktu solver eksak setiap cluster dan setiap segmen dalam milidetik*/
+  private static final long CLUSTER_TIME_LIMIT_MILLIS = 1000;
+  /*Batas waktu heuristik urutan cluster dan local search tur gabungan dalam milidetik*/
+  private static final long ORDER_TIME_LIMIT_MILLIS = 1000;
+  private static final long REPAIR_TIME_LIMIT_MILLIS = 60000;
+  /*Banyak anggota cluster yang dibandingkan untuk memilih vertex wakil pada matriks*/
+  private static final int REPRESENTATIVE_SAMPLE = 8;
+  /*Jarak pengganti antara dua vertex tanpa sisi, hingga selisihnya tetap berhingga*/
+  private static final double UNREACHABLE_DISTANCE = Double.MAX_VALUE / 4;
+
+  /*Matriks permasalahan*/
+  private final WeightMatrix matrix;
+  /*Banyak vertex*/
+  private final int numberOfVertex;
+  /*Apakah matriks simetris (graf tak berarah)*/
+  private final boolean isSymmetric;
+  /*Koordinat vertex, null jika matriks bukan file koordinat*/
+  private final CoordinateWeightStorage coordinate;
+  /*Anggota setiap cluster dan tur setiap cluster dalam nomor vertex asli*/
+  private int[][] clusterMember;
+  private int[][] clusterTour;
+  /*Tur pembanding tur gabungan, null jika tur pembanding dibangun dengan greedy edge*/
+  private int[] initialTour;
+  /*Banyak simpul seluruh solver cluster*/
+  private final LongAdder numberOfSimpul = new LongAdder();
+  /*Penghitung kemajuan*/
+  private SolverMetrics metrics = new SolverMetrics();
+
+  /**
+   * Konstruktor.
+   * @param matrix matriks permasalahan
+   */
+  DecompositionSolver(WeightMatrix matrix) {
+    this.matrix = matrix;
+    numberOfVertex = matrix.getNumberOfVertex();
+    isSymmetric = matrix.isSymmetric();
+    coordinate = matrix.getStorage() instanceof CoordinateWeightStorage
+        ? (CoordinateWeightStorage) matrix.getStorage() : null;
+  }
+
+  /**
+   * Setter metrics.
+   * @param metrics penghitung kemajuan, simpul solver cluster dihitung sebagai simpul yang
+   *     dibangkitkan dan langkah local search seperti pada HeuristicSolver
+   */
+  void setMetrics(SolverMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Setter initialTour.
+   * @param initialTour tur awal local search pembanding tur gabungan cluster, tur pembanding
+   *     dibangun dengan greedy edge jika null atau memuat sisi yang tidak ada
+   */
+  void setInitialTour(int[] initialTour) {
+    this.initialTour = initialTour;
+  }
+
+  /**
+   * Getter banyak cluster.
+   * @return banyak cluster pada pemanggilan solve() terakhir
+   */
+  int getNumberOfCluster() {
+    return clusterMember == null ? 0 : clusterMember.length;
+  }
+
+  /**
+   * Getter banyak simpul.
+   * @return banyak simpul yang dibangkitkan seluruh solver cluster
+   */
+  long getNumberOfSimpul() {
+    return numberOfSimpul.sum();
+  }
+
+  /**
+   * Membagi vertex menjadi cluster, menyelesaikan setiap cluster, lalu menyambung dan memperbaiki
+   * tur gabungan. Cluster dan segmen yang mulai diselesaikan setelah metrics meminta berhenti hanya
+   * dibangun dengan heuristik konstruksi atau tidak diubah.
+   * @param clusterSize banyak vertex maksimum setiap cluster, minimal 2
+   * @param numberOfThread banyaknya thread untuk menyelesaikan cluster dan segmen, minimal 1
+   * @return tur dimulai dari simpul awal, null jika tur terbaik masih memuat sisi yang tidak ada
+   */
+  int[] solve(int clusterSize, int numberOfThread) {
+    if (clusterSize < 2) {
+      throw new IllegalArgumentException("Ukuran cluster minimal 2 : " + clusterSize);
+    }
+    if (numberOfThread < 1) {
+      throw new IllegalArgumentException("Banyak thread minimal 1 : " + numberOfThread);
+    }
+    numberOfSimpul.reset();
+    clusterMember = partition(clusterSize);
+    clusterTour = new int[clusterMember.length][];
+    ForkJoinPool pool = new ForkJoinPool(numberOfThread);
+    try {
+      pool.submit(() -> IntStream.range(0, clusterMember.length).parallel()
+          .forEach(this::solveCluster)).join();
+    } finally {
+      pool.shutdown();
+    }
+    int[] tour = repair(stitch(orderCluster()));
+    int[] otherTour = repair(initialTour); //tur greedy jika initialTour tidak ada
+    if (matrix.computeTourWeight(otherTour) < matrix.computeTourWeight(tour)) {
+      tour = otherTour;
+    }
+    if (tour == null || numberOfVertex <= clusterSize || metrics.isStopRequested()) {
+      return tour;
+    }
+    int[] segmentTour = tour;
+    pool = new ForkJoinPool(numberOfThread);
+    try {
+      for (int offset : new int[] {0, clusterSize / 2}) { //putaran kedua melintasi batas segmen
+        pool.submit(() -> IntStream.range(0, numberOfVertex / clusterSize).parallel()
+            .forEach(segment -> improveSegment(segmentTour, offset + segment * clusterSize,
+                clusterSize))).join();
+      }
+    } finally {
+      pool.shutdown();
+    }
+    return repair(segmentTour);
+  }
+
+  /*Memperbaiki tur dengan local search HeuristicSolver, atau membangun tur baru jika tour null*/
+  private int[] repair(int[] tour) {
+    HeuristicSolver solver = new HeuristicSolver(matrix);
+    solver.setMetrics(metrics);
+    solver.setInitialTour(tour);
+    return solver.solve(REPAIR_TIME_LIMIT_MILLIS);
+  }
+
+  /*
+   * Menyelesaikan ulang segmen tur berisi size vertex mulai posisi start secara eksak dengan kedua
+   * ujung tetap. Sub-matriks berisi vertex segmen ditambah satu vertex semu yang hanya terhubung
+   * dengan bobot 0 ke kedua ujung, sehingga tur sub-matriks adalah lintasan Hamilton antara kedua
+   * ujung dan tetap simetris jika matriks simetris. Segmen hanya diganti jika lebih ringan.
+   */
+  private void improveSegment(int[] tour, int start, int size) {
+    int[] member = new int[size];
+    for (int i = 0; i < size; ++i) {
+      member[i] = tour[(start + i) % numberOfVertex];
+    }
+    int last = size - 1;
+    int dummy = size;
+    int subSize = size + 1;
+    double[] subWeight = new double[subSize * subSize];
+    Arrays.fill(subWeight, WeightMatrix.INVALID_WEIGHT);
+    double currentWeight = 0;
+    for (int i = 0; i < size; ++i) {
+      for (int j = 0; j < size; ++j) {
+        subWeight[i*subSize + j] = matrix.getWeight(member[i], member[j]);
+      }
+      if (i < last) {
+        currentWeight += matrix.getWeight(member[i], member[i+1]);
+      }
+    }
+    subWeight[last*subSize + dummy] = 0;
+    subWeight[dummy*subSize] = 0;
+    if (isSymmetric) {
+      subWeight[dummy*subSize + last] = 0;
+      subWeight[dummy] = 0;
+    }
+    WeightMatrix subMatrix = new WeightMatrix(new DenseWeightStorage(subSize, subWeight), null);
+    int[] subTour = solveSubMatrix(subMatrix);
+    if (subTour == null || subMatrix.computeTourWeight(subTour) >= currentWeight) {
+      return;
+    }
+    int dummyPosition = 0;
+    while (subTour[dummyPosition] != dummy) {
+      dummyPosition++;
+    }
+    boolean isReversed = subTour[(dummyPosition + 1) % subSize] == last;
+    for (int i = 0; i < size; ++i) { //lintasan setelah vertex semu, dibalik jika dimulai dari last
+      int k = isReversed ? dummyPosition - 1 - i : dummyPosition + 1 + i;
+      tour[(start + i) % numberOfVertex] = member[subTour[(k + subSize) % subSize]];
+    }
+  }
+
+  /*Membagi vertex dengan bisection rekursif hingga setiap bagian berisi paling banyak clusterSize*/
+  private int[][] partition(int clusterSize) {
+    int[] member = IntStream.range(0, numberOfVertex).toArray();
+    double[] key = new double[numberOfVertex];
+    List<int[]> clusters = new ArrayList<>();
+    Deque<int[]> ranges = new ArrayDeque<>();
+    ranges.push(new int[] {0, numberOfVertex});
+    while (!ranges.isEmpty()) {
+      int[] range = ranges.pop();
+      int from = range[0];
+      int to = range[1];
+      if (to - from <= clusterSize) {
+        clusters.add(Arrays.copyOfRange(member, from, to));
+        continue;
+      }
+      if (coordinate != null) {
+        computeCoordinateKey(member, key, from, to);
+      } else {
+        computeDistanceKey(member, key, from, to);
+      }
+      int middle = (from + to) >>> 1;
+      select(member, key, from, to, middle);
+      ranges.push(new int[] {middle, to});
+      ranges.push(new int[] {from, middle}); //bagian kiri lebih dulu, cluster berdekatan berurutan
+    }
+    return clusters.toArray(new int[clusters.size()][]);
+  }
+
+  /*Kunci bisection berupa absis atau ordinat, menurut sumbu dengan sebaran terlebar*/
+  private void computeCoordinateKey(int[] member, double[] key, int from, int to) {
+    double minimumX = Double.POSITIVE_INFINITY;
+    double maximumX = Double.NEGATIVE_INFINITY;
+    double minimumY = Double.POSITIVE_INFINITY;
+    double maximumY = Double.NEGATIVE_INFINITY;
+    for (int i = from; i < to; ++i) {
+      minimumX = Math.min(minimumX, coordinate.getX(member[i]));
+      maximumX = Math.max(maximumX, coordinate.getX(member[i]));
+      minimumY = Math.min(minimumY, coordinate.getY(member[i]));
+      maximumY = Math.max(maximumY, coordinate.getY(member[i]));
+    }
+    boolean isAlongX = maximumX - minimumX >= maximumY - minimumY;
+    for (int i = from; i < to; ++i) {
+      key[i] = isAlongX ? coordinate.getX(member[i]) : coordinate.getY(member[i]);
+    }
+  }
+
+  /*
+   * Kunci bisection berupa selisih jarak ke dua pivot : pivot pertama adalah vertex terjauh dari
+   * anggota pertama dan pivot kedua adalah vertex terjauh dari pivot pertama.
+   */
+  private void computeDistanceKey(int[] member, double[] key, int from, int to) {
+    int pivot = findFarthest(member, from, to, member[from]);
+    int otherPivot = findFarthest(member, from, to, pivot);
+    for (int i = from; i < to; ++i) {
+      key[i] = distance(member[i], pivot) - distance(member[i], otherPivot);
+    }
+  }
+
+  /*Anggota yang jaraknya terjauh dari vertex*/
+  private int findFarthest(int[] member, int from, int to, int vertex) {
+    int farthest = member[from];
+    double farthestDistance = -1;
+    for (int i = from; i < to; ++i) {
+      double memberDistance = distance(member[i], vertex);
+      if (member[i] != vertex && memberDistance > farthestDistance) {
+        farthest = member[i];
+        farthestDistance = memberDistance;
+      }
+    }
+    return farthest;
+  }
+
+  /*Jarak tak berarah untuk pembagian : jumlah bobot kedua arah, dua kali bobot satu arah yang ada*/
+  private double distance(int i, int j) {
+    if (i == j) {
+      return 0;
+    }
+    double forward = matrix.getWeight(i, j);
+    double backward = matrix.getWeight(j, i);
+    if (forward == WeightMatrix.INVALID_WEIGHT && backward == WeightMatrix.INVALID_WEIGHT) {
+      return UNREACHABLE_DISTANCE;
+    }
+    if (forward == WeightMatrix.INVALID_WEIGHT || backward == WeightMatrix.INVALID_WEIGHT) {
+      return 2 * Math.max(forward, backward);
+    }
+    return forward + backward;
+  }
+
+  /*
+   * Quickselect : menyusun ulang member dan key pada from hingga to-1 sehingga posisi nth berisi
+   * kunci terkecil ke-(nth-from), kunci di kirinya tidak lebih besar, dan di kanannya tidak lebih
+   * kecil.
+   */
+  private static void select(int[] member, double[] key, int from, int to, int nth) {
+    int left = from;
+    int right = to - 1;
+    while (left < right) {
+      double pivot = key[(left + right) >>> 1];
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (key[i] < pivot) {
+          i++;
+        }
+        while (key[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(member, key, i++, j--);
+        }
+      }
+      if (nth <= j) {
+        right = j;
+      } else if (nth >= i) {
+        left = i;
+      } else {
+        break;
+      }
+    }
+  }
+
+  private static void swap(int[] member, double[] key, int a, int b) {
+    int tempMember = member[a];
+    member[a] = member[b];
+    member[b] = tempMember;
+    double tempKey = key[a];
+    key[a] = key[b];
+    key[b] = tempKey;
+  }
+
+  /*
+   * Menyelesaikan satu cluster pada sub-matriks : Held-Karp untuk cluster kecil, selain itu batas
+   * 1-tree atau assignment sesuai kesimetrisan, dengan batas waktu CLUSTER_TIME_LIMIT_MILLIS.
+   * Jika tidak ditemukan tur, dipakai tur heuristik, atau urutan anggota jika tetap tidak ada.
+   */
+  private void solveCluster(int cluster) {
+    int[] member = clusterMember[cluster];
+    int size = member.length;
+    int[] subTour = null;
+    if (size > 2) {
+      double[] subWeight = new double[size * size];
+      for (int i = 0; i < size; ++i) {
+        for (int j = 0; j < size; ++j) {
+          subWeight[i*size + j] = matrix.getWeight(member[i], member[j]);
+        }
+      }
+      WeightMatrix subMatrix = new WeightMatrix(new DenseWeightStorage(size, subWeight), null);
+      subTour = solveSubMatrix(subMatrix);
+      if (subTour == null) {
+        subTour = new HeuristicSolver(subMatrix).solve(0);
+      }
+    }
+    int[] tour = new int[size];
+    for (int i = 0; i < size; ++i) {
+      tour[i] = member[subTour != null ? subTour[i] : i];
+    }
+    clusterTour[cluster] = tour;
+  }
+
+  /*
+   * Menyelesaikan sub-matriks secara eksak dengan batas waktu CLUSTER_TIME_LIMIT_MILLIS :
+   * Held-Karp untuk sub-matriks kecil, selain itu batas 1-tree atau assignment sesuai kesimetrisan.
+   * Mengembalikan null tanpa menyelesaikan jika metrics sudah meminta berhenti.
+   */
+  private int[] solveSubMatrix(WeightMatrix subMatrix) {
+    if (metrics.isStopRequested()) {
+      return null;
+    }
+    subMatrix.setTimeLimitMillis(CLUSTER_TIME_LIMIT_MILLIS);
+    int[] subTour;
+    if (subMatrix.getNumberOfVertex() <= HELD_KARP_CLUSTER_SIZE) {
+      subTour = subMatrix.solveHeldKarp(1);
+    } else if (subMatrix.isSymmetric()) {
+      subTour = subMatrix.solveOneTree();
+    } else {
+      subTour = subMatrix.solveAssignment();
+    }
+    numberOfSimpul.add(subMatrix.numberOfSimpulToSolve);
+    metrics.addGeneratedSimpul(subMatrix.numberOfSimpulToSolve);
+    return subTour;
+  }
+
+  /*Menentukan vertex wakil setiap cluster lalu urutan cluster dengan heuristik atas wakil*/
+  private int[] orderCluster() {
+    int numberOfCluster = clusterMember.length;
+    int[] order = IntStream.range(0, numberOfCluster).toArray();
+    if (numberOfCluster <= 3) {
+      return order;
+    }
+    WeightMatrix orderMatrix;
+    if (coordinate != null) { //titik tengah cluster, jarak Euclid cukup untuk menentukan urutan
+      double[] x = new double[numberOfCluster];
+      double[] y = new double[numberOfCluster];
+      for (int c = 0; c < numberOfCluster; ++c) {
+        for (int vertex : clusterMember[c]) {
+          x[c] += coordinate.getX(vertex) / clusterMember[c].length;
+          y[c] += coordinate.getY(vertex) / clusterMember[c].length;
+        }
+      }
+      orderMatrix = new WeightMatrix(new CoordinateWeightStorage(x, y,
+          CoordinateWeightStorage.DISTANCE_EUCLIDEAN, 0), true);
+    } else {
+      int[] representative = new int[numberOfCluster];
+      for (int c = 0; c < numberOfCluster; ++c) {
+        representative[c] = findRepresentative(clusterMember[c]);
+      }
+      double[] orderWeight = new double[numberOfCluster * numberOfCluster];
+      for (int c = 0; c < numberOfCluster; ++c) {
+        for (int d = 0; d < numberOfCluster; ++d) {
+          double orderDistance = distance(representative[c], representative[d]);
+          orderWeight[c*numberOfCluster + d] = c == d || orderDistance == UNREACHABLE_DISTANCE
+              ? WeightMatrix.INVALID_WEIGHT : orderDistance;
+        }
+      }
+      orderMatrix = new WeightMatrix(new DenseWeightStorage(numberOfCluster, orderWeight), true);
+    }
+    int[] orderTour = new HeuristicSolver(orderMatrix).solve(ORDER_TIME_LIMIT_MILLIS);
+    return orderTour != null ? orderTour : order;
+  }
+
+  /*Anggota dengan jumlah jarak terkecil ke beberapa anggota lain yang tersebar rata*/
+  private int findRepresentative(int[] member) {
+    int step = Math.max(1, member.length / REPRESENTATIVE_SAMPLE);
+    int representative = member[0];
+    double smallestSum = Double.POSITIVE_INFINITY;
+    for (int candidate : member) {
+      double sum = 0;
+      for (int k = 0; k < member.length; k += step) {
+        sum += distance(candidate, member[k]);
+      }
+      if (sum < smallestSum) {
+        smallestSum = sum;
+        representative = candidate;
+      }
+    }
+    return representative;
+  }
+
+  /*
+   * Menyambung tur cluster menurut urutan dengan patching : tur cluster berikutnya digabung ke tur
+   * gabungan dengan menukar sisi a ke b pada tur gabungan, dengan a anggota cluster sebelumnya, dan
+   * sisi c ke d pada tur cluster menjadi sisi a ke d dan c ke b. Pada graf tak berarah tur cluster
+   * juga boleh dibalik menjadi sisi a ke c dan d ke b. Dipilih pertukaran dengan tambahan bobot
+   * terkecil, sehingga setiap penggabungan membutuhkan O(clusterSize^2).
+   */
+  private int[] stitch(int[] order) {
+    int[] successor = new int[numberOfVertex];
+    int[] first = clusterTour[order[0]];
+    for (int q = 0; q < first.length; ++q) {
+      successor[first[q]] = first[(q+1) % first.length];
+    }
+    for (int t = 1; t < order.length; ++t) {
+      int[] previousCluster = clusterTour[order[t-1]];
+      int[] cycle = clusterTour[order[t]];
+      int length = cycle.length;
+      int bestA = -1;
+      int bestQ = 0;
+      boolean isBestReversed = false;
+      double bestCost = Double.POSITIVE_INFINITY;
+      for (int a : previousCluster) {
+        int b = successor[a];
+        double removedA = connectionCost(a, b);
+        for (int q = 0; q < length; ++q) {
+          int c = cycle[q];
+          int d = cycle[(q+1) % length];
+          double removed = removedA + connectionCost(c, d);
+          double cost = connectionCost(a, d) + connectionCost(c, b) - removed;
+          if (cost < bestCost) {
+            bestCost = cost;
+            bestA = a;
+            bestQ = q;
+            isBestReversed = false;
+          }
+          if (isSymmetric) {
+            cost = connectionCost(a, c) + connectionCost(d, b) - removed;
+            if (cost < bestCost) {
+              bestCost = cost;
+              bestA = a;
+              bestQ = q;
+              isBestReversed = true;
+            }
+          }
+        }
+      }
+      int b = successor[bestA];
+      int vertex = bestA;
+      for (int k = 0; k < length; ++k) { //a-d ... c-b, atau a-c ... d-b jika dibalik
+        int next = isBestReversed ? cycle[(bestQ - k + length) % length]
+            : cycle[(bestQ + 1 + k) % length];
+        successor[vertex] = next;
+        vertex = next;
+      }
+      successor[vertex] = b;
+    }
+    int[] tour = new int[numberOfVertex];
+    int vertex = WeightMatrix.START_VERTEX;
+    for (int i = 0; i < numberOfVertex; ++i) {
+      tour[i] = vertex;
+      vertex = successor[vertex];
+    }
+    return tour;
+  }
+
+  /*Bobot sisi penyambung, UNREACHABLE_DISTANCE jika sisi tidak ada*/
+  private double connectionCost(int beginNode, int endNode) {
+    if (beginNode == endNode) {
+      return 0;
+    }
+    double edgeWeight = matrix.getWeight(beginNode, endNode);
+    return edgeWeight == WeightMatrix.INVALID_WEIGHT ? UNREACHABLE_DISTANCE : edgeWeight;
+  }
+}
@@ -0,0 +1,61 @@
+//DenseWeightStorage.java
+
+import java.security.MessageDigest;
+
+/**
+ * Penyimpanan bobot dalam satu array double datar di heap.
+ * Bobot baris i kolom j berada pada indeks i*numberOfVertex+j.
+ * @author Arno Alexander
+ */
+class DenseWeightStorage implements WeightStorage {
+
+  /*Banyak vertex*/
+  private final int numberOfVertex;
+  /*Matriks bobot datar*/
+  private final double[] weight;
+
+  /**
+   * Konstruktor.
+   * @param numberOfVertex banyak vertex
+   * @param weight matriks bobot datar berukuran numberOfVertex*numberOfVertex, tidak disalin
+   */
+  DenseWeightStorage(int numberOfVertex, double[] weight) {
+    if (weight.length != numberOfVertex * numberOfVertex) {
+      throw new IllegalArgumentException("Ukuran array bobot " + weight.length
+          + " tidak sesuai dengan " + numberOfVertex + " vertex");
+    }
+    this.numberOfVertex = numberOfVertex;
+    this.weight = weight;
+  }
+
+  @Override
+  public int getNumberOfVertex() {
+    return numberOfVertex;
+  }
+
+  @Override
+  public double getWeight(int beginNode, int endNode) {
+    return weight[beginNode*numberOfVertex + endNode];
+  }
+
+  @Override
+  public WeightStorage copy() {
+    return new DenseWeightStorage(numberOfVertex, weight.clone());
+  }
+
+  @Override
+  public void updateContentHash(MessageDigest digest) {
+    WeightMatrix.updateDigest(digest, "dense", numberOfVertex);
+    WeightMatrix.updateDigest(digest, weight);
+  }
+
+  /**
+   * Setter bobot untuk WeightMatrix.updateWeights().
+   * @param beginNode node asal
+   * @param endNode node tujuan
+   * @param edgeWeight bobot baru, INVALID_WEIGHT jika tidak ada sisi
+   */
+  void setWeight(int beginNode, int endNode, double edgeWeight) {
+    weight[beginNode*numberOfVertex + endNode] = edgeWeight;
+  }
+}
@@ -0,0 +1,196 @@
+//FrontierHeap.java
+
+import java.util.Arrays;
+
+/**
+ * Antrian prioritas simpul hidup berupa heap 4-ary atas array primitif.
+ * Setiap entri terdiri dari kunci double (nilai batas), level simpul, dan handle int yang artinya
+ * ditentukan pemakai (indeks arena atau indeks slot). Perbandingan hanya membaca array kunci dan
+ * level tanpa dereferensi objek, dan heap 4-ary lebih dangkal sehingga lebih ramah cache daripada
+ * heap biner. Nilai batas yang sama diurutkan dari level terdalam agar tur lengkap lebih cepat
+ * ditemukan. Seluruh entri yang kuncinya tidak lebih kecil dari suatu batas dapat dibuang dalam
+ * satu kali lintasan dengan pruneAtLeast().
+ * @author Arno Alexander
+ */
+class FrontierHeap {
+
+  /*Banyak anak setiap entri*/
+  private static final int ARITY = 4;
+  /*Kapasitas awal*/
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private double[] key;
+  private int[] level;
+  private int[] handle;
+  /*Banyak entri, handle entri yang dibuang pruneAtLeast() terakhir berada tepat setelahnya*/
+  private int size;
+
+  /**
+   * Konstruktor.
+   */
+  FrontierHeap() {
+    key = new double[INITIAL_CAPACITY];
+    level = new int[INITIAL_CAPACITY];
+    handle = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Getter size.
+   * @return banyak entri
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Memeriksa apakah heap kosong.
+   * @return true jika tidak ada entri
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Mengambil kunci terkecil.
+   * @return kunci entri terdepan, heap tidak boleh kosong
+   */
+  double peekKey() {
+    return key[0];
+  }
+
+  /**
+   * Mengambil handle entri terdepan.
+   * @return handle entri dengan kunci terkecil, heap tidak boleh kosong
+   */
+  int peekHandle() {
+    return handle[0];
+  }
+
+  /**
+   * Memasukkan entri.
+   * @param entryHandle handle entri
+   * @param entryKey kunci entri
+   * @param entryLevel level simpul, level lebih dalam didahulukan jika kunci sama
+   */
+  void push(int entryHandle, double entryKey, int entryLevel) {
+    if (size == key.length) {
+      int capacity = size * 2;
+      key = Arrays.copyOf(key, capacity);
+      level = Arrays.copyOf(level, capacity);
+      handle = Arrays.copyOf(handle, capacity);
+    }
+    siftUp(size++, entryHandle, entryKey, entryLevel);
+  }
+
+  /**
+   * Membuang entri terdepan.
+   * @return handle entri dengan kunci terkecil, heap tidak boleh kosong
+   */
+  int pop() {
+    int result = handle[0];
+    size--;
+    if (size > 0) {
+      siftDown(0, handle[size], key[size], level[size]);
+    }
+    return result;
+  }
+
+  /**
+   * Membuang seluruh entri.
+   */
+  void clear() {
+    size = 0;
+  }
+
+  /**
+   * Membuang seluruh entri dengan kunci tidak lebih kecil dari limit dalam satu lintasan, lalu
+   * menyusun ulang heap dalam O(size). Handle entri yang dibuang dapat dibaca dengan
+   * getRemovedHandle() hingga heap diubah lagi.
+   * @param limit batas kunci, biasanya bobot tur terbaik
+   * @return banyak entri yang dibuang
+   */
+  int pruneAtLeast(double limit) {
+    int kept = 0;
+    for (int i = 0; i < size; ++i) {
+      if (key[i] < limit) {
+        swap(i, kept++);
+      }
+    }
+    int numberOfRemoved = size - kept;
+    size = kept;
+    if (numberOfRemoved > 0 && size > 1) {
+      for (int i = (size - 2) / ARITY; i >= 0; --i) {
+        siftDown(i, handle[i], key[i], level[i]);
+      }
+    }
+    return numberOfRemoved;
+  }
+
+  /**
+   * Mengambil handle entri yang dibuang pruneAtLeast() terakhir.
+   * @param index urutan entri yang dibuang, 0 hingga nilai kembalian pruneAtLeast() dikurangi 1
+   * @return handle entri
+   */
+  int getRemovedHandle(int index) {
+    return handle[size + index];
+  }
+
+  /*Apakah entri a harus berada di depan entri b*/
+  private static boolean isBefore(double keyA, int levelA, double keyB, int levelB) {
+    return keyA < keyB || (keyA == keyB && levelA > levelB);
+  }
+
+  private void siftUp(int position, int entryHandle, double entryKey, int entryLevel) {
+    while (position > 0) {
+      int parent = (position - 1) / ARITY;
+      if (!isBefore(entryKey, entryLevel, key[parent], level[parent])) {
+        break;
+      }
+      move(parent, position);
+      position = parent;
+    }
+    set(position, entryHandle, entryKey, entryLevel);
+  }
+
+  private void siftDown(int position, int entryHandle, double entryKey, int entryLevel) {
+    while (true) {
+      int firstChild = position * ARITY + 1;
+      if (firstChild >= size) {
+        break;
+      }
+      int best = firstChild;
+      int lastChild = Math.min(firstChild + ARITY, size);
+      for (int child = firstChild + 1; child < lastChild; ++child) {
+        if (isBefore(key[child], level[child], key[best], level[best])) {
+          best = child;
+        }
+      }
+      if (!isBefore(key[best], level[best], entryKey, entryLevel)) {
+        break;
+      }
+      move(best, position);
+      position = best;
+    }
+    set(position, entryHandle, entryKey, entryLevel);
+  }
+
+  private void move(int from, int to) {
+    key[to] = key[from];
+    level[to] = level[from];
+    handle[to] = handle[from];
+  }
+
+  private void set(int position, int entryHandle, double entryKey, int entryLevel) {
+    key[position] = entryKey;
+    level[position] = entryLevel;
+    handle[position] = entryHandle;
+  }
+
+  private void swap(int a, int b) {
+    double tempKey = key[a];
+    int tempLevel = level[a];
+    int tempHandle = handle[a];
+    move(b, a);
+    set(b, tempHandle, tempKey, tempLevel);
+  }
+}
@@ -0,0 +1,210 @@
+//HeldKarpSolver.java
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Solver TSP eksak dengan dynamic programming Held-Karp.
+ * Waktu eksekusi selalu O(2^n * n^2) dan tidak bergantung pada isi matriks, sehingga cocok untuk
+ * matriks yang membuat branch and bound meledak. Tabel disimpan dalam array primitif yang diindeks
+ * dengan bitset himpunan vertex yang sudah dikunjungi. Bobot dibaca sebagai graf berarah (baris ke
+ * kolom), sehingga matriks berarah maupun tak berarah ditangani dengan cara yang sama.
+ * @author Arno Alexander
+ */
+class HeldKarpSolver {
+
+  /*Banyak vertex selain simpul awal maksimum agar tabel masih dapat diindeks dengan int*/
+  static final int MAXIMUM_SUBSET_VERTEX = 26;
+  /*Ukuran tabel per entri : biaya (double) dan vertex sebelumnya (byte)*/
+  private static final int BYTES_PER_ENTRY = Double.BYTES + Byte.BYTES;
+  /*Himpunan yang diproses di antara dua pemeriksaan batas waktu, dikurangi satu*/
+  private static final int STOP_CHECK_MASK = 1023;
+
+  /*Banyak vertex selain simpul awal*/
+  private final int numberOfSubsetVertex;
+  /*Vertex asli untuk setiap indeks bit*/
+  private final int[] vertexOfBit;
+  /*Bobot antar vertex menurut indeks bit, tak hingga jika tidak ada sisi*/
+  private final double[] edge;
+  /*Bobot dari simpul awal ke setiap indeks bit dan sebaliknya*/
+  private final double[] edgeFromStart;
+  private final double[] edgeToStart;
+  /*cost[mask*m+k] : bobot lintasan terpendek dari simpul awal melewati mask dan berakhir di k*/
+  private double[] cost;
+  /*previous[mask*m+k] : indeks bit vertex sebelum k pada lintasan tersebut*/
+  private byte[] previous;
+  /*Bobot tur terbaik*/
+  private double tourWeight = Double.POSITIVE_INFINITY;
+  /*Penghitung kemajuan*/
+  private SolverMetrics metrics = new SolverMetrics();
+
+  /**
+   * Konstruktor.
+   * @param matrix matriks permasalahan
+   */
+  HeldKarpSolver(WeightMatrix matrix) {
+    int numberOfVertex = matrix.getNumberOfVertex();
+    if (numberOfVertex - 1 > MAXIMUM_SUBSET_VERTEX) {
+      throw new IllegalArgumentException("Held-Karp hanya untuk paling banyak "
+          + (MAXIMUM_SUBSET_VERTEX + 1) + " vertex : " + numberOfVertex);
+    }
+    numberOfSubsetVertex = numberOfVertex - 1;
+    vertexOfBit = new int[numberOfSubsetVertex];
+    for (int vertex = 0, bit = 0; vertex < numberOfVertex; ++vertex) {
+      if (vertex != WeightMatrix.START_VERTEX) {
+        vertexOfBit[bit++] = vertex;
+      }
+    }
+    int m = numberOfSubsetVertex;
+    edge = new double[m * m];
+    edgeFromStart = new double[m];
+    edgeToStart = new double[m];
+    for (int i = 0; i < m; ++i) {
+      for (int j = 0; j < m; ++j) {
+        edge[i*m + j] = toCost(matrix.getWeight(vertexOfBit[i], vertexOfBit[j]));
+      }
+      edgeFromStart[i] = toCost(matrix.getWeight(WeightMatrix.START_VERTEX, vertexOfBit[i]));
+      edgeToStart[i] = toCost(matrix.getWeight(vertexOfBit[i], WeightMatrix.START_VERTEX));
+    }
+  }
+
+  /**
+   * Setter metrics.
+   * @param metrics penghitung kemajuan, entri tabel dihitung sebagai simpul per kardinalitas
+   */
+  void setMetrics(SolverMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Menghitung memori tabel Held-Karp untuk banyak vertex tertentu.
+   * @param numberOfVertex banyak vertex graf
+   * @return perkiraan memori dalam byte, Long.MAX_VALUE jika tabel tidak dapat dialokasikan
+   */
+  static long computeMemoryRequirement(int numberOfVertex) {
+    int m = Math.max(numberOfVertex - 1, 1);
+    if (m > MAXIMUM_SUBSET_VERTEX) {
+      return Long.MAX_VALUE;
+    }
+    return ((1L << m) * m) * BYTES_PER_ENTRY;
+  }
+
+  /**
+   * Menyelesaikan TSP.
+   * @param numberOfThread banyaknya thread untuk mengisi tabel, minimal 1
+   * @return tur terpendek dimulai dari simpul awal, null jika tidak ada tur
+   */
+  int[] solve(int numberOfThread) {
+    if (numberOfThread < 1) {
+      throw new IllegalArgumentException("Banyak thread minimal 1 : " + numberOfThread);
+    }
+    int m = numberOfSubsetVertex;
+    int numberOfSubset = 1 << m;
+    cost = new double[numberOfSubset * m];
+    previous = new byte[numberOfSubset * m];
+    Arrays.fill(cost, Double.POSITIVE_INFINITY);
+    for (int k = 0; k < m; ++k) {
+      cost[(1 << k)*m + k] = edgeFromStart[k];
+      previous[(1 << k)*m + k] = -1;
+    }
+    metrics.addGeneratedSimpul(m);
+    long numberOfSubsetOfSize = m; //C(m, size)
+    ForkJoinPool pool = new ForkJoinPool(numberOfThread);
+    try {
+      for (int size = 2; size <= m; ++size) { //himpunan dengan kardinalitas sama saling bebas
+        final int subsetSize = size;
+        pool.submit(() -> IntStream.range(0, numberOfSubset).parallel()
+            .filter(mask -> !isStopRequested(mask) && Integer.bitCount(mask) == subsetSize)
+            .forEach(this::fillSubset)).join();
+        if (metrics.isStopped()) { //tabel belum lengkap, tidak ada tur yang dapat dibangun
+          return null;
+        }
+        numberOfSubsetOfSize = numberOfSubsetOfSize * (m - size + 1) / size;
+        metrics.addGeneratedSimpul(numberOfSubsetOfSize * size);
+      }
+    } finally {
+      pool.shutdown();
+    }
+    return buildTour();
+  }
+
+  /**
+   * Getter bobot tur terbaik.
+   * @return bobot tur terbaik, tak hingga jika tidak ada tur
+   */
+  double getTourWeight() {
+    return tourWeight;
+  }
+
+  /**
+   * Getter banyaknya entri tabel yang diisi.
+   * @return banyaknya entri tabel
+   */
+  long getNumberOfState() {
+    return (1L << numberOfSubsetVertex) * numberOfSubsetVertex;
+  }
+
+  /*Permintaan berhenti diperiksa penuh setiap STOP_CHECK_MASK+1 himpunan, selain itu hanya flag*/
+  private boolean isStopRequested(int mask) {
+    return (mask & STOP_CHECK_MASK) == 0 ? metrics.isStopRequested() : metrics.isStopped();
+  }
+
+  /*Mengisi seluruh entri tabel untuk satu himpunan*/
+  private void fillSubset(int mask) {
+    int m = numberOfSubsetVertex;
+    for (int k = 0; k < m; ++k) {
+      if ((mask & (1 << k)) == 0) {
+        continue;
+      }
+      int previousMask = mask ^ (1 << k);
+      double minimumCost = Double.POSITIVE_INFINITY;
+      int minimumBit = -1;
+      for (int j = 0; j < m; ++j) {
+        if ((previousMask & (1 << j)) != 0) {
+          double pathCost = cost[previousMask*m + j] + edge[j*m + k];
+          if (pathCost < minimumCost) {
+            minimumCost = pathCost;
+            minimumBit = j;
+          }
+        }
+      }
+      cost[mask*m + k] = minimumCost;
+      previous[mask*m + k] = (byte) minimumBit;
+    }
+  }
+
+  /*Menyusun tur dari tabel yang sudah terisi*/
+  private int[] buildTour() {
+    int m = numberOfSubsetVertex;
+    int fullMask = (1 << m) - 1;
+    int lastBit = -1;
+    for (int k = 0; k < m; ++k) {
+      double candidateWeight = cost[fullMask*m + k] + edgeToStart[k];
+      if (candidateWeight < tourWeight) {
+        tourWeight = candidateWeight;
+        lastBit = k;
+      }
+    }
+    if (lastBit < 0) {
+      return null;
+    }
+    int[] tour = new int[m + 1];
+    tour[0] = WeightMatrix.START_VERTEX;
+    int mask = fullMask;
+    for (int i = m, bit = lastBit; i >= 1; --i) {
+      tour[i] = vertexOfBit[bit];
+      int previousBit = previous[mask*m + bit];
+      mask ^= 1 << bit;
+      bit = previousBit;
+    }
+    cost = null;
+    previous = null;
+    return tour;
+  }
+
+  /*Mengubah bobot matriks menjadi biaya, sisi yang tidak ada menjadi tak hingga*/
+  private static double toCost(double weight) {
+    return weight == WeightMatrix.INVALID_WEIGHT ? Double.POSITIVE_INFINITY : weight;
+  }
+}
@@ -0,0 +1,666 @@
+//HeuristicSolver.java
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Solver TSP heuristik untuk graf yang terlalu besar bagi solver eksak.
+ * Tur awal dibangun dengan nearest neighbour atau greedy edge, lalu diperbaiki dengan local search
+ * 2-opt, Or-opt, dan Or-3opt (pertukaran dua segmen berurutan tanpa pembalikan, langkah bergaya
+ * Lin-Kernighan). Kandidat langkah dibatasi pada daftar tetangga terdekat dan vertex yang tidak
+ * menghasilkan perbaikan ditandai dengan don't-look bit. Pada graf berarah hanya langkah yang tidak
+ * membalik arah segmen yang dipakai, sehingga bobot selalu dihitung dengan benar.
+ * @author Arno Alexander
+ */
+class HeuristicSolver {
+
+  /*Konstanta kode metode konstruksi tur awal*/
+  static final int CONSTRUCTION_NEAREST_NEIGHBOUR = 1;
+  static final int CONSTRUCTION_GREEDY_EDGE = 2;
+  /*Banyak tetangga terdekat yang disimpan untuk setiap vertex*/
+  static final int DEFAULT_NUMBER_OF_NEIGHBOR = 10;
+  /*Perbaikan yang lebih kecil dari nilai ini dianggap tidak ada*/
+  private static final double EPSILON = 1e-9;
+  /*Banyak langkah local search di antara dua pemeriksaan batas waktu*/
+  private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+  /*Matriks permasalahan*/
+  private final WeightMatrix matrix;
+  /*Banyak vertex*/
+  private final int numberOfVertex;
+  /*Apakah matriks simetris (graf tak berarah)*/
+  private final boolean isSymmetric;
+  /*Metode konstruksi tur awal*/
+  private int construction = CONSTRUCTION_GREEDY_EDGE;
+  /*Banyak tetangga terdekat setiap vertex*/
+  private int numberOfNeighbor = DEFAULT_NUMBER_OF_NEIGHBOR;
+  /*Tur awal pengganti konstruksi, null jika tur awal dibangun*/
+  private int[] initialTour;
+  /*Biaya pengganti untuk sisi yang tidak ada, lebih mahal dari tur apa pun tanpa sisi tersebut*/
+  private double invalidCost;
+  /*Tetangga keluar dan masuk terdekat, vertex i pada indeks i*numberOfNeighbor, -1 jika kosong*/
+  private int[] outNeighbor;
+  private int[] inNeighbor;
+  /*Tur yang sedang diperbaiki dan posisi setiap vertex di dalamnya*/
+  private int[] tour;
+  private int[] position;
+  /*Batas waktu dalam System.nanoTime()*/
+  private long deadline;
+  /*Banyaknya langkah perbaikan yang diterapkan*/
+  private int numberOfImprovement;
+  /*Apakah local search dihentikan sebelum tidak ada perbaikan lagi*/
+  private boolean isStopped;
+  /*Penghitung kemajuan*/
+  private SolverMetrics metrics = new SolverMetrics();
+
+  /**
+   * Konstruktor.
+   * @param matrix matriks permasalahan
+   */
+  HeuristicSolver(WeightMatrix matrix) {
+    this.matrix = matrix;
+    numberOfVertex = matrix.getNumberOfVertex();
+    isSymmetric = matrix.isSymmetric();
+  }
+
+  /**
+   * Setter construction.
+   * @param construction CONSTRUCTION_NEAREST_NEIGHBOUR atau CONSTRUCTION_GREEDY_EDGE
+   */
+  void setConstruction(int construction) {
+    if (construction != CONSTRUCTION_NEAREST_NEIGHBOUR && construction != CONSTRUCTION_GREEDY_EDGE) {
+      throw new IllegalArgumentException("Metode konstruksi tidak dikenal : " + construction);
+    }
+    this.construction = construction;
+  }
+
+  /**
+   * Setter numberOfNeighbor.
+   * @param numberOfNeighbor banyak tetangga terdekat untuk kandidat langkah, minimal 1
+   */
+  void setNumberOfNeighbor(int numberOfNeighbor) {
+    if (numberOfNeighbor < 1) {
+      throw new IllegalArgumentException("Banyak tetangga minimal 1 : " + numberOfNeighbor);
+    }
+    this.numberOfNeighbor = numberOfNeighbor;
+  }
+
+  /**
+   * Setter initialTour. Local search dimulai dari tur ini alih-alih dari tur hasil konstruksi,
+   * misalnya dari tur optimal sebelum bobot beberapa sisi diubah, sehingga hanya sedikit langkah
+   * perbaikan yang dibutuhkan.
+   * @param initialTour tur awal, diabaikan jika null atau memuat sisi yang tidak ada
+   */
+  void setInitialTour(int[] initialTour) {
+    boolean isValid = initialTour != null && initialTour.length == numberOfVertex
+        && matrix.computeTourWeight(initialTour) < Double.POSITIVE_INFINITY;
+    this.initialTour = isValid ? initialTour.clone() : null;
+  }
+
+  /**
+   * Setter metrics.
+   * @param metrics penghitung kemajuan, vertex yang diperiksa dihitung sebagai simpul yang
+   *     diekspansi dan langkah perbaikan sebagai simpul yang dibangkitkan
+   */
+  void setMetrics(SolverMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Getter numberOfImprovement.
+   * @return banyaknya langkah perbaikan yang diterapkan pada pemanggilan solve() terakhir
+   */
+  int getNumberOfImprovement() {
+    return numberOfImprovement;
+  }
+
+  /**
+   * Memeriksa apakah local search pada pemanggilan solve() terakhir dihentikan batas waktu atau
+   * permintaan berhenti metrics, bukan karena tidak ada perbaikan lagi.
+   * @return true jika tur belum optimal lokal
+   */
+  boolean isStopped() {
+    return isStopped;
+  }
+
+  /**
+   * Membangun tur, atau memakai initialTour jika ada, lalu memperbaikinya hingga tidak ada
+   * perbaikan atau batas waktu tercapai.
+   * @param timeLimitMillis batas waktu local search dalam milidetik
+   * @return tur dimulai dari simpul awal, null jika tur terbaik masih memuat sisi yang tidak ada
+   */
+  int[] solve(long timeLimitMillis) {
+    deadline = System.nanoTime() + timeLimitMillis * 1000000L;
+    numberOfImprovement = 0;
+    isStopped = false;
+    numberOfNeighbor = Math.min(numberOfNeighbor, Math.max(numberOfVertex - 1, 1));
+    computeNeighbor();
+    tour = new int[numberOfVertex];
+    position = new int[numberOfVertex];
+    if (initialTour != null) {
+      for (int i = 0; i < numberOfVertex; ++i) {
+        place(i, initialTour[i]);
+      }
+    } else if (construction == CONSTRUCTION_NEAREST_NEIGHBOUR) {
+      buildNearestNeighbourTour();
+    } else {
+      buildGreedyEdgeTour();
+    }
+    metrics.setUpperBound(matrix.computeTourWeight(tour));
+    improve();
+    int[] solution = new int[numberOfVertex];
+    int start = position[WeightMatrix.START_VERTEX];
+    for (int i = 0; i < numberOfVertex; ++i) {
+      solution[i] = tour[(start + i) % numberOfVertex];
+    }
+    double tourWeight = matrix.computeTourWeight(solution);
+    metrics.setUpperBound(tourWeight);
+    return tourWeight == Double.POSITIVE_INFINITY ? null : solution;
+  }
+
+  /**
+   * Menghitung tetangga terdekat setiap vertex sekaligus biaya pengganti sisi yang tidak ada.
+   */
+  private void computeNeighbor() {
+    if (matrix.getStorage() instanceof CoordinateWeightStorage) {
+      computeCoordinateNeighbor((CoordinateWeightStorage) matrix.getStorage());
+      return;
+    }
+    double[] rowMaximum = new double[numberOfVertex];
+    outNeighbor = new int[numberOfVertex * numberOfNeighbor];
+    IntStream.range(0, numberOfVertex).parallel()
+        .forEach(i -> selectNeighbor(i, true, outNeighbor, rowMaximum));
+    if (isSymmetric) {
+      inNeighbor = outNeighbor;
+    } else {
+      inNeighbor = new int[numberOfVertex * numberOfNeighbor];
+      IntStream.range(0, numberOfVertex).parallel()
+          .forEach(i -> selectNeighbor(i, false, inNeighbor, null));
+    }
+    double maximumWeight = 0;
+    for (double weight : rowMaximum) {
+      maximumWeight = Math.max(maximumWeight, weight);
+    }
+    invalidCost = (maximumWeight + 1) * numberOfVertex;
+  }
+
+  /**
+   * Menghitung tetangga terdekat instance koordinat dengan grid tanpa menghitung n^2 jarak.
+   * Graf koordinat lengkap sehingga invalidCost hanya perlu lebih besar dari sisi mana pun.
+   */
+  private void computeCoordinateNeighbor(CoordinateWeightStorage storage) {
+    outNeighbor = storage.computeNearestNeighbor(numberOfNeighbor);
+    inNeighbor = outNeighbor;
+    double maximumWeight = 0;
+    for (int i = 0; i < numberOfVertex; ++i) { //jarak antar titik paling jauh dua kali jarak ke titik 0
+      maximumWeight = Math.max(maximumWeight, matrix.getWeight(WeightMatrix.START_VERTEX, i));
+    }
+    invalidCost = (2 * maximumWeight + 1) * numberOfVertex;
+  }
+
+  /*Memilih tetangga keluar (atau masuk) termurah dari vertex, terurut dari yang termurah*/
+  private void selectNeighbor(int vertex, boolean isOutgoing, int[] target, double[] rowMaximum) {
+    int offset = vertex * numberOfNeighbor;
+    double[] neighborCost = new double[numberOfNeighbor];
+    int size = 0;
+    double maximumWeight = 0;
+    for (int j = 0; j < numberOfVertex; ++j) {
+      double weight = isOutgoing ? matrix.getWeight(vertex, j) : matrix.getWeight(j, vertex);
+      if (j == vertex || weight == WeightMatrix.INVALID_WEIGHT) {
+        continue;
+      }
+      maximumWeight = Math.max(maximumWeight, weight);
+      if (size == numberOfNeighbor && weight >= neighborCost[size-1]) {
+        continue;
+      }
+      int i = size < numberOfNeighbor ? size++ : size-1;
+      while (i > 0 && neighborCost[i-1] > weight) {
+        neighborCost[i] = neighborCost[i-1];
+        target[offset + i] = target[offset + i-1];
+        i--;
+      }
+      neighborCost[i] = weight;
+      target[offset + i] = j;
+    }
+    for (int i = size; i < numberOfNeighbor; ++i) {
+      target[offset + i] = -1;
+    }
+    if (rowMaximum != null) {
+      rowMaximum[vertex] = maximumWeight;
+    }
+  }
+
+  /*Biaya sisi untuk local search, sisi yang tidak ada diganti invalidCost*/
+  private double cost(int beginNode, int endNode) {
+    double weight = matrix.getWeight(beginNode, endNode);
+    return weight == WeightMatrix.INVALID_WEIGHT ? invalidCost : weight;
+  }
+
+  /*Vertex setelah vertex pada tur*/
+  private int next(int vertex) {
+    int i = position[vertex] + 1;
+    return tour[i == numberOfVertex ? 0 : i];
+  }
+
+  /*Vertex sebelum vertex pada tur*/
+  private int previous(int vertex) {
+    int i = position[vertex] - 1;
+    return tour[i < 0 ? numberOfVertex-1 : i];
+  }
+
+  /*Jarak maju dari posisi vertex from ke posisi vertex to pada tur*/
+  private int distance(int from, int to) {
+    int d = position[to] - position[from];
+    return d < 0 ? d + numberOfVertex : d;
+  }
+
+  /*Meletakkan vertex pada posisi tertentu di tur*/
+  private void place(int index, int vertex) {
+    index %= numberOfVertex;
+    tour[index] = vertex;
+    position[vertex] = index;
+  }
+
+  /**
+   * Membangun tur awal dengan selalu menuju vertex belum dikunjungi yang terdekat.
+   */
+  private void buildNearestNeighbourTour() {
+    boolean[] isVisited = new boolean[numberOfVertex];
+    place(0, WeightMatrix.START_VERTEX);
+    isVisited[WeightMatrix.START_VERTEX] = true;
+    for (int i = 1; i < numberOfVertex; ++i) {
+      int current = tour[i-1];
+      int nextVertex = -1;
+      for (int s = 0; s < numberOfNeighbor && nextVertex < 0; ++s) {
+        int neighbor = outNeighbor[current*numberOfNeighbor + s];
+        if (neighbor >= 0 && !isVisited[neighbor]) {
+          nextVertex = neighbor;
+        }
+      }
+      if (nextVertex < 0) { //semua tetangga terdekat sudah dikunjungi, cari di seluruh vertex
+        for (int j = 0; j < numberOfVertex; ++j) {
+          if (!isVisited[j] && (nextVertex < 0 || cost(current, j) < cost(current, nextVertex))) {
+            nextVertex = j;
+          }
+        }
+      }
+      place(i, nextVertex);
+      isVisited[nextVertex] = true;
+    }
+  }
+
+  /**
+   * Membangun tur awal dengan greedy edge: sisi kandidat termurah diambil selama tidak membuat
+   * vertex berderajat lebih dari dua atau membentuk siklus. Potongan lintasan yang tersisa
+   * disambung dengan nearest neighbour antar ujung potongan.
+   */
+  private void buildGreedyEdgeTour() {
+    int numberOfCandidate = 0;
+    long[] candidate = new long[numberOfVertex * numberOfNeighbor];
+    for (int i = 0; i < numberOfVertex; ++i) {
+      for (int s = 0; s < numberOfNeighbor; ++s) {
+        int neighbor = outNeighbor[i*numberOfNeighbor + s];
+        if (neighbor >= 0) { //bit float bobot tak negatif terurut sama dengan nilainya
+          long costBits = Float.floatToIntBits((float) matrix.getWeight(i, neighbor));
+          candidate[numberOfCandidate++] = (costBits << 32) | (i*numberOfNeighbor + s);
+        }
+      }
+    }
+    Arrays.sort(candidate, 0, numberOfCandidate);
+    int[] link = new int[2 * numberOfVertex]; //graf tak berarah : dua tetangga, berarah : next dan previous
+    Arrays.fill(link, -1);
+    int[] fragment = new int[numberOfVertex];
+    for (int i = 0; i < numberOfVertex; ++i) {
+      fragment[i] = i;
+    }
+    for (int c = 0; c < numberOfCandidate; ++c) {
+      int index = (int) candidate[c];
+      int begin = index / numberOfNeighbor;
+      int end = outNeighbor[index];
+      boolean isFree = isSymmetric ? link[2*begin+1] < 0 && link[2*end+1] < 0
+          : link[2*begin] < 0 && link[2*end+1] < 0;
+      if (isFree && findFragment(fragment, begin) != findFragment(fragment, end)) {
+        fragment[findFragment(fragment, begin)] = findFragment(fragment, end);
+        if (isSymmetric) {
+          link[link[2*begin] < 0 ? 2*begin : 2*begin+1] = end;
+          link[link[2*end] < 0 ? 2*end : 2*end+1] = begin;
+        } else {
+          link[2*begin] = end;
+          link[2*end+1] = begin;
+        }
+      }
+    }
+    joinFragment(link);
+  }
+
+  /*Mencari wakil potongan lintasan dari suatu vertex (union-find dengan path halving)*/
+  private static int findFragment(int[] fragment, int vertex) {
+    while (fragment[vertex] != vertex) {
+      fragment[vertex] = fragment[fragment[vertex]];
+      vertex = fragment[vertex];
+    }
+    return vertex;
+  }
+
+  /*Menyambung potongan lintasan hasil greedy edge menjadi satu tur*/
+  private void joinFragment(int[] link) {
+    int numberOfFragment = 0;
+    int[] fragmentStart = new int[numberOfVertex];
+    int[] fragmentEnd = new int[numberOfVertex];
+    boolean[] isUsed = new boolean[numberOfVertex];
+    for (int v = 0; v < numberOfVertex; ++v) {
+      if (link[2*v+1] < 0 && !isUsed[v]) { //ujung lintasan (tak berarah) atau awal lintasan (berarah)
+        int end = v;
+        int previousVertex = -1;
+        isUsed[v] = true;
+        while (true) {
+          int nextVertex = isSymmetric ? (link[2*end] != previousVertex ? link[2*end] : link[2*end+1])
+              : link[2*end];
+          if (nextVertex < 0 || isUsed[nextVertex]) {
+            break;
+          }
+          previousVertex = end;
+          end = nextVertex;
+          isUsed[end] = true;
+        }
+        fragmentStart[numberOfFragment] = v;
+        fragmentEnd[numberOfFragment] = end;
+        numberOfFragment++;
+      }
+    }
+    boolean[] isFragmentUsed = new boolean[numberOfFragment];
+    int size = 0;
+    isFragmentUsed[0] = true;
+    int first = fragmentStart[0];
+    while (true) {
+      size = appendFragment(link, first, size);
+      if (size == numberOfVertex) {
+        break;
+      }
+      int tail = tour[size-1];
+      int current = -1;
+      boolean isReversed = false;
+      double bestCost = Double.POSITIVE_INFINITY;
+      for (int f = 0; f < numberOfFragment; ++f) {
+        if (isFragmentUsed[f]) {
+          continue;
+        }
+        if (cost(tail, fragmentStart[f]) < bestCost) {
+          bestCost = cost(tail, fragmentStart[f]);
+          current = f;
+          isReversed = false;
+        }
+        if (isSymmetric && cost(tail, fragmentEnd[f]) < bestCost) {
+          bestCost = cost(tail, fragmentEnd[f]);
+          current = f;
+          isReversed = true;
+        }
+      }
+      isFragmentUsed[current] = true;
+      first = isReversed ? fragmentEnd[current] : fragmentStart[current];
+    }
+  }
+
+  /*Menambahkan potongan lintasan yang dimulai dari first ke akhir tur, mengembalikan panjang tur*/
+  private int appendFragment(int[] link, int first, int size) {
+    int previousVertex = -1;
+    int vertex = first;
+    while (vertex >= 0) {
+      place(size++, vertex);
+      int nextVertex = isSymmetric ? (link[2*vertex] != previousVertex ? link[2*vertex] : link[2*vertex+1])
+          : link[2*vertex];
+      previousVertex = vertex;
+      vertex = nextVertex;
+    }
+    return size;
+  }
+
+  /**
+   * Local search dengan don't-look bit : hanya vertex yang sekitarnya berubah yang diperiksa ulang.
+   */
+  private void improve() {
+    ActiveQueue active = new ActiveQueue(numberOfVertex);
+    for (int i = 0; i < numberOfVertex; ++i) {
+      active.add(tour[i]);
+    }
+    SolverMetrics.LocalCounter expandedCounter = metrics.createExpandedCounter();
+    SolverMetrics.LocalCounter generatedCounter = metrics.createGeneratedCounter();
+    int iteration = 0;
+    while (active.size > 0) {
+      if (++iteration % DEADLINE_CHECK_INTERVAL == 0) {
+        metrics.setFrontierSize(active.size);
+        if (System.nanoTime() > deadline || metrics.isStopRequested()) {
+          isStopped = true;
+          break;
+        }
+      }
+      int vertex = active.poll();
+      expandedCounter.increment();
+      if ((isSymmetric && improveTwoOpt(vertex, active)) || improveOrOpt(vertex, active)
+          || improveOrThreeOpt(vertex, active)) {
+        numberOfImprovement++;
+        generatedCounter.increment();
+        active.add(vertex);
+      }
+    }
+    expandedCounter.flush();
+    generatedCounter.flush();
+  }
+
+  /**
+   * Langkah 2-opt untuk graf tak berarah: mengganti dua sisi dengan dua sisi lain dan membalik
+   * segmen di antaranya.
+   */
+  private boolean improveTwoOpt(int t1, ActiveQueue active) {
+    for (int direction = 0; direction < 2; ++direction) {
+      int t2 = direction == 0 ? next(t1) : previous(t1);
+      double cost12 = cost(t1, t2);
+      for (int s = 0; s < numberOfNeighbor; ++s) {
+        int t3 = outNeighbor[t1*numberOfNeighbor + s];
+        if (t3 < 0) {
+          break;
+        }
+        double cost13 = cost(t1, t3);
+        if (cost13 >= cost12) {
+          break;
+        }
+        int t4 = direction == 0 ? next(t3) : previous(t3);
+        if (t3 == t2 || t4 == t1) {
+          continue;
+        }
+        double delta = cost13 + cost(t2, t4) - cost12 - cost(t3, t4);
+        if (delta < -EPSILON) {
+          if (direction == 0) {
+            reverse(t2, t3);
+          } else {
+            reverse(t1, t4);
+          }
+          active.add(t1);
+          active.add(t2);
+          active.add(t3);
+          active.add(t4);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /*Membalik segmen tur dari vertex from maju hingga vertex to, atau komplemennya jika lebih pendek*/
+  private void reverse(int from, int to) {
+    int i = position[from];
+    int length = distance(from, to) + 1;
+    if (2 * length > numberOfVertex) { //pada graf tak berarah membalik komplemen menghasilkan tur sama
+      i = position[to] + 1;
+      length = numberOfVertex - length;
+    }
+    int j = i + length - 1;
+    for (int k = 0; k < length / 2; ++k) {
+      int a = tour[(i + k) % numberOfVertex];
+      int b = tour[(j - k) % numberOfVertex];
+      place(i + k, b);
+      place(j - k, a);
+    }
+  }
+
+  /**
+   * Langkah Or-opt: memindahkan segmen satu sampai tiga vertex yang dimulai dari vertex ke antara
+   * dua vertex bersebelahan lain. Pada graf tak berarah segmen boleh disisipkan terbalik.
+   */
+  private boolean improveOrOpt(int start, ActiveQueue active) {
+    for (int length = 1; length <= 3 && length < numberOfVertex - 2; ++length) {
+      int end = tour[(position[start] + length - 1) % numberOfVertex];
+      int before = previous(start);
+      int after = next(end);
+      double removeGain = cost(before, start) + cost(end, after) - cost(before, after);
+      if (removeGain <= EPSILON) {
+        continue;
+      }
+      for (int reversed = 0; reversed < (isSymmetric ? 2 : 1); ++reversed) {
+        int first = reversed == 0 ? start : end;
+        int last = reversed == 0 ? end : start;
+        for (int s = 0; s < numberOfNeighbor; ++s) {
+          int a = inNeighbor[first*numberOfNeighbor + s];
+          if (a < 0 || cost(a, first) >= removeGain) {
+            break;
+          }
+          if (a == before || distance(start, a) < length) {
+            continue;
+          }
+          int b = next(a);
+          double delta = cost(a, first) + cost(last, b) - cost(a, b) - removeGain;
+          if (delta < -EPSILON) {
+            moveSegment(start, length, a, reversed == 1);
+            active.add(before);
+            active.add(after);
+            active.add(a);
+            active.add(b);
+            active.add(end);
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  /*Memindahkan segmen sepanjang length yang dimulai dari start ke setelah vertex a*/
+  private void moveSegment(int start, int length, int a, boolean isReversed) {
+    int[] segment = new int[length];
+    int i = position[start];
+    for (int k = 0; k < length; ++k) {
+      segment[k] = tour[(i + k) % numberOfVertex];
+    }
+    int target = distance(start, a);
+    if (target - length < numberOfVertex - 1 - target) { //geser vertex setelah segmen ke belakang
+      for (int r = length; r <= target; ++r) {
+        place(i + r - length, tour[(i + r) % numberOfVertex]);
+      }
+      i += target - length + 1;
+    } else { //geser vertex sebelum segmen ke depan
+      for (int r = numberOfVertex - 1; r > target; --r) {
+        place(i + r + length, tour[(i + r) % numberOfVertex]);
+      }
+      i += target + 1;
+    }
+    for (int k = 0; k < length; ++k) {
+      place(i + k, segment[isReversed ? length - 1 - k : k]);
+    }
+  }
+
+  /**
+   * Langkah Or-3opt: a b..c d..e f menjadi a d..e b..c f. Tiga sisi diganti tanpa membalik arah
+   * segmen mana pun, sehingga juga berlaku untuk graf berarah.
+   */
+  private boolean improveOrThreeOpt(int a, ActiveQueue active) {
+    int b = next(a);
+    double costAB = cost(a, b);
+    for (int s = 0; s < numberOfNeighbor; ++s) {
+      int d = outNeighbor[a*numberOfNeighbor + s];
+      if (d < 0) {
+        break;
+      }
+      double gain = costAB - cost(a, d);
+      if (gain <= EPSILON) {
+        break;
+      }
+      if (d == b) {
+        continue;
+      }
+      int c = previous(d);
+      gain += cost(c, d);
+      int distanceD = distance(a, d);
+      for (int t = 0; t < numberOfNeighbor; ++t) {
+        int e = inNeighbor[b*numberOfNeighbor + t];
+        if (e < 0) {
+          break;
+        }
+        if (e == a || distance(a, e) < distanceD) {
+          continue;
+        }
+        int f = next(e);
+        double delta = cost(e, b) + cost(c, f) - cost(e, f) - gain;
+        if (delta < -EPSILON) {
+          exchangeSegment(a, c, d, e);
+          active.add(a);
+          active.add(b);
+          active.add(c);
+          active.add(d);
+          active.add(e);
+          active.add(f);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /*Mengubah a b..c d..e menjadi a d..e b..c*/
+  private void exchangeSegment(int a, int c, int d, int e) {
+    int i = position[a] + 1;
+    int firstLength = distance(a, c);
+    int secondLength = distance(d, e) + 1;
+    int[] buffer = new int[firstLength + secondLength];
+    for (int k = 0; k < secondLength; ++k) {
+      buffer[k] = tour[(i + firstLength + k) % numberOfVertex];
+    }
+    for (int k = 0; k < firstLength; ++k) {
+      buffer[secondLength + k] = tour[(i + k) % numberOfVertex];
+    }
+    for (int k = 0; k < buffer.length; ++k) {
+      place(i + k, buffer[k]);
+    }
+  }
+
+  /**
+   * Antrian melingkar vertex aktif (don't-look bit bernilai false).
+   */
+  private static class ActiveQueue {
+
+    private final int[] queue;
+    private final boolean[] isActive;
+    private int head = 0;
+    private int size = 0;
+
+    ActiveQueue(int numberOfVertex) {
+      queue = new int[numberOfVertex];
+      isActive = new boolean[numberOfVertex];
+    }
+
+    int poll() {
+      int vertex = queue[head];
+      head = (head + 1) % queue.length;
+      size--;
+      isActive[vertex] = false;
+      return vertex;
+    }
+
+    void add(int vertex) {
+      if (!isActive[vertex]) {
+        isActive[vertex] = true;
+        queue[(head + size) % queue.length] = vertex;
+        size++;
+      }
+    }
+  }
+}
@@ -7,11 +7,14 @@
 public class Main {
 
     /**
-     * Program utama.
+     * Program utama. Tanpa argumen, program membuka antarmuka grafis. Dengan argumen, program
+     * berjalan tanpa antarmuka grafis dan menyelesaikan file-file instance (lihat BatchSolver).
      * @param args argumen
      */
     public static void main(String[] args) {
-
+        if (args.length > 0) {
+            System.exit(BatchSolver.run(args));
+        }
 
         MainFrame mainFrame = new MainFrame("TSP Solver");
         new Thread(mainFrame).start();
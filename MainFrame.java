@@ -4,8 +4,9 @@ import com.mxgraph.layout.mxCircleLayout;
 import com.mxgraph.layout.mxParallelEdgeLayout;
 import com.mxgraph.swing.mxGraphComponent;
 import com.mxgraph.util.mxConstants;
+import com.mxgraph.util.mxRectangle;
 import org.jgrapht.ext.JGraphXAdapter;
-import org.jgrapht.graph.AbstractBaseGraph;
+import org.jgrapht.graph.DefaultListenableGraph;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.SimpleDirectedWeightedGraph;
 import org.jgrapht.graph.SimpleWeightedGraph;
@@ -15,16 +16,29 @@ import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingWorker;
 import javax.swing.WindowConstants;
+import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionAdapter;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Frame user interface untuk program utama.
+ * Graf dibaca dan disusun di thread latar belakang. Graf dengan lebih dari FULL_DETAIL_LIMIT vertex
+ * hanya menampilkan CHEAPEST_EDGE_PER_VERTEX sisi termurah setiap vertex beserta tur solusi;
+ * seluruh sisi suatu vertex dimuat ketika kursor berada di atas vertex tersebut, dan seluruh sisi
+ * antar vertex yang terlihat dimuat ketika tampilan diperbesar hingga paling banyak
+ * FULL_DETAIL_LIMIT vertex terlihat.
  * @author Arno Alexander
  */
 public class MainFrame extends JFrame implements Runnable{
@@ -41,15 +55,34 @@ public class MainFrame extends JFrame implements Runnable{
   private static final String BUTTON_BOBOT_TUR_LENGKAP
       = "Bobot Tur Lengkap (Graf Tak Berarah)";
   private static final String BUTTON_SOLVE = "SOLVE";
+  private static final String BUTTON_STOP = "STOP";
+  /*Selang waktu pembaruan label kemajuan dalam milidetik*/
+  private static final long PROGRESS_INTERVAL_MILLIS = 200;
+  /*Banyak vertex maksimum agar seluruh sisi langsung ditampilkan*/
+  private static final int FULL_DETAIL_LIMIT = 20;
+  /*Banyak sisi termurah setiap vertex yang ditampilkan jika graf lebih besar*/
+  private static final int CHEAPEST_EDGE_PER_VERTEX = 3;
+  /*Jari-jari minimum tata letak lingkaran*/
+  private static final int CIRCLE_RADIUS = 275;
+  /*Ukuran maksimum area graf dalam piksel, graf yang lebih besar diperkecil*/
+  private static final int GRAPH_VIEW_SIZE = 700;
 
   /*Algoritma yang digunakan*/
   private int usedAlgorithm;
-  /*Graf permasalahan*/
-  private AbstractBaseGraph<String,CustomWeightedEdge> graph;
+  /*Graf permasalahan, sisi yang ditambahkan langsung diteruskan ke graphAdapter*/
+  private DefaultListenableGraph<String,CustomWeightedEdge> graph;
   /*Matriks yang merepresentasikan graf permasalahan*/
   private WeightMatrix inputMatrix;
   /*Adapter dari graf permasalahan*/
   private JGraphXAdapter<String, CustomWeightedEdge> graphAdapter;
+  /*Penyelesaian yang sedang berjalan*/
+  private SolveHandle solveHandle;
+  /*Apakah hanya sebagian sisi yang ditampilkan*/
+  private boolean isPartialDetail;
+  /*Apakah seluruh sisi dari dan ke suatu vertex sudah ditampilkan*/
+  private boolean[] isVertexDetailed;
+  /*Komponen yang menampilkan graf*/
+  private mxGraphComponent graphComponent;
 
 
   /*Panel untuk memilih algoritma*/
@@ -115,68 +148,49 @@ public class MainFrame extends JFrame implements Runnable{
   }
 
   /**
-   * Membaca graf dari file eksternal.
+   * Membaca graf dari file eksternal di thread latar belakang.
    */
   private void retrieveGraph() {
     menuButtonPanel.removeAll();
-    try {
-      inputMatrix = new WeightMatrix(INPUT_PATH);
-      displayRetrievedGraph();
-    } catch (FileNotFoundException exception) {
+    JLabel loadingLabel = new JLabel("Membaca graf...");
+    loadingLabel.setAlignmentX(CENTER_ALIGNMENT);
+    informationPanel.add(loadingLabel);
+    pack();
+    new GraphLoadWorker().execute();
+  }
+
+  /**
+   * Menampilkan pesan kesalahan pembacaan graf.
+   * @param exception penyebab kegagalan
+   */
+  private void displayLoadError(Throwable exception) {
+    informationPanel.removeAll();
+    if (exception instanceof FileNotFoundException) {
       informationPanel.add(new JLabel
           ("Error : File input tidak ditemukan"));
-      pack();
-    } catch (NoSuchElementException exception) {
+    } else if (exception instanceof IOException) {
       informationPanel.add(new JLabel
-          ("Error : Isi file input salah"));
-      pack();
+          ("Error : File input tidak dapat dibaca"));
+    } else if (exception instanceof NoSuchElementException) {
+      informationPanel.add(new JLabel
+          ("Error : Isi file input salah (" + exception.getMessage() + ")"));
+    } else {
+      informationPanel.add(new JLabel("Error : " + exception));
     }
+    pack();
   }
 
   /**
-   * Menampilkan graf yang sudah dibaca dari file eksternal.
+   * Membangun graf dan tata letaknya dari inputMatrix. Tidak menyentuh komponen Swing sehingga
+   * dipanggil dari thread latar belakang. Seluruh vertex dan sisi dimasukkan dalam satu update
+   * model agar tampilan graf hanya divalidasi sekali, bukan setiap kali sel ditambahkan.
    */
-  private void displayRetrievedGraph() {
+  private void buildGraph() {
     if (usedAlgorithm == ALGORITHM_REDUCED_COST_MATRIX) {
-      graph = new SimpleDirectedWeightedGraph<>(CustomWeightedEdge.class);
+      graph = new DefaultListenableGraph<>(
+          new SimpleDirectedWeightedGraph<>(CustomWeightedEdge.class));
     } else {
-      graph = new SimpleWeightedGraph<>(CustomWeightedEdge.class);
-    }
-
-    for (int i = 0; i < inputMatrix.getNumberOfVertex(); ++i) {
-      graph.addVertex(Integer.toString(i));
-    }
-
-    int numberOfSmallToBigEdge = 0;
-    CustomWeightedEdge[] smallToBigEdge = new CustomWeightedEdge
-        [inputMatrix.getNumberOfVertex() * (inputMatrix.getNumberOfVertex()+1) / 2];
-
-    if (usedAlgorithm == ALGORITHM_REDUCED_COST_MATRIX) {
-      for (int i = 0; i < inputMatrix.getNumberOfVertex(); ++i) {
-        for (int j = 0; j < inputMatrix.getNumberOfVertex(); ++j) {
-          double edgeWeight = inputMatrix.getWeight(i,j);
-          if (edgeWeight != WeightMatrix.INVALID_WEIGHT) {
-            CustomWeightedEdge edge = new CustomWeightedEdge();
-            graph.addEdge(Integer.toString(i),Integer.toString(j), edge);
-            graph.setEdgeWeight(edge,edgeWeight);
-            if (i < j) {
-              smallToBigEdge[numberOfSmallToBigEdge] = edge;
-              numberOfSmallToBigEdge++;
-            }
-          }
-        }
-      }
-    } else {
-      for (int i = 1; i < inputMatrix.getNumberOfVertex(); ++i) {
-        for (int j = 0; j < i; ++j) {
-          double edgeWeight = inputMatrix.getWeight(i,j);
-          if (edgeWeight != WeightMatrix.INVALID_WEIGHT) {
-            CustomWeightedEdge edge = new CustomWeightedEdge();
-            graph.addEdge(Integer.toString(i),Integer.toString(j), edge);
-            graph.setEdgeWeight(edge, edgeWeight);
-          }
-        }
-      }
+      graph = new DefaultListenableGraph<>(new SimpleWeightedGraph<>(CustomWeightedEdge.class));
     }
 
     graphAdapter = new JGraphXAdapter<>(graph);
@@ -198,65 +212,302 @@ public class MainFrame extends JFrame implements Runnable{
           .put(mxConstants.STYLE_ENDARROW,mxConstants.NONE);
     }
 
-    HashMap<CustomWeightedEdge,com.mxgraph.model.mxICell> edgeToCellMap
-        = graphAdapter.getEdgeToCellMap();
-    com.mxgraph.model.mxICell[] smallToBigEdgeCell
-        = new com.mxgraph.model.mxICell[numberOfSmallToBigEdge];
-    for (int i = 0; i < numberOfSmallToBigEdge; ++i) {
-      smallToBigEdgeCell[i] = edgeToCellMap.get(smallToBigEdge[i]);
+    int numberOfVertex = inputMatrix.getNumberOfVertex();
+    isPartialDetail = numberOfVertex > FULL_DETAIL_LIMIT;
+    isVertexDetailed = new boolean[numberOfVertex];
+    List<CustomWeightedEdge> smallToBigEdge = new ArrayList<>();
+    graphAdapter.getModel().beginUpdate();
+    try {
+      for (int i = 0; i < numberOfVertex; ++i) {
+        graph.addVertex(Integer.toString(i));
+      }
+      if (!isPartialDetail) {
+        for (int i = 0; i < numberOfVertex; ++i) {
+          for (int j = 0; j < numberOfVertex; ++j) {
+            if (i != j) {
+              addEdge(i, j, smallToBigEdge);
+            }
+          }
+        }
+      } else {
+        for (int i = 0; i < numberOfVertex; ++i) {
+          for (int j : findCheapestNeighbor(i)) {
+            addEdge(i, j, smallToBigEdge);
+          }
+        }
+      }
+      setSmallToBigEdgeStyle(smallToBigEdge);
+
+      mxCircleLayout circleLayout = new mxCircleLayout(graphAdapter);
+      circleLayout.setRadius(CIRCLE_RADIUS);
+      circleLayout.execute(graphAdapter.getDefaultParent());
+      separateParallelEdge();
+    } finally {
+      graphAdapter.getModel().endUpdate();
     }
-    graphAdapter.setCellStyles("strokeColor","#666666",smallToBigEdgeCell);
-    graphAdapter.setCellStyles("fontColor","#667788",smallToBigEdgeCell);
+  }
 
-    mxCircleLayout circleLayout = new mxCircleLayout(graphAdapter);
-    circleLayout.setRadius(275);
-    circleLayout.execute(graphAdapter.getDefaultParent());
-    mxParallelEdgeLayout parallelEdgeLayout
-        = new mxParallelEdgeLayout(graphAdapter,35);
-    parallelEdgeLayout.execute(graphAdapter.getDefaultParent());
+  /**
+   * Menampilkan graf yang sudah dibangun oleh buildGraph().
+   */
+  private void displayRetrievedGraph() {
+    graphComponent = new mxGraphComponent(graphAdapter);
+    mxRectangle bounds = graphAdapter.getGraphBounds();
+    double scale = GRAPH_VIEW_SIZE / Math.max(bounds.getWidth(), bounds.getHeight());
+    if (scale < 1) { //lingkaran diperbesar mxCircleLayout agar vertex tidak bertumpuk
+      graphComponent.setPreferredSize(new Dimension(GRAPH_VIEW_SIZE, GRAPH_VIEW_SIZE));
+      graphComponent.zoomTo(scale, false);
+    }
+    graphComponent.addMouseWheelListener(event -> {
+      if (event.isControlDown()) {
+        if (event.getWheelRotation() < 0) {
+          graphComponent.zoomIn();
+        } else {
+          graphComponent.zoomOut();
+        }
+      }
+    });
+    if (isPartialDetail) {
+      graphComponent.getGraphControl().addMouseMotionListener(new MouseMotionAdapter() {
+        @Override
+        public void mouseMoved(MouseEvent event) {
+          String vertex = graphAdapter.getCellToVertexMap()
+              .get(graphComponent.getCellAt(event.getX(), event.getY(), false));
+          if (vertex != null) {
+            displayVertexDetail(Integer.parseInt(vertex));
+          }
+        }
+      });
+      graphComponent.getViewport().addChangeListener(event -> displayVisibleDetail());
+    }
 
-    mxGraphComponent graphComponent = new mxGraphComponent(graphAdapter);
     JButton solveButton = new JButton(BUTTON_SOLVE);
     solveButton.addActionListener(new ButtonClickListener());
     solveButton.setAlignmentX(CENTER_ALIGNMENT);
 
     graphPanel.removeAll();
     graphPanel.add(graphComponent);
+    informationPanel.removeAll();
+    if (isPartialDetail) {
+      JLabel detailLabel = new JLabel("Ditampilkan " + CHEAPEST_EDGE_PER_VERTEX
+          + " sisi termurah setiap simpul. Arahkan kursor ke simpul atau perbesar"
+          + " (Ctrl + roda mouse) untuk melihat semua sisi.");
+      detailLabel.setAlignmentX(CENTER_ALIGNMENT);
+      informationPanel.add(detailLabel);
+    }
     informationPanel.add(solveButton);
     pack();
   }
 
+  /*Tujuan CHEAPEST_EDGE_PER_VERTEX sisi keluar termurah dari vertex, terurut dari yang termurah*/
+  private int[] findCheapestNeighbor(int vertex) {
+    int[] neighbor = new int[CHEAPEST_EDGE_PER_VERTEX];
+    double[] neighborWeight = new double[CHEAPEST_EDGE_PER_VERTEX];
+    int numberOfNeighbor = 0;
+    for (int j = 0; j < inputMatrix.getNumberOfVertex(); ++j) {
+      double edgeWeight = inputMatrix.getWeight(vertex, j);
+      if (j == vertex || edgeWeight == WeightMatrix.INVALID_WEIGHT
+          || (numberOfNeighbor == CHEAPEST_EDGE_PER_VERTEX
+              && edgeWeight >= neighborWeight[numberOfNeighbor-1])) {
+        continue;
+      }
+      int position = Math.min(numberOfNeighbor, CHEAPEST_EDGE_PER_VERTEX-1);
+      while (position > 0 && neighborWeight[position-1] > edgeWeight) {
+        neighbor[position] = neighbor[position-1];
+        neighborWeight[position] = neighborWeight[position-1];
+        position--;
+      }
+      neighbor[position] = j;
+      neighborWeight[position] = edgeWeight;
+      numberOfNeighbor = Math.min(numberOfNeighbor+1, CHEAPEST_EDGE_PER_VERTEX);
+    }
+    return Arrays.copyOf(neighbor, numberOfNeighbor);
+  }
+
   /**
-   * Menyelesaikan TSP.
+   * Menambahkan sisi dari beginNode ke endNode ke graf jika belum ada.
+   * @param beginNode node asal
+   * @param endNode node tujuan
+   * @param smallToBigEdge penampung sisi berarah dari node kecil ke node besar yang digambar lebih
+   *     pudar agar dapat dibedakan dari sisi arah sebaliknya
+   * @return sisi pada graf, null jika tidak ada sisi dari beginNode ke endNode
+   */
+  private CustomWeightedEdge addEdge(int beginNode, int endNode,
+      List<CustomWeightedEdge> smallToBigEdge) {
+    String source = Integer.toString(beginNode);
+    String target = Integer.toString(endNode);
+    CustomWeightedEdge edge = graph.getEdge(source, target);
+    //graf tak berarah memakai bobot segitiga bawah
+    double edgeWeight = usedAlgorithm == ALGORITHM_REDUCED_COST_MATRIX
+        ? inputMatrix.getWeight(beginNode, endNode)
+        : inputMatrix.getWeight(Math.max(beginNode, endNode), Math.min(beginNode, endNode));
+    if (edge != null || edgeWeight == WeightMatrix.INVALID_WEIGHT) {
+      return edge;
+    }
+    edge = new CustomWeightedEdge();
+    graph.setEdgeWeight(edge, edgeWeight); //sebelum addEdge agar label sel langsung berisi bobot
+    graph.addEdge(source, target, edge);
+    if (usedAlgorithm == ALGORITHM_REDUCED_COST_MATRIX && beginNode < endNode) {
+      smallToBigEdge.add(edge);
+    }
+    return edge;
+  }
+
+  /*Memudarkan sisi berarah dari node kecil ke node besar*/
+  private void setSmallToBigEdgeStyle(List<CustomWeightedEdge> smallToBigEdge) {
+    if (smallToBigEdge.isEmpty()) {
+      return;
+    }
+    HashMap<CustomWeightedEdge,com.mxgraph.model.mxICell> edgeToCellMap
+        = graphAdapter.getEdgeToCellMap();
+    com.mxgraph.model.mxICell[] smallToBigEdgeCell
+        = new com.mxgraph.model.mxICell[smallToBigEdge.size()];
+    for (int i = 0; i < smallToBigEdge.size(); ++i) {
+      smallToBigEdgeCell[i] = edgeToCellMap.get(smallToBigEdge.get(i));
+    }
+    graphAdapter.setCellStyles("strokeColor","#666666",smallToBigEdgeCell);
+    graphAdapter.setCellStyles("fontColor","#667788",smallToBigEdgeCell);
+  }
+
+  /*Menampilkan seluruh sisi dari dan ke vertex*/
+  private void displayVertexDetail(int vertex) {
+    if (isVertexDetailed[vertex]) {
+      return;
+    }
+    isVertexDetailed[vertex] = true;
+    List<CustomWeightedEdge> smallToBigEdge = new ArrayList<>();
+    graphAdapter.getModel().beginUpdate();
+    try {
+      for (int j = 0; j < inputMatrix.getNumberOfVertex(); ++j) {
+        if (j != vertex) {
+          addEdge(vertex, j, smallToBigEdge);
+          addEdge(j, vertex, smallToBigEdge);
+        }
+      }
+      finishDetail(smallToBigEdge);
+    } finally {
+      graphAdapter.getModel().endUpdate();
+    }
+  }
+
+  /*Menampilkan seluruh sisi antar vertex yang terlihat jika paling banyak FULL_DETAIL_LIMIT*/
+  private void displayVisibleDetail() {
+    List<Integer> visibleVertex = new ArrayList<>();
+    for (Object cell : graphComponent.getCells(graphComponent.getViewport().getViewRect())) {
+      String vertex = graphAdapter.getCellToVertexMap().get(cell);
+      if (vertex != null) {
+        visibleVertex.add(Integer.parseInt(vertex));
+        if (visibleVertex.size() > FULL_DETAIL_LIMIT) {
+          return;
+        }
+      }
+    }
+    List<CustomWeightedEdge> smallToBigEdge = new ArrayList<>();
+    int numberOfEdge = graph.edgeSet().size();
+    graphAdapter.getModel().beginUpdate();
+    try {
+      for (int i : visibleVertex) {
+        for (int j : visibleVertex) {
+          if (i != j) {
+            addEdge(i, j, smallToBigEdge);
+          }
+        }
+      }
+      if (graph.edgeSet().size() > numberOfEdge) {
+        finishDetail(smallToBigEdge);
+      }
+    } finally {
+      graphAdapter.getModel().endUpdate();
+    }
+  }
+
+  /*Memberi gaya sisi yang baru ditambahkan dan memisahkan sisi yang sejajar*/
+  private void finishDetail(List<CustomWeightedEdge> smallToBigEdge) {
+    setSmallToBigEdgeStyle(smallToBigEdge);
+    separateParallelEdge();
+  }
+
+  /*Melengkungkan sisi berarah yang berlawanan arah, graf tak berarah tidak memiliki sisi sejajar*/
+  private void separateParallelEdge() {
+    if (usedAlgorithm == ALGORITHM_REDUCED_COST_MATRIX) {
+      mxParallelEdgeLayout parallelEdgeLayout
+          = new mxParallelEdgeLayout(graphAdapter,35);
+      parallelEdgeLayout.execute(graphAdapter.getDefaultParent());
+    }
+  }
+
+  /**
+   * Menyelesaikan TSP di thread latar belakang sambil menampilkan kemajuan.
    */
   private void solveGraph() {
-    long time0, time1;
-    int[] solution;
-    time0 = System.currentTimeMillis();
+    JLabel progressLabel = new JLabel("Menyelesaikan...");
+    progressLabel.setAlignmentX(CENTER_ALIGNMENT);
+    JButton stopButton = new JButton(BUTTON_STOP);
+    stopButton.addActionListener(new ButtonClickListener());
+    stopButton.setAlignmentX(CENTER_ALIGNMENT);
+    informationPanel.removeAll();
+    informationPanel.add(progressLabel);
+    informationPanel.add(stopButton);
+    pack();
+
+    SolveWorker solveWorker = new SolveWorker(progressLabel);
+    inputMatrix.setSolverListener(solveWorker::publishProgress, PROGRESS_INTERVAL_MILLIS);
     if (usedAlgorithm == ALGORITHM_REDUCED_COST_MATRIX) {
-      solution = inputMatrix.solveReducedCostMatrix();
+      solveHandle = inputMatrix.solveAsync(WeightMatrix::solveReducedCostMatrix);
     } else {
-      solution = inputMatrix.solveBobotTurLengkap();
+      solveHandle = inputMatrix.solveAsync(WeightMatrix::solveBobotTurLengkap);
+    }
+    solveWorker.execute();
+  }
+
+  /**
+   * Menampilkan hasil penyelesaian TSP.
+   * @param result hasil penyelesaian, tur terbaik sejauh ini jika dihentikan
+   */
+  private void displaySolution(SolveResult result) {
+    int[] solution = result.getTour();
+    if (solution == null) {
+      informationPanel.removeAll();
+      JLabel noTourLabel = new JLabel(result.isStopped()
+          ? "Dihentikan sebelum tur ditemukan" : "Tidak ada tur yang melewati semua simpul");
+      noTourLabel.setAlignmentX(CENTER_ALIGNMENT);
+      informationPanel.add(noTourLabel);
+      pack();
+      return;
     }
-    time1 = System.currentTimeMillis();
 
+    List<CustomWeightedEdge> smallToBigEdge = new ArrayList<>();
+    CustomWeightedEdge[] solutionEdge = new CustomWeightedEdge[solution.length];
+    graphAdapter.getModel().beginUpdate();
+    try { //sisi tur mungkin belum ditampilkan jika graf hanya ditampilkan sebagian
+      for (int i = 0; i < solution.length; i++) {
+        solutionEdge[i] = addEdge(solution[i], solution[(i+1)%solution.length], smallToBigEdge);
+      }
+      if (isPartialDetail) {
+        finishDetail(smallToBigEdge);
+      }
+    } finally {
+      graphAdapter.getModel().endUpdate();
+    }
     HashMap<CustomWeightedEdge,com.mxgraph.model.mxICell> edgeToCellMap
         = graphAdapter.getEdgeToCellMap();
     com.mxgraph.model.mxICell[] solutionEdgeCell = new com.mxgraph.model.mxICell[solution.length];
     for (int i = 0; i < solution.length; i++) {
-      solutionEdgeCell[i] = edgeToCellMap.get(graph.getEdge(Integer.toString(solution[i])
-          ,Integer.toString(solution[(i+1)%solution.length])));
+      solutionEdgeCell[i] = edgeToCellMap.get(solutionEdge[i]);
     }
     graphAdapter.setCellStyles("strokeColor","#CA1155",solutionEdgeCell);
     graphAdapter.setCellStyles("fontColor","#CA2266",solutionEdgeCell);
 
     JLabel tourLabel = new JLabel("Lintasan terpendek (kemudian kembali ke titik semula) = "
         +Arrays.toString(solution));
-    JLabel weightLabel = new JLabel("Bobot tur terpendek = "+inputMatrix.shortestTourWeight);
+    JLabel weightLabel = new JLabel(result.isStopped()
+        ? "Dihentikan, bobot tur terbaik sejauh ini = "+result.getTourWeight()
+            +" (batas bawah = "+result.getLowerBound()+")"
+        : "Bobot tur terpendek = "+result.getTourWeight());
     JLabel numberOfSimpulLabel = new JLabel("Banyak simpul yang dibangkitkan = "
-        +inputMatrix.numberOfSimpulToSolve);
+        +result.getNumberOfSimpul());
     JLabel timeLabel = new JLabel("Waktu eksekusi = "
-        +(double)(time1-time0)/1000+" detik");
+        +(double)result.getElapsedMillis()/1000+" detik");
     tourLabel.setAlignmentX(CENTER_ALIGNMENT);
     weightLabel.setAlignmentX(CENTER_ALIGNMENT);
     numberOfSimpulLabel.setAlignmentX(CENTER_ALIGNMENT);
@@ -270,6 +521,71 @@ public class MainFrame extends JFrame implements Runnable{
     pack();
   }
 
+  /*Kelas untuk menunggu penyelesaian TSP tanpa membekukan antarmuka*/
+  private class SolveWorker extends SwingWorker<SolveResult,SolverProgress> {
+
+    private final JLabel progressLabel;
+
+    SolveWorker(JLabel progressLabel) {
+      this.progressLabel = progressLabel;
+    }
+
+    /*Dipanggil dari thread pelapor solver*/
+    void publishProgress(SolverProgress progress) {
+      publish(progress);
+    }
+
+    @Override
+    protected SolveResult doInBackground() throws Exception {
+      return solveHandle.get();
+    }
+
+    @Override
+    protected void process(List<SolverProgress> progressList) {
+      SolverProgress progress = progressList.get(progressList.size()-1);
+      progressLabel.setText("Simpul dibangkitkan = "+progress.getNumberOfGeneratedSimpul()
+          +", simpul hidup = "+progress.getFrontierSize()
+          +", batas bawah = "+progress.getLowerBound()
+          +", bobot terbaik = "+progress.getUpperBound());
+      pack();
+    }
+
+    @Override
+    protected void done() {
+      inputMatrix.setSolverListener(null, 0);
+      solveHandle = null;
+      try {
+        displaySolution(get());
+      } catch (InterruptedException | ExecutionException exception) {
+        progressLabel.setText("Error : "+exception.getCause());
+        pack();
+      }
+    }
+  }
+
+  /*Kelas untuk membaca dan menyusun graf tanpa membekukan antarmuka*/
+  private class GraphLoadWorker extends SwingWorker<Void,Void> {
+
+    @Override
+    protected Void doInBackground() throws Exception {
+      inputMatrix = WeightMatrix.open(INPUT_PATH);
+      buildGraph();
+      return null;
+    }
+
+    @Override
+    protected void done() {
+      try {
+        get();
+        displayRetrievedGraph();
+      } catch (InterruptedException exception) {
+        displayLoadError(exception);
+      } catch (ExecutionException exception) {
+        displayLoadError(exception.getCause());
+      }
+    }
+  }
+
   /*Kelas yang merepresentasikan sisi dengan label berupa bobot*/
   private class CustomWeightedEdge extends DefaultWeightedEdge {
     @Override
@@ -295,6 +611,11 @@ public class MainFrame extends JFrame implements Runnable{
         case BUTTON_SOLVE:
           solveGraph();
           break;
+        case BUTTON_STOP:
+          if (solveHandle != null) {
+            solveHandle.cancel();
+          }
+          break;
         default:
           break;
       }
@@ -0,0 +1,90 @@
+//MappedWeightStorage.java
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+
+/**
+ * Penyimpanan bobot yang dibaca langsung dari file biner yang di-map ke memori.
+ * Bobot tidak pernah disalin ke heap; halaman file dimuat oleh sistem operasi saat pertama diakses.
+ * Karena satu MappedByteBuffer dibatasi 2 GB, file dipetakan dalam beberapa potongan yang
+ * masing-masing berisi sejumlah baris utuh.
+ * @author Arno Alexander
+ */
+class MappedWeightStorage implements WeightStorage {
+
+  /*Banyak vertex*/
+  private final int numberOfVertex;
+  /*Ukuran satu bobot dalam byte, Float.BYTES atau Double.BYTES*/
+  private final int precision;
+  /*Ukuran satu baris dalam byte*/
+  private final int rowSize;
+  /*Banyak baris dalam satu potongan*/
+  private final int rowsPerChunk;
+  /*Potongan file yang di-map*/
+  private final MappedByteBuffer[] chunks;
+
+  /**
+   * Konstruktor. Channel boleh ditutup setelah konstruktor selesai.
+   * @param channel channel file biner
+   * @param dataOffset posisi byte bobot pertama dalam file
+   * @param numberOfVertex banyak vertex
+   * @param precision ukuran satu bobot dalam byte, Float.BYTES atau Double.BYTES
+   * @param byteOrder urutan byte bobot dalam file
+   * @throws IOException jika file gagal di-map
+   */
+  MappedWeightStorage(FileChannel channel, long dataOffset, int numberOfVertex, int precision,
+      ByteOrder byteOrder) throws IOException {
+    if (precision != Float.BYTES && precision != Double.BYTES) {
+      throw new IllegalArgumentException("Presisi bobot tidak dikenal : " + precision);
+    }
+    this.numberOfVertex = numberOfVertex;
+    this.precision = precision;
+    rowSize = numberOfVertex * precision;
+    rowsPerChunk = Math.max(1, Integer.MAX_VALUE / Math.max(rowSize, 1));
+    int numberOfChunk = (numberOfVertex + rowsPerChunk - 1) / rowsPerChunk;
+    chunks = new MappedByteBuffer[numberOfChunk];
+    for (int i = 0; i < numberOfChunk; ++i) {
+      int firstRow = i * rowsPerChunk;
+      int numberOfRow = Math.min(rowsPerChunk, numberOfVertex - firstRow);
+      chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+          dataOffset + (long) firstRow * rowSize, (long) numberOfRow * rowSize);
+      chunks[i].order(byteOrder);
+    }
+  }
+
+  @Override
+  public int getNumberOfVertex() {
+    return numberOfVertex;
+  }
+
+  @Override
+  public double getWeight(int beginNode, int endNode) {
+    MappedByteBuffer chunk = chunks[beginNode / rowsPerChunk];
+    int position = (beginNode % rowsPerChunk) * rowSize + endNode * precision;
+    if (precision == Double.BYTES) {
+      return chunk.getDouble(position);
+    }
+    return chunk.getFloat(position);
+  }
+
+  @Override
+  public WeightStorage copy() {
+    return this; //file di-map hanya untuk dibaca
+  }
+
+  /*Byte file di-hash per potongan tanpa mengurai bobot, termasuk urutan byte-nya*/
+  @Override
+  public void updateContentHash(MessageDigest digest) {
+    WeightMatrix.updateDigest(digest, "mapped-" + precision + "-" + chunks[0].order(),
+        numberOfVertex);
+    for (MappedByteBuffer chunk : chunks) {
+      ByteBuffer view = chunk.duplicate();
+      view.clear();
+      digest.update(view);
+    }
+  }
+}
@@ -0,0 +1,256 @@
+//MatrixLoader.java
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Pembaca matriks bobot dari file teks.
+ * File dibaca per blok melalui FileChannel dan bilangan diurai langsung dari byte tanpa membuat
+ * String untuk setiap token. Setiap baris matriks diserahkan ke RowSink segera setelah selesai diurai,
+ * sehingga matriks dapat disusun ke penyimpanan bobot atau langsung ditulis ke file lain tanpa
+ * pernah disimpan seluruhnya di memori.
+ * Aturan isi sama dengan sebelumnya: bobot tidak positif, bobot diagonal, atau token yang bukan
+ * bilangan menjadi INVALID_WEIGHT. Baris kosong diabaikan.
+ * @author Arno Alexander
+ */
+class MatrixLoader {
+
+  /*Ukuran blok yang dibaca dari file*/
+  private static final int BUFFER_SIZE = 1 << 16;
+  /*Pangkat sepuluh yang dapat direpresentasikan tepat oleh double*/
+  private static final double[] POWER_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /*Lokasi file input*/
+  private final String inputPath;
+  /*Token yang sedang dibaca*/
+  private byte[] token = new byte[64];
+  private int tokenLength;
+  /*Bilangan pada baris pertama, sebelum banyak vertex diketahui*/
+  private double[] firstRow;
+  /*Banyak vertex, 0 jika baris pertama belum selesai dibaca*/
+  private int numberOfVertex;
+  /*Baris matriks yang sedang dibaca*/
+  private double[] rowWeight;
+  /*Penerima baris matriks*/
+  private RowSink sink;
+  /*Posisi pembacaan : nomor baris file, baris matriks, dan kolom matriks*/
+  private int lineNumber;
+  private int row;
+  private int column;
+
+  /**
+   * Konstruktor.
+   * @param inputPath lokasi file teks input
+   */
+  MatrixLoader(String inputPath) {
+    this.inputPath = inputPath;
+  }
+
+  /**
+   * Penerima baris matriks yang sudah diurai.
+   */
+  interface RowSink {
+
+    /**
+     * Dipanggil sekali ketika banyak vertex sudah diketahui dari baris pertama.
+     * @param numberOfVertex banyak vertex
+     * @throws IOException jika penerima gagal menyiapkan tujuan
+     */
+    void begin(int numberOfVertex) throws IOException;
+
+    /**
+     * Dipanggil untuk setiap baris matriks secara berurutan.
+     * @param row nomor baris matriks
+     * @param rowWeight bobot baris tersebut, hanya valid selama pemanggilan
+     * @throws IOException jika penerima gagal menulis baris
+     */
+    void acceptRow(int row, double[] rowWeight) throws IOException;
+  }
+
+  /**
+   * Membaca seluruh file dan menyerahkan setiap baris ke sink.
+   * @param sink penerima baris matriks
+   * @throws IOException jika file tidak ditemukan, gagal dibaca, atau sink gagal menulis
+   * @throws NoSuchElementException jika file kosong atau banyak baris kurang dari banyak kolom
+   * @throws InputMismatchException jika ada baris yang banyak bilangannya berbeda dari baris pertama
+   */
+  void load(RowSink sink) throws IOException {
+    this.sink = sink;
+    firstRow = new double[16];
+    numberOfVertex = 0;
+    lineNumber = 1;
+    row = 0;
+    column = 0;
+    tokenLength = 0;
+    try (FileChannel channel = new FileInputStream(inputPath).getChannel()) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      while (channel.read(buffer) >= 0) {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          byte character = buffer.get();
+          if (character == '\n') {
+            endToken();
+            endLine();
+            lineNumber++;
+          } else if (character == ' ' || character == '\t' || character == '\r' || character == '\f') {
+            endToken();
+          } else {
+            if (tokenLength == token.length) {
+              token = Arrays.copyOf(token, tokenLength * 2);
+            }
+            token[tokenLength++] = character;
+          }
+        }
+        buffer.clear();
+      }
+    }
+    endToken();
+    endLine();
+    if (numberOfVertex == 0) {
+      throw new NoSuchElementException("File input kosong");
+    }
+    if (row < numberOfVertex) {
+      throw new NoSuchElementException("File input hanya berisi " + row
+          + " baris, seharusnya " + numberOfVertex + " baris");
+    }
+  }
+
+  /*Memasukkan token yang baru selesai dibaca ke dalam matriks*/
+  private void endToken() throws IOException {
+    if (tokenLength == 0) {
+      return;
+    }
+    double parsedWeight = parseToken();
+    tokenLength = 0;
+    if (numberOfVertex == 0) { //baris pertama, banyak kolom belum diketahui
+      if (column == firstRow.length) {
+        firstRow = Arrays.copyOf(firstRow, column * 2);
+      }
+      firstRow[column++] = parsedWeight;
+      return;
+    }
+    if (row >= numberOfVertex) {
+      throw new InputMismatchException("Baris " + lineNumber + " berlebih, matriks hanya "
+          + numberOfVertex + " baris");
+    }
+    if (column == numberOfVertex) {
+      throw new InputMismatchException("Baris " + lineNumber + " berisi lebih dari "
+          + numberOfVertex + " bilangan");
+    }
+    rowWeight[column] = toWeight(parsedWeight, row, column);
+    column++;
+  }
+
+  /*Menutup satu baris file*/
+  private void endLine() throws IOException {
+    if (column == 0) { //baris kosong
+      return;
+    }
+    if (numberOfVertex == 0) {
+      numberOfVertex = column;
+      rowWeight = new double[numberOfVertex];
+      for (int j = 0; j < numberOfVertex; ++j) {
+        rowWeight[j] = toWeight(firstRow[j], 0, j);
+      }
+      firstRow = null;
+      sink.begin(numberOfVertex);
+    } else if (column != numberOfVertex) {
+      throw new InputMismatchException("Baris " + lineNumber + " berisi " + column
+          + " bilangan, seharusnya " + numberOfVertex);
+    }
+    sink.acceptRow(row, rowWeight);
+    row++;
+    column = 0;
+  }
+
+  /*Menerapkan aturan bobot : tidak positif atau diagonal menjadi INVALID_WEIGHT*/
+  private static double toWeight(double parsedWeight, int beginNode, int endNode) {
+    if (parsedWeight > 0 && beginNode != endNode) {
+      return parsedWeight;
+    }
+    return WeightMatrix.INVALID_WEIGHT;
+  }
+
+  /**
+   * Mengurai token sebagai bilangan desimal.
+   * Bentuk umum [tanda]digit[.digit][e[tanda]digit] diurai langsung jika hasilnya pasti tepat,
+   * bentuk lain diserahkan ke Double.parseDouble().
+   * @return nilai token, atau INVALID_WEIGHT jika token bukan bilangan
+   */
+  private double parseToken() {
+    int i = 0;
+    boolean isNegative = false;
+    if (token[i] == '-' || token[i] == '+') {
+      isNegative = token[i] == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int numberOfDigit = 0;
+    int exponent = 0;
+    boolean isDigitExist = false;
+    while (i < tokenLength && token[i] >= '0' && token[i] <= '9') {
+      if (mantissa != 0 || token[i] != '0') {
+        mantissa = mantissa * 10 + (token[i] - '0');
+        numberOfDigit++;
+      }
+      isDigitExist = true;
+      i++;
+    }
+    if (i < tokenLength && token[i] == '.') {
+      i++;
+      while (i < tokenLength && token[i] >= '0' && token[i] <= '9') {
+        if (mantissa != 0 || token[i] != '0') {
+          mantissa = mantissa * 10 + (token[i] - '0');
+          numberOfDigit++;
+        }
+        exponent--;
+        isDigitExist = true;
+        i++;
+      }
+    }
+    if (isDigitExist && i < tokenLength && (token[i] == 'e' || token[i] == 'E')) {
+      i++;
+      boolean isExponentNegative = false;
+      if (i < tokenLength && (token[i] == '-' || token[i] == '+')) {
+        isExponentNegative = token[i] == '-';
+        i++;
+      }
+      int explicitExponent = 0;
+      boolean isExponentDigitExist = false;
+      while (i < tokenLength && token[i] >= '0' && token[i] <= '9' && explicitExponent < 10000) {
+        explicitExponent = explicitExponent * 10 + (token[i] - '0');
+        isExponentDigitExist = true;
+        i++;
+      }
+      if (!isExponentDigitExist) {
+        return parseTokenSlowly();
+      }
+      exponent += isExponentNegative ? -explicitExponent : explicitExponent;
+    }
+    if (!isDigitExist || i != tokenLength || numberOfDigit > 15
+        || exponent < -22 || exponent > 22) {
+      return parseTokenSlowly();
+    }
+    double value = exponent < 0 ? mantissa / POWER_OF_TEN[-exponent]
+        : mantissa * POWER_OF_TEN[exponent];
+    return isNegative ? -value : value;
+  }
+
+  /*Mengurai token dengan Double.parseDouble() untuk bentuk yang jarang dipakai*/
+  private double parseTokenSlowly() {
+    try {
+      return Double.parseDouble(new String(token, 0, tokenLength, StandardCharsets.US_ASCII));
+    } catch (NumberFormatException nfe) {
+      return WeightMatrix.INVALID_WEIGHT;
+    }
+  }
+}
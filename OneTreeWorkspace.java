@@ -0,0 +1,493 @@
+//OneTreeWorkspace.java
+
+import java.util.Arrays;
+
+/**
+ * Fungsi pembatas 1-tree dengan penalti Lagrange (batas Held-Karp) untuk graf tak berarah.
+ * Simpul pohon ruang status adalah lintasan dari simpul awal v0 hingga vk, sehingga sisa tur adalah
+ * lintasan Hamilton dari vk melalui seluruh vertex yang belum dikunjungi (U) kembali ke v0.
+ * Relaksasinya adalah minimum spanning tree atas U ditambah satu sisi dari vk dan satu sisi dari v0
+ * ke dua vertex U yang berbeda; pada akar (vk = v0) ini adalah 1-tree biasa. Bobot sisi ditambah
+ * penalti kedua ujungnya, dan penalti dioptimasi dengan metode subgradien agar derajat setiap
+ * vertex U mendekati dua. Penalti terbaik diwariskan ke anak sebagai titik awal sehingga anak cukup
+ * beberapa iterasi.
+ * Nilai batas anak diperkirakan dari reduced cost sisi vk ke anak pada struktur parent tanpa
+ * spanning tree baru, batas penuh baru dihitung ketika anak diekspansi. Pada akar, sisi yang
+ * reduced cost-nya membuat batas tidak lebih kecil dari tur terbaik dieliminasi untuk seluruh
+ * pohon.
+ * Satu objek hanya boleh dipakai oleh satu thread pencarian.
+ * @author Arno Alexander
+ */
+class OneTreeWorkspace {
+
+  /*Banyak iterasi subgradien maksimum pada akar dan pada simpul lain*/
+  private static final int ROOT_ITERATIONS = 300;
+  private static final int SIMPUL_ITERATIONS = 15;
+  /*Banyak iterasi tanpa perbaikan sebelum ukuran langkah dibagi dua*/
+  private static final int ROOT_PATIENCE = 10;
+  private static final int SIMPUL_PATIENCE = 3;
+  /*Faktor ukuran langkah awal pada akar dan pada simpul lain*/
+  private static final double ROOT_STEP = 2;
+  private static final double SIMPUL_STEP = 1;
+  /*Toleransi pembulatan ke atas untuk bobot bilangan bulat*/
+  private static final double EPSILON = 1e-6;
+
+  /*Banyak vertex*/
+  private final int numberOfVertex;
+  /*Bobot sisi i-j pada indeks i*numberOfVertex+j, tak hingga jika tidak ada atau dieliminasi*/
+  private final double[] weight;
+  /*Apakah seluruh bobot bilangan bulat, sehingga nilai batas boleh dibulatkan ke atas*/
+  private final boolean isIntegral;
+  /*Sisi yang sudah dieliminasi dan diterapkan pada weight, null jika belum ada*/
+  private boolean[] appliedEliminated;
+
+  /*Keadaan simpul yang sedang dievaluasi : vertex U, vk, dan bobot lintasan*/
+  private final int[] member;
+  private int numberOfMember;
+  private int lastVertex;
+  private double pathWeight;
+  /*Penalti yang sedang dicoba dan penalti terbaik, diindeks dengan nomor vertex*/
+  private final double[] penalty;
+  private final double[] bestPenalty;
+  /*Minimum spanning tree atas U*/
+  private final double[] key;
+  private final int[] treeParent;
+  private final boolean[] isInTree;
+  /*Derajat setiap vertex U pada struktur terakhir*/
+  private final int[] degree;
+  /*Ujung struktur : dari vk ke endOfLast, dari endOfStart ke v0*/
+  private int endOfLast;
+  private int endOfStart;
+  /*Dua vertex U termurah dari v0, untuk estimasi anak*/
+  private int cheapestOfStart;
+  private int secondOfStart;
+  /*Nilai Lagrange struktur terakhir*/
+  private double value;
+
+  /**
+   * Konstruktor. Menyalin bobot matriks ke array datar.
+   * @param matrix matriks bobot permasalahan, harus simetris
+   * @throws IllegalArgumentException jika matriks n x n melebihi ukuran array maksimum
+   */
+  OneTreeWorkspace(WeightMatrix matrix) {
+    numberOfVertex = matrix.getNumberOfVertex();
+    weight = new double[WeightMatrix.computeDenseSize(numberOfVertex)];
+    boolean integral = true;
+    for (int i = 0; i < numberOfVertex; ++i) {
+      for (int j = 0; j < numberOfVertex; ++j) {
+        double edgeWeight = matrix.getWeight(i, j);
+        weight[i*numberOfVertex + j] = edgeWeight == WeightMatrix.INVALID_WEIGHT
+            ? Double.POSITIVE_INFINITY : edgeWeight;
+        integral &= edgeWeight == Math.rint(edgeWeight);
+      }
+    }
+    isIntegral = integral;
+    member = new int[numberOfVertex];
+    penalty = new double[numberOfVertex];
+    bestPenalty = new double[numberOfVertex];
+    key = new double[numberOfVertex];
+    treeParent = new int[numberOfVertex];
+    isInTree = new boolean[numberOfVertex];
+    degree = new int[numberOfVertex];
+  }
+
+  /**
+   * Membuat simpul akar dengan penalti nol.
+   * @return simpul akar, nilai batasnya dihitung saat diekspansi
+   */
+  SimpulOneTree createRoot() {
+    return new SimpulOneTree(numberOfVertex);
+  }
+
+  /**
+   * Membuat anak dengan penalti terbaik dari evaluate() terakhir.
+   * @param parent simpul yang terakhir dievaluasi
+   * @param nextVertex vertex anak
+   * @param childPathWeight bobot lintasan hingga nextVertex
+   * @param cost nilai batas anak
+   * @return simpul anak
+   */
+  SimpulOneTree createChild(SimpulOneTree parent, int nextVertex, double childPathWeight,
+      double cost) {
+    return new SimpulOneTree(parent, nextVertex, childPathWeight, cost, bestPenalty.clone());
+  }
+
+  /**
+   * Memeriksa apakah sisi masih dapat menjadi bagian dari tur yang lebih baik.
+   * @param beginNode node asal
+   * @param endNode node tujuan
+   * @return false jika sisi tidak ada atau sudah dieliminasi
+   */
+  boolean isUsable(int beginNode, int endNode) {
+    return weight[beginNode*numberOfVertex + endNode] != Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Menghitung batas Held-Karp simpul dengan optimasi subgradien yang dimulai dari penalti warisan.
+   * Setelah dipanggil, estimateChild() dan findTour() memakai struktur dengan penalti terbaik.
+   * Penalti simpul dilepas karena sudah disalin ke anak melalui createChild().
+   * @param simpul simpul yang dievaluasi, minimal dua vertex belum dikunjungi
+   * @param incumbentCost bobot tur terbaik saat ini
+   * @param metrics permintaan berhenti diperiksa setiap iterasi, iterasi dihentikan dengan penalti
+   *     terbaik sejauh ini yang tetap menghasilkan batas bawah yang sah
+   * @return nilai batas, tak hingga jika tidak ada lintasan yang memenuhi
+   */
+  double evaluate(SimpulOneTree simpul, double incumbentCost, SolverMetrics metrics) {
+    prepare(simpul);
+    boolean isRoot = simpul.parent == null;
+    int maximumIteration = isRoot ? ROOT_ITERATIONS : SIMPUL_ITERATIONS;
+    int patience = isRoot ? ROOT_PATIENCE : SIMPUL_PATIENCE;
+    double step = isRoot ? ROOT_STEP : SIMPUL_STEP;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    boolean isBestCurrent = false;
+    int sinceImprovement = 0;
+    for (int iteration = 0; iteration < maximumIteration; ++iteration) {
+      double currentValue = computeStructure();
+      if (currentValue > bestValue) {
+        bestValue = currentValue;
+        copyPenalty(penalty, bestPenalty);
+        isBestCurrent = true;
+        sinceImprovement = 0;
+      } else {
+        isBestCurrent = false;
+        if (++sinceImprovement >= patience) {
+          step /= 2;
+          sinceImprovement = 0;
+        }
+      }
+      if (currentValue == Double.POSITIVE_INFINITY || roundUp(bestValue) >= incumbentCost
+          || metrics.isStopRequested()) {
+        break;
+      }
+      double norm = 0;
+      for (int k = 0; k < numberOfMember; ++k) {
+        int excess = degree[member[k]] - 2;
+        norm += excess * excess;
+      }
+      if (norm == 0) { //struktur sudah berupa lintasan Hamilton, batas tidak dapat naik lagi
+        break;
+      }
+      double target = incumbentCost != Double.POSITIVE_INFINITY ? incumbentCost
+          : currentValue + Math.abs(currentValue) * 0.05 + 1;
+      double stepSize = step * (target - currentValue) / norm;
+      for (int k = 0; k < numberOfMember; ++k) {
+        int vertex = member[k];
+        penalty[vertex] += stepSize * (degree[vertex] - 2);
+      }
+    }
+    copyPenalty(bestPenalty, penalty); //penalti sudah dilangkahkan setelah struktur terakhir
+    if (!isBestCurrent) {
+      computeStructure();
+    }
+    simpul.penalty = null;
+    double bound = roundUp(bestValue);
+    if (isRoot && bound < incumbentCost && incumbentCost != Double.POSITIVE_INFINITY) {
+      simpul.eliminated = eliminateEdges(incumbentCost);
+      apply(simpul.eliminated);
+    }
+    return bound;
+  }
+
+  /**
+   * Memperkirakan nilai batas anak dari struktur evaluate() terakhir : struktur termurah yang
+   * memuat sisi vk ke nextVertex dengan penalti yang sama, tanpa spanning tree baru.
+   * @param nextVertex vertex anak, anggota U
+   * @return batas bawah bobot tur melalui anak
+   */
+  double estimateChild(int nextVertex) {
+    int otherEnd = nextVertex != cheapestOfStart ? cheapestOfStart : secondOfStart;
+    if (otherEnd < 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return roundUp(value - reducedWeight(lastVertex, endOfLast)
+        - reducedWeight(endOfStart, WeightMatrix.START_VERTEX)
+        + reducedWeight(lastVertex, nextVertex)
+        + reducedWeight(otherEnd, WeightMatrix.START_VERTEX));
+  }
+
+  /**
+   * Mengambil sisa tur jika struktur evaluate() terakhir sudah berupa lintasan Hamilton, yaitu
+   * setiap vertex U berderajat dua. Bobot tur tersebut sama dengan nilai batas simpul.
+   * @return urutan vertex U dari ujung vk hingga ujung v0, null jika struktur bukan lintasan
+   */
+  int[] findTour() {
+    for (int k = 0; k < numberOfMember; ++k) {
+      if (degree[member[k]] != 2) {
+        return null;
+      }
+    }
+    int[] firstNeighbor = new int[numberOfVertex];
+    int[] secondNeighbor = new int[numberOfVertex];
+    Arrays.fill(firstNeighbor, -1);
+    Arrays.fill(secondNeighbor, -1);
+    for (int k = 1; k < numberOfMember; ++k) {
+      int vertex = member[k];
+      link(vertex, treeParent[vertex], firstNeighbor, secondNeighbor);
+      link(treeParent[vertex], vertex, firstNeighbor, secondNeighbor);
+    }
+    int[] tour = new int[numberOfMember];
+    int previous = -1;
+    int current = endOfLast;
+    for (int k = 0; k < numberOfMember; ++k) {
+      tour[k] = current;
+      int next = firstNeighbor[current] != previous
+          ? firstNeighbor[current] : secondNeighbor[current];
+      previous = current;
+      current = next;
+    }
+    return tour;
+  }
+
+  /*Menyiapkan U, vk, dan penalti dari simpul*/
+  private void prepare(SimpulOneTree simpul) {
+    if (simpul.eliminated != null && simpul.eliminated != appliedEliminated) {
+      apply(simpul.eliminated);
+    }
+    lastVertex = simpul.vertex;
+    pathWeight = simpul.pathWeight;
+    numberOfMember = 0;
+    for (int i = 0; i < numberOfVertex; ++i) {
+      if (!simpul.isVisited[i]) {
+        member[numberOfMember++] = i;
+      }
+    }
+    copyPenalty(simpul.penalty, penalty);
+    penalty[lastVertex] = 0;
+  }
+
+  /*
+   * Menghitung struktur termurah dengan penalti saat ini : minimum spanning tree atas U (Prim),
+   * sisi termurah dari vk, dan sisi termurah ke v0 dengan ujung berbeda. Mengisi degree dan
+   * mengembalikan nilai Lagrange termasuk bobot lintasan.
+   */
+  private double computeStructure() {
+    double total = pathWeight;
+    for (int k = 0; k < numberOfMember; ++k) {
+      int vertex = member[k];
+      key[vertex] = Double.POSITIVE_INFINITY;
+      isInTree[vertex] = false;
+      degree[vertex] = 0;
+      total -= 2 * penalty[vertex];
+    }
+    int treeRoot = member[0];
+    isInTree[treeRoot] = true;
+    int added = treeRoot;
+    for (int count = 1; count < numberOfMember; ++count) {
+      int next = -1;
+      double nextKey = Double.POSITIVE_INFINITY;
+      for (int k = 1; k < numberOfMember; ++k) {
+        int vertex = member[k];
+        if (!isInTree[vertex]) {
+          double edgeWeight = reducedWeight(added, vertex);
+          if (edgeWeight < key[vertex]) {
+            key[vertex] = edgeWeight;
+            treeParent[vertex] = added;
+          }
+          if (key[vertex] < nextKey) {
+            nextKey = key[vertex];
+            next = vertex;
+          }
+        }
+      }
+      if (next < 0) { //U tidak terhubung
+        value = Double.POSITIVE_INFINITY;
+        return value;
+      }
+      isInTree[next] = true;
+      total += nextKey;
+      degree[next]++;
+      degree[treeParent[next]]++;
+      added = next;
+    }
+    selectEnds();
+    if (endOfLast < 0 || endOfStart < 0) {
+      value = Double.POSITIVE_INFINITY;
+      return value;
+    }
+    degree[endOfLast]++;
+    degree[endOfStart]++;
+    value = total + reducedWeight(lastVertex, endOfLast)
+        + reducedWeight(endOfStart, WeightMatrix.START_VERTEX);
+    return value;
+  }
+
+  /*Memilih ujung dari vk dan ujung ke v0 yang berbeda dengan jumlah bobot terkecil*/
+  private void selectEnds() {
+    int cheapestOfLast = -1;
+    int secondOfLast = -1;
+    cheapestOfStart = -1;
+    secondOfStart = -1;
+    for (int k = 0; k < numberOfMember; ++k) {
+      int vertex = member[k];
+      double fromLast = reducedWeight(lastVertex, vertex);
+      if (fromLast != Double.POSITIVE_INFINITY) {
+        if (cheapestOfLast < 0 || fromLast < reducedWeight(lastVertex, cheapestOfLast)) {
+          secondOfLast = cheapestOfLast;
+          cheapestOfLast = vertex;
+        } else if (secondOfLast < 0 || fromLast < reducedWeight(lastVertex, secondOfLast)) {
+          secondOfLast = vertex;
+        }
+      }
+      double toStart = reducedWeight(vertex, WeightMatrix.START_VERTEX);
+      if (toStart != Double.POSITIVE_INFINITY) {
+        if (cheapestOfStart < 0
+            || toStart < reducedWeight(cheapestOfStart, WeightMatrix.START_VERTEX)) {
+          secondOfStart = cheapestOfStart;
+          cheapestOfStart = vertex;
+        } else if (secondOfStart < 0
+            || toStart < reducedWeight(secondOfStart, WeightMatrix.START_VERTEX)) {
+          secondOfStart = vertex;
+        }
+      }
+    }
+    if (lastVertex == WeightMatrix.START_VERTEX) { //akar : dua sisi termurah dari v0
+      endOfLast = cheapestOfStart;
+      endOfStart = secondOfStart;
+    } else if (cheapestOfLast != cheapestOfStart) {
+      endOfLast = cheapestOfLast;
+      endOfStart = cheapestOfStart;
+    } else if (secondOfLast < 0 || (secondOfStart >= 0
+        && reducedWeight(lastVertex, cheapestOfLast)
+            + reducedWeight(secondOfStart, WeightMatrix.START_VERTEX)
+        <= reducedWeight(lastVertex, secondOfLast)
+            + reducedWeight(cheapestOfStart, WeightMatrix.START_VERTEX))) {
+      endOfLast = cheapestOfLast;
+      endOfStart = secondOfStart;
+    } else {
+      endOfLast = secondOfLast;
+      endOfStart = cheapestOfStart;
+    }
+  }
+
+  /*
+   * Eliminasi sisi pada akar : sisi di luar 1-tree yang jika dipaksa masuk (mengganti sisi terberat
+   * pada lintasan tree di antara kedua ujungnya, atau sisi v0 yang lebih berat) membuat batas tidak
+   * lebih kecil dari incumbentCost, tidak mungkin berada pada tur yang lebih baik.
+   */
+  private boolean[] eliminateEdges(double incumbentCost) {
+    boolean[] eliminated = new boolean[weight.length];
+    int start = WeightMatrix.START_VERTEX;
+    double heavierEnd = Math.max(reducedWeight(start, endOfLast), reducedWeight(start, endOfStart));
+    for (int k = 0; k < numberOfMember; ++k) {
+      int vertex = member[k];
+      if (vertex != endOfLast && vertex != endOfStart
+          && roundUp(value - heavierEnd + reducedWeight(start, vertex)) >= incumbentCost) {
+        eliminated[start*numberOfVertex + vertex] = true;
+        eliminated[vertex*numberOfVertex + start] = true;
+      }
+    }
+    int[] firstChild = new int[numberOfVertex];
+    int[] nextSibling = new int[numberOfVertex];
+    Arrays.fill(firstChild, -1);
+    for (int k = 1; k < numberOfMember; ++k) {
+      int vertex = member[k];
+      nextSibling[vertex] = firstChild[treeParent[vertex]];
+      firstChild[treeParent[vertex]] = vertex;
+    }
+    double[] maximumOnPath = new double[numberOfVertex];
+    int[] stack = new int[numberOfVertex];
+    int[] from = new int[numberOfVertex];
+    for (int k = 0; k < numberOfMember; ++k) {
+      int source = member[k];
+      //penelusuran tree dari source, tetangga suatu vertex adalah anak-anaknya dan parent-nya
+      int stackSize = 0;
+      stack[stackSize++] = source;
+      from[source] = -1;
+      maximumOnPath[source] = Double.NEGATIVE_INFINITY;
+      while (stackSize > 0) {
+        int vertex = stack[--stackSize];
+        for (int child = firstChild[vertex]; child >= 0; child = nextSibling[child]) {
+          if (child != from[vertex]) {
+            visit(vertex, child, maximumOnPath, from, stack, stackSize++);
+          }
+        }
+        if (vertex != member[0] && treeParent[vertex] != from[vertex]) {
+          visit(vertex, treeParent[vertex], maximumOnPath, from, stack, stackSize++);
+        }
+      }
+      for (int l = k + 1; l < numberOfMember; ++l) {
+        int target = member[l];
+        if (treeParent[target] != source && treeParent[source] != target && roundUp(value
+            + reducedWeight(source, target) - maximumOnPath[target]) >= incumbentCost) {
+          eliminated[source*numberOfVertex + target] = true;
+          eliminated[target*numberOfVertex + source] = true;
+        }
+      }
+    }
+    return eliminated;
+  }
+
+  /*Menelusuri sisi tree vertex-next dan mencatat sisi terberat dari source*/
+  private void visit(int vertex, int next, double[] maximumOnPath, int[] from, int[] stack,
+      int position) {
+    double edgeWeight = reducedWeight(vertex, next);
+    maximumOnPath[next] = Math.max(maximumOnPath[vertex], edgeWeight);
+    from[next] = vertex;
+    stack[position] = next;
+  }
+
+  /*Menerapkan sisi yang dieliminasi pada salinan bobot*/
+  private void apply(boolean[] eliminated) {
+    for (int i = 0; i < eliminated.length; ++i) {
+      if (eliminated[i]) {
+        weight[i] = Double.POSITIVE_INFINITY;
+      }
+    }
+    appliedEliminated = eliminated;
+  }
+
+  /*Bobot sisi ditambah penalti ujung yang merupakan anggota U (penalti vk dan v0 selalu nol)*/
+  private double reducedWeight(int beginNode, int endNode) {
+    return weight[beginNode*numberOfVertex + endNode] + penalty[beginNode] + penalty[endNode];
+  }
+
+  /*Menyalin penalti anggota U*/
+  private void copyPenalty(double[] source, double[] target) {
+    for (int k = 0; k < numberOfMember; ++k) {
+      target[member[k]] = source[member[k]];
+    }
+  }
+
+  /*Membulatkan nilai batas ke atas jika seluruh bobot bilangan bulat*/
+  private double roundUp(double bound) {
+    return isIntegral ? Math.ceil(bound - EPSILON) : bound;
+  }
+
+  /*Menambahkan other sebagai tetangga vertex pada lintasan tree*/
+  private static void link(int vertex, int other, int[] firstNeighbor, int[] secondNeighbor) {
+    if (firstNeighbor[vertex] < 0) {
+      firstNeighbor[vertex] = other;
+    } else {
+      secondNeighbor[vertex] = other;
+    }
+  }
+
+  /**
+   * Simpul pohon ruang status untuk fungsi pembatas 1-tree.
+   */
+  static final class SimpulOneTree extends WeightMatrix.Simpul {
+
+    public final boolean[] isVisited; //apakah vertex pada suatu indeks sudah dikunjungi
+    /*Penalti warisan parent, null setelah simpul diekspansi*/
+    double[] penalty;
+    /*Sisi yang dieliminasi pada akar, dibagi bersama seluruh simpul, null jika belum ada*/
+    boolean[] eliminated;
+
+    SimpulOneTree(int numberOfVertex) {
+      super(0);
+      isVisited = new boolean[numberOfVertex];
+      isVisited[vertex] = true;
+      penalty = new double[numberOfVertex];
+    }
+
+    SimpulOneTree(SimpulOneTree parent, int nextVertex, double pathWeight, double cost,
+        double[] penalty) {
+      super(parent, nextVertex, pathWeight, cost);
+      isVisited = parent.isVisited.clone();
+      isVisited[vertex] = true;
+      this.penalty = penalty;
+      this.penalty[vertex] = 0; //vk tidak lagi anggota U
+      eliminated = parent.eliminated;
+    }
+  }
+}
@@ -0,0 +1,221 @@
+//PackedSymmetricWeightStorage.java
+
+import java.security.MessageDigest;
+import java.util.InputMismatchException;
+
+/**
+ * Penyimpanan bobot matriks simetris berupa segitiga bawah yang dipadatkan.
+ * Hanya bobot baris i kolom j dengan j&lt;i yang disimpan, berurutan per baris pada indeks
+ * i*(i-1)/2+j, sehingga matriks n x n cukup memakai n(n-1)/2 bobot. Bobot dapat disimpan sebagai
+ * double atau float; float memakai seperempat memori matriks penuh dengan presisi lebih rendah.
+ * Bobot diagonal selalu INVALID_WEIGHT.
+ * @author Arno Alexander
+ */
+class PackedSymmetricWeightStorage implements WeightStorage {
+
+  /*Banyak vertex maksimum agar segitiga bawah muat dalam satu array*/
+  static final int MAXIMUM_NUMBER_OF_VERTEX = 65535;
+
+  /*Banyak vertex*/
+  private final int numberOfVertex;
+  /*Indeks bobot pertama setiap baris, yaitu i*(i-1)/2*/
+  private final int[] rowOffset;
+  /*Segitiga bawah, tepat salah satu tidak null*/
+  private final double[] doubleWeight;
+  private final float[] floatWeight;
+
+  /**
+   * Konstruktor matriks berisi 0.
+   * @param numberOfVertex banyak vertex
+   * @param isSinglePrecision true untuk menyimpan bobot sebagai float, false sebagai double
+   * @throws IllegalArgumentException jika banyak vertex melebihi MAXIMUM_NUMBER_OF_VERTEX
+   */
+  PackedSymmetricWeightStorage(int numberOfVertex, boolean isSinglePrecision) {
+    if (numberOfVertex > MAXIMUM_NUMBER_OF_VERTEX) {
+      throw new IllegalArgumentException("Matriks simetris padat maksimal "
+          + MAXIMUM_NUMBER_OF_VERTEX + " vertex : " + numberOfVertex);
+    }
+    this.numberOfVertex = numberOfVertex;
+    rowOffset = new int[numberOfVertex];
+    for (int i = 1; i < numberOfVertex; ++i) {
+      rowOffset[i] = rowOffset[i-1] + (i-1);
+    }
+    int size = numberOfVertex == 0 ? 0 : rowOffset[numberOfVertex-1] + numberOfVertex - 1;
+    doubleWeight = isSinglePrecision ? null : new double[size];
+    floatWeight = isSinglePrecision ? new float[size] : null;
+  }
+
+  /*Copy constructor*/
+  private PackedSymmetricWeightStorage(PackedSymmetricWeightStorage storage) {
+    numberOfVertex = storage.numberOfVertex;
+    rowOffset = storage.rowOffset;
+    doubleWeight = storage.doubleWeight == null ? null : storage.doubleWeight.clone();
+    floatWeight = storage.floatWeight == null ? null : storage.floatWeight.clone();
+  }
+
+  @Override
+  public int getNumberOfVertex() {
+    return numberOfVertex;
+  }
+
+  @Override
+  public double getWeight(int beginNode, int endNode) {
+    if (beginNode == endNode) {
+      return WeightMatrix.INVALID_WEIGHT;
+    }
+    int index = beginNode > endNode ? rowOffset[beginNode] + endNode
+        : rowOffset[endNode] + beginNode;
+    return doubleWeight != null ? doubleWeight[index] : floatWeight[index];
+  }
+
+  @Override
+  public WeightStorage copy() {
+    return new PackedSymmetricWeightStorage(this);
+  }
+
+  @Override
+  public void updateContentHash(MessageDigest digest) {
+    if (doubleWeight != null) {
+      WeightMatrix.updateDigest(digest, "packed-double", numberOfVertex);
+      WeightMatrix.updateDigest(digest, doubleWeight);
+    } else {
+      WeightMatrix.updateDigest(digest, "packed-float", numberOfVertex);
+      WeightMatrix.updateDigest(digest, floatWeight);
+    }
+  }
+
+  /**
+   * Getter presisi.
+   * @return true jika bobot disimpan sebagai float
+   */
+  boolean isSinglePrecision() {
+    return floatWeight != null;
+  }
+
+  /**
+   * Setter bobot untuk WeightMatrix.updateWeights(). Karena hanya segitiga bawah yang disimpan,
+   * bobot kedua arah sisi ikut berubah.
+   * @param beginNode node asal
+   * @param endNode node tujuan, berbeda dengan beginNode
+   * @param edgeWeight bobot baru kedua arah, INVALID_WEIGHT jika tidak ada sisi
+   */
+  void setWeight(int beginNode, int endNode, double edgeWeight) {
+    int index = beginNode > endNode ? indexOf(beginNode, endNode) : indexOf(endNode, beginNode);
+    set(index, edgeWeight);
+  }
+
+  /*Indeks bobot baris i kolom j dengan j<i*/
+  private int indexOf(int i, int j) {
+    return rowOffset[i] + j;
+  }
+
+  /*Mengisi bobot pada indeks tertentu sesuai presisi*/
+  private void set(int index, double weight) {
+    if (doubleWeight != null) {
+      doubleWeight[index] = weight;
+    } else {
+      floatWeight[index] = (float) weight;
+    }
+  }
+
+  /*Apakah bobot pada indeks tertentu sama dengan weight setelah dibulatkan ke presisi penyimpanan*/
+  private boolean isEqual(int index, double weight) {
+    return doubleWeight != null ? doubleWeight[index] == weight
+        : floatWeight[index] == (float) weight;
+  }
+
+  /**
+   * Penerima baris matriks yang menyusun segitiga bawah sambil memeriksa kesimetrisan, sehingga
+   * matriks simetris tidak pernah berada di memori dalam bentuk penuh.
+   * Bobot segitiga atas baris i ditulis lebih dulu ke posisi pasangannya, lalu dibandingkan dengan
+   * bobot segitiga bawah ketika baris pasangannya dibaca. Jika kesimetrisan tidak diwajibkan dan
+   * ditemukan bobot yang berbeda, baris yang sudah dibaca disusun ulang dari segitiga tersebut ke
+   * DenseWeightStorage dan sisa baris disalin langsung ke sana. Matriks tidak simetris yang n*n
+   * bobotnya melebihi ukuran array maksimum ditolak dengan IllegalArgumentException.
+   */
+  static class Loader implements MatrixLoader.RowSink {
+
+    private final boolean isSinglePrecision;
+    private final boolean isSymmetryRequired;
+    private int numberOfVertex;
+    /*Tepat salah satu tidak null setelah begin()*/
+    private PackedSymmetricWeightStorage packed;
+    private double[] dense;
+
+    /**
+     * Konstruktor.
+     * @param isSinglePrecision true untuk menyimpan bobot sebagai float
+     * @param isSymmetryRequired true untuk melempar InputMismatchException jika matriks tidak
+     *     simetris, false untuk beralih ke DenseWeightStorage
+     */
+    Loader(boolean isSinglePrecision, boolean isSymmetryRequired) {
+      this.isSinglePrecision = isSinglePrecision;
+      this.isSymmetryRequired = isSymmetryRequired;
+    }
+
+    @Override
+    public void begin(int numberOfVertex) {
+      this.numberOfVertex = numberOfVertex;
+      if (numberOfVertex > MAXIMUM_NUMBER_OF_VERTEX && !isSymmetryRequired) {
+        dense = createDense();
+      } else {
+        packed = new PackedSymmetricWeightStorage(numberOfVertex, isSinglePrecision);
+      }
+    }
+
+    @Override
+    public void acceptRow(int row, double[] rowWeight) {
+      if (packed != null) {
+        for (int j = 0; j < row; ++j) { //pasangan sudah ditulis oleh baris j
+          if (!packed.isEqual(packed.indexOf(row, j), rowWeight[j])) {
+            if (isSymmetryRequired) {
+              throw new InputMismatchException("Matriks tidak simetris : bobot baris " + row
+                  + " kolom " + j + " berbeda dengan baris " + j + " kolom " + row);
+            }
+            switchToDense(row);
+            break;
+          }
+        }
+      }
+      if (packed != null) {
+        for (int j = row + 1; j < numberOfVertex; ++j) {
+          packed.set(packed.indexOf(j, row), rowWeight[j]);
+        }
+      } else {
+        System.arraycopy(rowWeight, 0, dense, row * numberOfVertex, numberOfVertex);
+      }
+    }
+
+    /**
+     * Getter hasil.
+     * @return PackedSymmetricWeightStorage jika matriks simetris, DenseWeightStorage jika tidak
+     */
+    WeightStorage getStorage() {
+      return packed != null ? packed : new DenseWeightStorage(numberOfVertex, dense);
+    }
+
+    /**
+     * Getter kesimetrisan.
+     * @return true jika seluruh baris yang diterima membentuk matriks simetris
+     */
+    boolean isSymmetric() {
+      return packed != null;
+    }
+
+    /*Matriks penuh kosong, ditolak jika n*n melebihi ukuran array maksimum*/
+    private double[] createDense() {
+      return new double[WeightMatrix.computeDenseSize(numberOfVertex)];
+    }
+
+    /*Menyusun ulang baris 0 hingga row-1 yang sudah simetris ke matriks penuh*/
+    private void switchToDense(int row) {
+      dense = createDense();
+      for (int i = 0; i < row; ++i) {
+        for (int j = 0; j < numberOfVertex; ++j) {
+          dense[i*numberOfVertex + j] = packed.getWeight(i, j);
+        }
+      }
+      packed = null;
+    }
+  }
+}
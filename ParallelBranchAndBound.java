@@ -0,0 +1,351 @@
+//ParallelBranchAndBound.java
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Branch and bound best-first paralel di atas fork-join pool.
+ * Setiap worker memiliki priority queue sendiri dan mencuri simpul terbaik dari worker lain
+ * ketika antriannya kosong. Bobot tur terbaik (incumbent) dibagi bersama melalui variabel atomik
+ * sehingga pemangkasan di satu worker langsung berlaku di worker lain. Jika satu worker gagal,
+ * seluruh worker dihentikan dan exception-nya dilempar ulang oleh solve().
+ * @author Arno Alexander
+ */
+class ParallelBranchAndBound {
+
+  /*Banyak percobaan Thread.yield() worker yang menganggur sebelum mulai parkir*/
+  private static final int IDLE_SPIN = 64;
+  /*Lama parkir worker yang menganggur dalam nanodetik, dimulai dari minimum lalu digandakan*/
+  private static final long MINIMUM_IDLE_NANOS = 1000;
+  private static final long MAXIMUM_IDLE_NANOS = 1000000;
+
+  /*Matriks permasalahan*/
+  private final WeightMatrix matrix;
+  /*Fungsi pembatas yang digunakan*/
+  private final int bound;
+  /*Worker pencarian*/
+  private final Worker[] workers;
+  /*Banyak simpul yang berada di antrian atau sedang diekspansi*/
+  private final AtomicInteger numberOfPendingSimpul = new AtomicInteger();
+  /*Bit dari bobot incumbent, bobot tak negatif dapat dibandingkan langsung sebagai long*/
+  private final AtomicLong incumbentCostBits
+      = new AtomicLong(Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+  /*Tur terbaik, hanya diubah di dalam blok synchronized pada objek ini*/
+  private int[] incumbentTour;
+  /*Penghitung kemajuan*/
+  private final SolverMetrics metrics;
+  /*Exception pertama dari worker, null jika tidak ada worker yang gagal*/
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+  /**
+   * Konstruktor.
+   * @param matrix matriks permasalahan
+   * @param bound fungsi pembatas, BOUND_REDUCED_COST_MATRIX atau BOUND_BOBOT_TUR_LENGKAP
+   * @param numberOfThread banyaknya thread pencarian
+   * @param metrics penghitung kemajuan
+   */
+  ParallelBranchAndBound(WeightMatrix matrix, int bound, int numberOfThread,
+      SolverMetrics metrics) {
+    if (numberOfThread < 1) {
+      throw new IllegalArgumentException("Banyak thread minimal 1 : " + numberOfThread);
+    }
+    this.matrix = matrix;
+    this.bound = bound;
+    this.metrics = metrics;
+    workers = new Worker[numberOfThread];
+    for (int i = 0; i < numberOfThread; ++i) {
+      workers[i] = new Worker(i);
+    }
+  }
+
+  /**
+   * Mengatur tur awal sebagai batas atas sebelum solve().
+   * @param tour tur awal, diabaikan jika null atau memuat sisi yang tidak ada
+   */
+  void setInitialTour(int[] tour) {
+    double tourWeight = matrix.computeTourWeight(tour);
+    if (tourWeight < Double.POSITIVE_INFINITY) {
+      offerTour(tour, tourWeight);
+    }
+  }
+
+  /**
+   * Menjalankan pencarian hingga seluruh simpul habis atau terpangkas, atau hingga metrics meminta
+   * berhenti. Simpul yang belum diekspansi tetap berada di antrian worker untuk getLowerBound().
+   * @return tur terbaik, null jika tidak ada tur
+   * @throws RuntimeException atau Error yang dilempar salah satu worker, setelah seluruh worker
+   *     berhenti
+   */
+  int[] solve() {
+    WeightMatrix.Simpul root = matrix.createExpander(bound).createRoot();
+    workers[0].queue.add(root);
+    workers[0].numberOfSimpul++;
+    workers[0].generatedCounter.increment();
+    numberOfPendingSimpul.set(1);
+    metrics.setLowerBoundProbe(() -> Math.min(computeLowerBound(0), getIncumbentCost()));
+    ForkJoinPool pool = new ForkJoinPool(workers.length);
+    try {
+      ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[workers.length];
+      for (int i = 0; i < workers.length; ++i) {
+        tasks[i] = pool.submit(workers[i]);
+      }
+      for (ForkJoinTask<?> task : tasks) {
+        task.join();
+      }
+    } finally {
+      pool.shutdown();
+    }
+    Throwable workerFailure = failure.get();
+    if (workerFailure instanceof RuntimeException) {
+      throw (RuntimeException) workerFailure;
+    } else if (workerFailure instanceof Error) {
+      throw (Error) workerFailure;
+    } else if (workerFailure != null) {
+      throw new IllegalStateException(workerFailure);
+    }
+    return incumbentTour;
+  }
+
+  /**
+   * Getter banyaknya simpul yang dibangkitkan oleh seluruh worker.
+   * @return banyaknya simpul
+   */
+  int getNumberOfSimpul() {
+    long numberOfSimpul = 0;
+    for (Worker worker : workers) {
+      numberOfSimpul += worker.numberOfSimpul;
+    }
+    return (int) Math.min(numberOfSimpul, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Menghitung batas bawah bobot tur optimal setelah solve() selesai.
+   * @return bobot tur terbaik jika pencarian selesai, nilai batas terkecil dari simpul yang belum
+   *     diekspansi jika pencarian dihentikan
+   */
+  double getLowerBound() {
+    return Math.min(computeLowerBound(0), getIncumbentCost());
+  }
+
+  /**
+   * Getter bobot tur terbaik.
+   * @return bobot tur terbaik, tak hingga jika tidak ada tur
+   */
+  double getTourWeight() {
+    return getIncumbentCost();
+  }
+
+  /*Bobot tur terbaik yang sudah ditemukan oleh worker mana pun*/
+  private double getIncumbentCost() {
+    return Double.longBitsToDouble(incumbentCostBits.get());
+  }
+
+  /*Memperbarui incumbent jika tur baru lebih ringan, mengembalikan true jika incumbent berubah*/
+  private synchronized boolean offerTour(int[] tour, double tourWeight) {
+    if (tourWeight < getIncumbentCost()) {
+      incumbentTour = tour.clone();
+      incumbentCostBits.set(Double.doubleToLongBits(tourWeight));
+      metrics.setUpperBound(tourWeight);
+      return true;
+    }
+    return false;
+  }
+
+  /*
+   * Nilai batas terkecil dari simpul hidup worker index dan seterusnya. Antrian seluruh worker
+   * dikunci berurutan dan dipegang hingga selesai. Pencuri memegang kunci antriannya sendiri dan
+   * kunci antrian korban selama memindahkan simpul, sehingga simpul yang dicuri selalu terlihat
+   * di antrian korban atau di currentCost pencuri. Tidak dapat deadlock karena pencuri juga
+   * mengunci dengan urutan indeks worker.
+   */
+  private double computeLowerBound(int index) {
+    Worker worker = workers[index];
+    synchronized (worker.queue) {
+      double lowerBound = worker.currentCost;
+      WeightMatrix.Simpul head = worker.queue.peek();
+      if (head != null) {
+        lowerBound = Math.min(lowerBound, head.cost);
+      }
+      if (index + 1 < workers.length) {
+        lowerBound = Math.min(lowerBound, computeLowerBound(index + 1));
+      }
+      return lowerBound;
+    }
+  }
+
+  /**
+   * Worker pencarian dengan antrian prioritas dan pembangkit simpul sendiri.
+   */
+  private class Worker implements Runnable, WeightMatrix.SimpulSink {
+
+    private final int index;
+    private final SimpulFrontier queue = new SimpulFrontier();
+    private final int[] path = new int[matrix.getNumberOfVertex()];
+    private long numberOfSimpul = 0;
+    /*
+     * Nilai batas simpul yang sedang diekspansi, tak hingga jika tidak ada. Diisi di dalam kunci
+     * antrian sendiri agar computeLowerBound() tidak melewatkan simpul yang baru diambil.
+     */
+    private volatile double currentCost = Double.POSITIVE_INFINITY;
+    private final SolverMetrics.LocalCounter generatedCounter = metrics.createGeneratedCounter();
+    private final SolverMetrics.LocalCounter expandedCounter = metrics.createExpandedCounter();
+    private final SolverMetrics.LocalCounter prunedCounter = metrics.createPrunedCounter();
+
+    Worker(int index) {
+      this.index = index;
+    }
+
+    /*
+     * Simpul yang sedang diekspansi worker yang gagal tidak pernah dikurangi dari
+     * numberOfPendingSimpul, sehingga worker lain hanya dapat berhenti melalui requestStop().
+     */
+    @Override
+    public void run() {
+      try {
+        search();
+      } catch (Throwable throwable) { //termasuk OutOfMemoryError
+        failure.compareAndSet(null, throwable);
+        metrics.requestStop();
+      } finally {
+        generatedCounter.flush();
+        expandedCounter.flush();
+        prunedCounter.flush();
+      }
+    }
+
+    /*Mengekspansi simpul hingga seluruh antrian habis atau metrics meminta berhenti*/
+    private void search() {
+      WeightMatrix.SimpulExpander expander = matrix.createExpander(bound);
+      int idleCount = 0;
+      while (true) {
+        if (metrics.isStopRequested()) {
+          break;
+        }
+        WeightMatrix.Simpul head = poll();
+        if (head == null) {
+          head = steal();
+        }
+        if (head == null) {
+          if (numberOfPendingSimpul.get() == 0) {
+            break;
+          }
+          idle(idleCount++);
+          continue;
+        }
+        idleCount = 0;
+        if (head.cost < getIncumbentCost()) {
+          if (expandedCounter.increment()) {
+            metrics.setFrontierSize(numberOfPendingSimpul.get());
+          }
+          expander.expand(head, this);
+        } else {
+          prunedCounter.increment();
+        }
+        currentCost = Double.POSITIVE_INFINITY;
+        numberOfPendingSimpul.decrementAndGet();
+      }
+    }
+
+    /*Menunggu simpul dari worker lain, mula-mula dengan yield lalu parkir yang makin lama*/
+    private void idle(int idleCount) {
+      if (idleCount < IDLE_SPIN) {
+        Thread.yield();
+      } else {
+        int shift = Math.min(idleCount - IDLE_SPIN, 10);
+        LockSupport.parkNanos(Math.min(MINIMUM_IDLE_NANOS << shift, MAXIMUM_IDLE_NANOS));
+      }
+    }
+
+    /*Mengambil simpul terbaik dari antrian sendiri, membuang antrian jika sudah terpangkas semua*/
+    private WeightMatrix.Simpul poll() {
+      synchronized (queue) {
+        WeightMatrix.Simpul head = queue.peek();
+        if (head != null && head.cost >= getIncumbentCost()) {
+          prunedCounter.add(queue.size());
+          numberOfPendingSimpul.addAndGet(-queue.size());
+          queue.clear();
+          return null;
+        }
+        if (head != null) {
+          currentCost = head.cost;
+        }
+        return queue.poll();
+      }
+    }
+
+    /*
+     * Mengambil simpul terbaik dari worker lain, dimulai dari worker acak. Antrian sendiri dan
+     * antrian korban dikunci dengan urutan indeks yang sama dengan computeLowerBound().
+     */
+    private WeightMatrix.Simpul steal() {
+      int start = ThreadLocalRandom.current().nextInt(workers.length);
+      for (int i = 0; i < workers.length; ++i) {
+        Worker victim = workers[(start + i) % workers.length];
+        if (victim != this) {
+          Worker first = index < victim.index ? this : victim;
+          Worker second = first == this ? victim : this;
+          synchronized (first.queue) {
+            synchronized (second.queue) {
+              WeightMatrix.Simpul head = victim.queue.poll();
+              if (head != null) {
+                currentCost = head.cost;
+                return head;
+              }
+            }
+          }
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public double getIncumbentCost() {
+      return ParallelBranchAndBound.this.getIncumbentCost();
+    }
+
+    @Override
+    public void addSimpul(WeightMatrix.Simpul simpul) {
+      numberOfSimpul++;
+      generatedCounter.increment();
+      if (simpul.cost < getIncumbentCost()) {
+        numberOfPendingSimpul.incrementAndGet();
+        synchronized (queue) {
+          queue.add(simpul);
+        }
+      } else {
+        prunedCounter.increment();
+      }
+    }
+
+    @Override
+    public void addTour(WeightMatrix.Simpul head, int lastVertex, double tourWeight) {
+      numberOfSimpul++;
+      generatedCounter.increment();
+      if (tourWeight < getIncumbentCost()) {
+        head.fillPath(path);
+        path[path.length-1] = lastVertex;
+        if (offerTour(path, tourWeight)) {
+          pruneQueues();
+        }
+      }
+    }
+
+    /*Membuang simpul yang sudah terpangkas dari antrian seluruh worker setelah incumbent membaik*/
+    private void pruneQueues() {
+      double incumbentCost = getIncumbentCost();
+      for (Worker worker : workers) {
+        int numberOfRemoved;
+        synchronized (worker.queue) {
+          numberOfRemoved = worker.queue.pruneAtLeast(incumbentCost);
+        }
+        prunedCounter.add(numberOfRemoved);
+        numberOfPendingSimpul.addAndGet(-numberOfRemoved);
+      }
+    }
+  }
+}
@@ -0,0 +1,442 @@
+//ReducedCostWorkspace.java
+
+import java.util.Arrays;
+
+/**
+ * Matriks kerja untuk Reduced Cost Matrix.
+ * Matriks disimpan dalam satu array datar dan setiap percabangan (invalidasi baris/kolom dan
+ * reduksi) diterapkan langsung pada array tersebut. Setiap sel yang berubah dicatat pada undo log
+ * sehingga matriks dapat dikembalikan ketika backtrack, tanpa menyalin matriks untuk setiap simpul.
+ * Sel yang bukan sisi graf diisi penanda tak hingga, bukan INVALID_WEIGHT, sehingga minimum baris
+ * dan kolom tidak perlu memeriksa sel tidak valid : sel tersebut tidak pernah menjadi minimum.
+ * Pada graf padat, minimum dan pengurangan dihitung atas seluruh baris yang bersebelahan di memori
+ * (kolom dihitung sekaligus per baris) tanpa percabangan, sehingga dapat divektorisasi oleh
+ * compiler JIT. Pada graf jarang, invalidasi dan reduksi hanya mengiterasi sisi dari SparseGraph.
+ * Jika seluruh bobot bilangan bulat yang cukup kecil, matriks disimpan sebagai int : satu vektor
+ * memuat dua kali lebih banyak sel, perbandingan tidak melibatkan pembulatan, dan pengurangan cukup
+ * dibatalkan dengan menambahkan kembali nilai reduksi sehingga tidak perlu dicatat per sel.
+ * Satu objek hanya boleh dipakai oleh satu thread pencarian.
+ * @author Arno Alexander
+ */
+class ReducedCostWorkspace {
+
+  /*Kapasitas awal undo log*/
+  private static final int INITIAL_LOG_CAPACITY = 1024;
+  /*Penanda sel tidak valid pada matriks double*/
+  private static final double INFINITY = Double.POSITIVE_INFINITY;
+  /*Penanda sel tidak valid pada matriks int*/
+  private static final int INTEGER_INFINITY = Integer.MAX_VALUE;
+  /*
+   * Sel matriks int yang tidak lebih kecil dari batas ini tidak valid. Total reduksi yang mengenai
+   * satu sel paling banyak dua kali bobot terbesar (reduksi baris dan kolomnya), sehingga dengan
+   * bobot paling besar MAXIMUM_INTEGER_WEIGHT penanda tak hingga tetap di atas batas.
+   */
+  private static final int INTEGER_INVALID_LIMIT = 1 << 30;
+  private static final int MAXIMUM_INTEGER_WEIGHT = 1 << 28;
+
+  /*Banyak vertex, sama dengan banyak baris dan kolom matriks*/
+  private final int numberOfVertex;
+  /*Matriks kerja (tepat satu tidak null), sel baris i kolom j pada indeks i*numberOfVertex+j*/
+  private final double[] matrix;
+  private final int[] intMatrix;
+  /*Apakah graf cukup padat sehingga baris dan kolom diiterasi seluruhnya, bukan per sisi*/
+  private final boolean isDense;
+  /*Daftar ketetanggaan matriks bobot*/
+  private final SparseGraph graph;
+  /*Minimum setiap kolom pada graf padat*/
+  private final double[] columnMinimum;
+  private final int[] intColumnMinimum;
+  /*Nilai batas simpul akar (hasil reduksi matriks awal)*/
+  private final double rootCost;
+  /*Undo log berisi indeks sel dan nilai sel sebelum diubah, nilai int disimpan apa adanya*/
+  private int[] logIndex;
+  private double[] logValue;
+  private int logSize;
+  /*Log reduksi matriks int : baris i dicatat sebagai i, kolom j sebagai numberOfVertex+j*/
+  private int[] reductionIndex;
+  private int[] reductionValue;
+  private int reductionSize;
+  /*Posisi undo log dan log reduksi sebelum percabangan pada setiap kedalaman*/
+  private final int[] frameStart;
+  private final int[] reductionFrameStart;
+  /*Vertex yang ditempati pada setiap kedalaman, pathVertex[0] adalah simpul awal*/
+  private final int[] pathVertex;
+  /*Banyaknya percabangan yang sedang diterapkan pada matriks*/
+  private int depth;
+
+  /**
+   * Konstruktor. Menyalin matriks bobot lalu mereduksinya sebagai simpul akar.
+   * @param weightMatrix matriks bobot permasalahan
+   * @throws IllegalArgumentException jika matriks kerja n x n melebihi ukuran array maksimum
+   */
+  ReducedCostWorkspace(WeightMatrix weightMatrix) {
+    numberOfVertex = weightMatrix.getNumberOfVertex();
+    int size = WeightMatrix.computeDenseSize(numberOfVertex);
+    graph = weightMatrix.getSparseGraph();
+    isDense = graph.getNumberOfEdge() >= size / 2;
+    if (isIntegerWeight(graph)) {
+      matrix = null;
+      intMatrix = new int[size];
+      Arrays.fill(intMatrix, INTEGER_INFINITY);
+      for (int i = 0; i < numberOfVertex; ++i) {
+        for (int e = graph.getOutBegin(i); e < graph.getOutEnd(i); ++e) {
+          intMatrix[i*numberOfVertex + graph.getTarget(e)] = (int) graph.getWeight(e);
+        }
+      }
+    } else {
+      intMatrix = null;
+      matrix = new double[size];
+      Arrays.fill(matrix, INFINITY);
+      for (int i = 0; i < numberOfVertex; ++i) {
+        for (int e = graph.getOutBegin(i); e < graph.getOutEnd(i); ++e) {
+          matrix[i*numberOfVertex + graph.getTarget(e)] = graph.getWeight(e);
+        }
+      }
+    }
+    columnMinimum = isDense && matrix != null ? new double[numberOfVertex] : null;
+    intColumnMinimum = isDense && intMatrix != null ? new int[numberOfVertex] : null;
+    logIndex = new int[INITIAL_LOG_CAPACITY];
+    logValue = new double[INITIAL_LOG_CAPACITY];
+    logSize = 0;
+    reductionIndex = new int[intMatrix != null ? INITIAL_LOG_CAPACITY : 0];
+    reductionValue = new int[reductionIndex.length];
+    reductionSize = 0;
+    frameStart = new int[numberOfVertex + 1];
+    reductionFrameStart = new int[numberOfVertex + 1];
+    pathVertex = new int[numberOfVertex + 1];
+    pathVertex[0] = WeightMatrix.START_VERTEX;
+    depth = 0;
+    rootCost = intMatrix != null ? reduceIntegerCost(0) : reduceCost(0);
+    logSize = 0; //reduksi akar tidak pernah di-undo
+    reductionSize = 0;
+  }
+
+  /*Apakah seluruh bobot bilangan bulat yang muat pada matriks int*/
+  private static boolean isIntegerWeight(SparseGraph graph) {
+    for (int e = 0; e < graph.getNumberOfEdge(); ++e) {
+      double edgeWeight = graph.getWeight(e);
+      if (edgeWeight != Math.rint(edgeWeight) || edgeWeight < 0
+          || edgeWeight > MAXIMUM_INTEGER_WEIGHT) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Getter rootCost.
+   * @return nilai batas simpul akar
+   */
+  double getRootCost() {
+    return rootCost;
+  }
+
+  /**
+   * Getter bobot tereduksi pada keadaan matriks saat ini.
+   * @param beginNode node asal
+   * @param endNode node tujuan
+   * @return bobot tereduksi dari node asal ke node tujuan, INVALID_WEIGHT jika tidak valid
+   */
+  double getWeight(int beginNode, int endNode) {
+    int index = beginNode*numberOfVertex + endNode;
+    if (intMatrix != null) {
+      return intMatrix[index] < INTEGER_INVALID_LIMIT ? intMatrix[index]
+          : WeightMatrix.INVALID_WEIGHT;
+    }
+    return matrix[index] != INFINITY ? matrix[index] : WeightMatrix.INVALID_WEIGHT;
+  }
+
+  /**
+   * Mengubah matriks kerja agar sesuai dengan simpul yang lintasannya diberikan.
+   * Hanya percabangan yang berbeda dari keadaan saat ini yang di-undo dan diterapkan ulang.
+   * @param path urutan vertex dari simpul awal, path[0] adalah simpul awal
+   * @param length panjang lintasan (level simpul)
+   */
+  void moveTo(int[] path, int length) {
+    int commonLength = 1;
+    while (commonLength <= depth && commonLength < length
+        && pathVertex[commonLength] == path[commonLength]) {
+      commonLength++;
+    }
+    while (depth >= commonLength) {
+      pop();
+    }
+    for (int i = depth + 1; i < length; ++i) {
+      push(path[i], 0);
+    }
+  }
+
+  /**
+   * Menerapkan percabangan dari vertex terakhir ke nextVertex pada matriks kerja.
+   * @param nextVertex vertex tujuan
+   * @param parentCost nilai batas simpul parent
+   * @return nilai batas simpul hasil percabangan
+   */
+  double push(int nextVertex, double parentCost) {
+    int vertex = pathVertex[depth];
+    frameStart[depth] = logSize;
+    reductionFrameStart[depth] = reductionSize;
+    double cost = parentCost + getWeight(vertex, nextVertex);
+    for (int e = graph.getOutBegin(vertex); e < graph.getOutEnd(vertex); ++e) {
+      invalidate(vertex*numberOfVertex + graph.getTarget(e));
+    }
+    for (int e = graph.getInBegin(nextVertex); e < graph.getInEnd(nextVertex); ++e) {
+      invalidate(graph.getSource(e)*numberOfVertex + nextVertex);
+    }
+    invalidate(nextVertex*numberOfVertex + WeightMatrix.START_VERTEX);
+    depth++;
+    pathVertex[depth] = nextVertex;
+    return intMatrix != null ? reduceIntegerCost(cost) : reduceCost(cost);
+  }
+
+  /**
+   * Membatalkan percabangan terakhir yang diterapkan pada matriks kerja.
+   */
+  void pop() {
+    depth--;
+    while (reductionSize > reductionFrameStart[depth]) { //reduksi diterapkan setelah invalidasi
+      reductionSize--;
+      int index = reductionIndex[reductionSize];
+      if (index < numberOfVertex) {
+        addToRow(index, reductionValue[reductionSize]);
+      } else {
+        addToColumn(index - numberOfVertex, reductionValue[reductionSize]);
+      }
+    }
+    while (logSize > frameStart[depth]) {
+      logSize--;
+      if (intMatrix != null) {
+        intMatrix[logIndex[logSize]] = (int) logValue[logSize];
+      } else {
+        matrix[logIndex[logSize]] = logValue[logSize];
+      }
+    }
+  }
+
+  /*Mengubah sel menjadi tidak valid dan mencatatnya pada undo log*/
+  private void invalidate(int index) {
+    if (intMatrix != null) {
+      if (intMatrix[index] < INTEGER_INVALID_LIMIT) {
+        record(index, intMatrix[index]);
+        intMatrix[index] = INTEGER_INFINITY;
+      }
+    } else if (matrix[index] != INFINITY) {
+      record(index, matrix[index]);
+      matrix[index] = INFINITY;
+    }
+  }
+
+  /*Mencatat nilai sel sebelum diubah*/
+  private void record(int index, double value) {
+    if (logSize == logIndex.length) {
+      logIndex = Arrays.copyOf(logIndex, logSize * 2);
+      logValue = Arrays.copyOf(logValue, logSize * 2);
+    }
+    logIndex[logSize] = index;
+    logValue[logSize] = value;
+    logSize++;
+  }
+
+  /*Mereduksi setiap baris lalu setiap kolom, mengembalikan cost ditambah total reduksi*/
+  private double reduceCost(double cost) {
+    for (int i = 0; i < numberOfVertex; ++i) {
+      int rowStart = i*numberOfVertex;
+      double minimumCost = INFINITY;
+      if (isDense) {
+        minimumCost = minimum(matrix, rowStart, rowStart + numberOfVertex);
+      } else {
+        for (int e = graph.getOutBegin(i); e < graph.getOutEnd(i); ++e) {
+          minimumCost = Math.min(minimumCost, matrix[rowStart + graph.getTarget(e)]);
+        }
+      }
+      if (minimumCost > 0 && minimumCost != INFINITY) {
+        cost += minimumCost;
+        if (isDense) {
+          for (int j = 0; j < numberOfVertex; ++j) {
+            subtract(rowStart + j, minimumCost);
+          }
+        } else {
+          for (int e = graph.getOutBegin(i); e < graph.getOutEnd(i); ++e) {
+            subtract(rowStart + graph.getTarget(e), minimumCost);
+          }
+        }
+      }
+    }
+    if (isDense) {
+      Arrays.fill(columnMinimum, INFINITY);
+      for (int i = 0; i < numberOfVertex; ++i) {
+        minimum(columnMinimum, matrix, i*numberOfVertex);
+      }
+    }
+    for (int j = 0; j < numberOfVertex; ++j) {
+      double minimumCost = INFINITY;
+      if (isDense) {
+        minimumCost = columnMinimum[j];
+      } else {
+        for (int e = graph.getInBegin(j); e < graph.getInEnd(j); ++e) {
+          minimumCost = Math.min(minimumCost, matrix[graph.getSource(e)*numberOfVertex + j]);
+        }
+      }
+      if (minimumCost > 0 && minimumCost != INFINITY) {
+        cost += minimumCost;
+        if (isDense) {
+          for (int i = 0; i < numberOfVertex; ++i) {
+            subtract(i*numberOfVertex + j, minimumCost);
+          }
+        } else {
+          for (int e = graph.getInBegin(j); e < graph.getInEnd(j); ++e) {
+            subtract(graph.getSource(e)*numberOfVertex + j, minimumCost);
+          }
+        }
+      }
+    }
+    return cost;
+  }
+
+  /*Mengurangi sel yang valid dan mencatatnya pada undo log*/
+  private void subtract(int index, double value) {
+    if (matrix[index] != INFINITY) {
+      record(index, matrix[index]);
+      matrix[index] -= value;
+    }
+  }
+
+  /*
+   * Sama dengan reduceCost() pada matriks int. Baris dan kolom dikurangi seluruhnya termasuk sel
+   * tidak valid yang tetap berada di atas INTEGER_INVALID_LIMIT, dan hanya nilai reduksinya yang
+   * dicatat.
+   */
+  private double reduceIntegerCost(double cost) {
+    for (int i = 0; i < numberOfVertex; ++i) {
+      int rowStart = i*numberOfVertex;
+      int minimumCost = INTEGER_INFINITY;
+      if (isDense) {
+        minimumCost = minimum(intMatrix, rowStart, rowStart + numberOfVertex);
+      } else {
+        for (int e = graph.getOutBegin(i); e < graph.getOutEnd(i); ++e) {
+          minimumCost = Math.min(minimumCost, intMatrix[rowStart + graph.getTarget(e)]);
+        }
+      }
+      if (minimumCost > 0 && minimumCost < INTEGER_INVALID_LIMIT) {
+        cost += minimumCost;
+        addToRow(i, -minimumCost);
+        recordReduction(i, minimumCost);
+      }
+    }
+    if (isDense) {
+      Arrays.fill(intColumnMinimum, INTEGER_INFINITY);
+      for (int i = 0; i < numberOfVertex; ++i) {
+        minimum(intColumnMinimum, intMatrix, i*numberOfVertex);
+      }
+      boolean isReduced = false;
+      for (int j = 0; j < numberOfVertex; ++j) { //kolom yang tidak direduksi dikurangi 0
+        int minimumCost = intColumnMinimum[j];
+        if (minimumCost > 0 && minimumCost < INTEGER_INVALID_LIMIT) {
+          cost += minimumCost;
+          recordReduction(numberOfVertex + j, minimumCost);
+          isReduced = true;
+        } else {
+          intColumnMinimum[j] = 0;
+        }
+      }
+      if (isReduced) {
+        for (int i = 0; i < numberOfVertex; ++i) {
+          subtract(intMatrix, i*numberOfVertex, intColumnMinimum);
+        }
+      }
+      return cost;
+    }
+    for (int j = 0; j < numberOfVertex; ++j) {
+      int minimumCost = INTEGER_INFINITY;
+      for (int e = graph.getInBegin(j); e < graph.getInEnd(j); ++e) {
+        minimumCost = Math.min(minimumCost, intMatrix[graph.getSource(e)*numberOfVertex + j]);
+      }
+      if (minimumCost > 0 && minimumCost < INTEGER_INVALID_LIMIT) {
+        cost += minimumCost;
+        addToColumn(j, -minimumCost);
+        recordReduction(numberOfVertex + j, minimumCost);
+      }
+    }
+    return cost;
+  }
+
+  /*Mencatat reduksi baris atau kolom matriks int*/
+  private void recordReduction(int index, int value) {
+    if (reductionSize == reductionIndex.length) {
+      reductionIndex = Arrays.copyOf(reductionIndex, reductionSize * 2);
+      reductionValue = Arrays.copyOf(reductionValue, reductionSize * 2);
+    }
+    reductionIndex[reductionSize] = index;
+    reductionValue[reductionSize] = value;
+    reductionSize++;
+  }
+
+  /*Menambahkan value pada baris matriks int, seluruh baris jika padat, selain itu hanya sisinya*/
+  private void addToRow(int row, int value) {
+    int rowStart = row*numberOfVertex;
+    if (isDense) {
+      for (int j = rowStart; j < rowStart + numberOfVertex; ++j) {
+        intMatrix[j] += value;
+      }
+    } else {
+      for (int e = graph.getOutBegin(row); e < graph.getOutEnd(row); ++e) {
+        intMatrix[rowStart + graph.getTarget(e)] += value;
+      }
+    }
+  }
+
+  /*Menambahkan value pada kolom matriks int, seluruh kolom jika padat, selain itu hanya sisinya*/
+  private void addToColumn(int column, int value) {
+    if (isDense) {
+      for (int i = column; i < intMatrix.length; i += numberOfVertex) {
+        intMatrix[i] += value;
+      }
+    } else {
+      for (int e = graph.getInBegin(column); e < graph.getInEnd(column); ++e) {
+        intMatrix[graph.getSource(e)*numberOfVertex + column] += value;
+      }
+    }
+  }
+
+  /*
+   * Kernel tanpa percabangan atas sel yang bersebelahan di memori. Sel tidak valid berisi penanda
+   * tak hingga sehingga tidak perlu di-mask.
+   */
+
+  /*Minimum array[from] hingga array[to-1]*/
+  private static double minimum(double[] array, int from, int to) {
+    double minimum = INFINITY;
+    for (int k = from; k < to; ++k) {
+      minimum = Math.min(minimum, array[k]);
+    }
+    return minimum;
+  }
+
+  private static int minimum(int[] array, int from, int to) {
+    int minimum = INTEGER_INFINITY;
+    for (int k = from; k < to; ++k) {
+      minimum = Math.min(minimum, array[k]);
+    }
+    return minimum;
+  }
+
+  /*Memperbarui minimum[j] dengan sel baris yang dimulai pada rowStart, untuk setiap j*/
+  private static void minimum(double[] minimum, double[] array, int rowStart) {
+    for (int j = 0; j < minimum.length; ++j) {
+      minimum[j] = Math.min(minimum[j], array[rowStart + j]);
+    }
+  }
+
+  private static void minimum(int[] minimum, int[] array, int rowStart) {
+    for (int j = 0; j < minimum.length; ++j) {
+      minimum[j] = Math.min(minimum[j], array[rowStart + j]);
+    }
+  }
+
+  /*Mengurangi sel baris yang dimulai pada rowStart dengan value[j], untuk setiap j*/
+  private static void subtract(int[] array, int rowStart, int[] value) {
+    for (int j = 0; j < value.length; ++j) {
+      array[rowStart + j] -= value[j];
+    }
+  }
+}
@@ -0,0 +1,109 @@
+//SimpulFrontier.java
+
+import java.util.Arrays;
+
+/**
+ * Antrian prioritas objek Simpul di atas FrontierHeap.
+ * Simpul disimpan pada slot array dan heap hanya berisi nomor slot beserta nilai batas dan level
+ * simpul, sehingga perbandingan tidak membaca objek Simpul. Slot yang kosong dipakai ulang.
+ * @author Arno Alexander
+ */
+class SimpulFrontier {
+
+  /*Kapasitas awal slot*/
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final FrontierHeap heap = new FrontierHeap();
+  private WeightMatrix.Simpul[] slot = new WeightMatrix.Simpul[INITIAL_CAPACITY];
+  /*Tumpukan nomor slot kosong*/
+  private int[] freeSlot = new int[INITIAL_CAPACITY];
+  private int numberOfFreeSlot;
+  /*Banyak slot yang pernah dipakai*/
+  private int numberOfSlot;
+
+  /**
+   * Getter size.
+   * @return banyak simpul di dalam antrian
+   */
+  int size() {
+    return heap.size();
+  }
+
+  /**
+   * Memeriksa apakah antrian kosong.
+   * @return true jika tidak ada simpul
+   */
+  boolean isEmpty() {
+    return heap.isEmpty();
+  }
+
+  /**
+   * Memasukkan simpul.
+   * @param simpul simpul hidup
+   */
+  void add(WeightMatrix.Simpul simpul) {
+    int index;
+    if (numberOfFreeSlot > 0) {
+      index = freeSlot[--numberOfFreeSlot];
+    } else {
+      if (numberOfSlot == slot.length) {
+        slot = Arrays.copyOf(slot, numberOfSlot * 2);
+        freeSlot = Arrays.copyOf(freeSlot, numberOfSlot * 2);
+      }
+      index = numberOfSlot++;
+    }
+    slot[index] = simpul;
+    heap.push(index, simpul.cost, simpul.level);
+  }
+
+  /**
+   * Mengambil simpul terdepan tanpa membuangnya.
+   * @return simpul dengan nilai batas terkecil, null jika antrian kosong
+   */
+  WeightMatrix.Simpul peek() {
+    return heap.isEmpty() ? null : slot[heap.peekHandle()];
+  }
+
+  /**
+   * Membuang simpul terdepan.
+   * @return simpul dengan nilai batas terkecil, null jika antrian kosong
+   */
+  WeightMatrix.Simpul poll() {
+    if (heap.isEmpty()) {
+      return null;
+    }
+    int index = heap.pop();
+    WeightMatrix.Simpul simpul = slot[index];
+    releaseSlot(index);
+    return simpul;
+  }
+
+  /**
+   * Membuang seluruh simpul.
+   */
+  void clear() {
+    Arrays.fill(slot, 0, numberOfSlot, null);
+    numberOfSlot = 0;
+    numberOfFreeSlot = 0;
+    heap.clear();
+  }
+
+  /**
+   * Membuang seluruh simpul yang nilai batasnya tidak lebih kecil dari limit dalam satu lintasan.
+   * @param limit batas nilai, biasanya bobot tur terbaik
+   * @return banyak simpul yang dibuang
+   */
+  int pruneAtLeast(double limit) {
+    int numberOfRemoved = heap.pruneAtLeast(limit);
+    for (int i = 0; i < numberOfRemoved; ++i) {
+      releaseSlot(heap.getRemovedHandle(i));
+    }
+    return numberOfRemoved;
+  }
+
+  /*Mengosongkan slot agar simpul dapat dibuang garbage collector lalu memakainya ulang*/
+  private void releaseSlot(int index) {
+    slot[index] = null;
+    freeSlot[numberOfFreeSlot++] = index;
+  }
+}
@@ -0,0 +1,270 @@
+//SolutionCache.java
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache hasil penyelesaian yang dapat dipakai bersama oleh banyak WeightMatrix dan banyak thread.
+ * Kunci cache adalah hash SHA-256 isi matriks, nama algoritma, dan simpul awal, sehingga matriks
+ * yang sama persis menemukan hasil yang sama tanpa menjalankan solver. Isi matriks di-hash dari
+ * penyimpanan bobotnya (file teks atau array, file biner, atau koordinat), sehingga matriks yang
+ * sama dari jenis sumber berbeda dianggap berbeda.
+ * Banyak entri dibatasi dan entri yang paling lama tidak dipakai dibuang lebih dulu (LRU).
+ * Jika tidak ada entri untuk suatu matriks, tur entri lain dengan banyak vertex yang sama yang
+ * paling ringan pada matriks baru dipakai sebagai tur awal solver branch and bound.
+ * Cache dapat disimpan ke file dan dibaca kembali dengan save() dan load().
+ * Tur yang tersimpan tidak pernah diubah sehingga boleh dibaca di luar lock.
+ * @author Arno Alexander
+ */
+public class SolutionCache {
+
+  /*Banyak entri awal untuk konstruktor tanpa argumen*/
+  public static final int DEFAULT_MAXIMUM_ENTRIES = 1024;
+  /*Magic number di awal file, "TSPC" dalam ASCII*/
+  private static final int MAGIC = 0x54535043;
+  /*Versi format yang ditulis dan dapat dibaca*/
+  private static final int VERSION = 1;
+  /*Ukuran buffer file*/
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /*Banyak entri maksimum*/
+  private final int maximumEntries;
+  /*Entri terurut dari yang paling lama tidak dipakai*/
+  private final LinkedHashMap<String,Entry> entries;
+  /*Banyak pencarian yang menemukan dan tidak menemukan entri*/
+  private long numberOfHit;
+  private long numberOfMiss;
+
+  /**
+   * Konstruktor dengan DEFAULT_MAXIMUM_ENTRIES entri.
+   */
+  public SolutionCache() {
+    this(DEFAULT_MAXIMUM_ENTRIES);
+  }
+
+  /**
+   * Konstruktor.
+   * @param maximumEntries banyak entri maksimum, minimal 1
+   */
+  public SolutionCache(int maximumEntries) {
+    if (maximumEntries < 1) {
+      throw new IllegalArgumentException("Banyak entri minimal 1 : " + maximumEntries);
+    }
+    this.maximumEntries = maximumEntries;
+    entries = new LinkedHashMap<String,SolutionCache.Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String,SolutionCache.Entry> eldest) {
+        return size() > SolutionCache.this.maximumEntries;
+      }
+    };
+  }
+
+  /**
+   * Getter banyak entri.
+   * @return banyak entri yang tersimpan
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Getter numberOfHit.
+   * @return banyak pemanggilan solve yang hasilnya diambil dari cache
+   */
+  public synchronized long getNumberOfHit() {
+    return numberOfHit;
+  }
+
+  /**
+   * Getter numberOfMiss.
+   * @return banyak pemanggilan solve yang harus menjalankan solver
+   */
+  public synchronized long getNumberOfMiss() {
+    return numberOfMiss;
+  }
+
+  /**
+   * Menghapus seluruh entri.
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Menyimpan seluruh entri ke file, dari yang paling lama tidak dipakai.
+   * @param outputPath lokasi file
+   * @throws IOException jika file gagal ditulis
+   */
+  public synchronized void save(String outputPath) throws IOException {
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+        new FileOutputStream(outputPath), BUFFER_SIZE))) {
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+      output.writeInt(entries.size());
+      for (Map.Entry<String,Entry> entry : entries.entrySet()) {
+        output.writeUTF(entry.getKey());
+        Entry value = entry.getValue();
+        output.writeDouble(value.tourWeight);
+        output.writeDouble(value.lowerBound);
+        if (value.tour == null) {
+          output.writeInt(-1);
+        } else {
+          output.writeInt(value.tour.length);
+          for (int vertex : value.tour) {
+            output.writeInt(vertex);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Membaca entri dari file yang ditulis save() dan menambahkannya ke cache. Entri yang turnya
+   * bukan permutasi vertex dimulai dari simpul awal dilewati.
+   * @param inputPath lokasi file
+   * @throws IOException jika file gagal dibaca, bukan file cache, atau panjang tur tidak sah
+   */
+  public synchronized void load(String inputPath) throws IOException {
+    long fileSize = new File(inputPath).length();
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+        new FileInputStream(inputPath), BUFFER_SIZE))) {
+      if (input.readInt() != MAGIC) {
+        throw new IOException("Bukan file cache : " + inputPath);
+      }
+      int version = input.readInt();
+      if (version != VERSION) {
+        throw new IOException("Versi file cache tidak didukung : " + version);
+      }
+      int numberOfEntries = input.readInt();
+      for (int i = 0; i < numberOfEntries; ++i) {
+        String key = input.readUTF();
+        double tourWeight = input.readDouble();
+        double lowerBound = input.readDouble();
+        int length = input.readInt();
+        if (length < -1 || 4L * length > fileSize) {
+          throw new IOException("Panjang tur tidak sah : " + length);
+        }
+        int[] tour = null;
+        if (length >= 0) {
+          tour = new int[length];
+          for (int k = 0; k < length; ++k) {
+            tour[k] = input.readInt();
+          }
+          if (!isPermutation(tour)) {
+            continue;
+          }
+        }
+        entries.put(key, new Entry(tour, tourWeight, lowerBound));
+      }
+    }
+  }
+
+  /**
+   * Membuat kunci cache.
+   * @param contentHash hash isi matriks
+   * @param algorithm nama algoritma beserta parameter yang memengaruhi hasil
+   * @return kunci cache
+   */
+  static String createKey(String contentHash, String algorithm) {
+    return contentHash + "/" + algorithm + "/" + WeightMatrix.START_VERTEX;
+  }
+
+  /**
+   * Mencari entri dan menandainya sebagai baru dipakai.
+   * @param key kunci dari createKey()
+   * @param numberOfVertex banyak vertex matriks, entri dengan tur berukuran lain diabaikan
+   * @return entri, null jika tidak ada
+   */
+  synchronized Entry get(String key, int numberOfVertex) {
+    Entry entry = entries.get(key);
+    if (entry != null && entry.tour != null && entry.tour.length != numberOfVertex) {
+      entry = null;
+    }
+    if (entry != null) {
+      numberOfHit++;
+    } else {
+      numberOfMiss++;
+    }
+    return entry;
+  }
+
+  /**
+   * Menyimpan hasil penyelesaian yang selesai, membuang entri paling lama jika cache penuh.
+   * @param key kunci dari createKey()
+   * @param tour tur hasil, null jika tidak ada tur
+   * @param tourWeight bobot tur
+   * @param lowerBound batas bawah bobot tur optimal
+   */
+  synchronized void put(String key, int[] tour, double tourWeight, double lowerBound) {
+    entries.put(key, new Entry(tour == null ? null : tour.clone(), tourWeight, lowerBound));
+  }
+
+  /**
+   * Mencari tur awal untuk matriks yang tidak ada di cache : tur tersimpan dengan banyak vertex
+   * yang sama yang paling ringan pada matriks tersebut. Hanya pemilihan kandidat yang memegang
+   * lock, bobot tur dihitung di luar lock agar pemanggil lain tidak menunggu.
+   * @param matrix matriks permasalahan
+   * @return salinan tur, null jika tidak ada tur yang memenuhi
+   */
+  int[] findClosestTour(WeightMatrix matrix) {
+    ArrayList<int[]> candidates = new ArrayList<>();
+    synchronized (this) {
+      for (Entry entry : entries.values()) {
+        if (entry.tour != null && entry.tour.length == matrix.getNumberOfVertex()
+            && entry.tour[0] == WeightMatrix.START_VERTEX) {
+          candidates.add(entry.tour);
+        }
+      }
+    }
+    int[] closestTour = null;
+    double closestWeight = Double.POSITIVE_INFINITY;
+    for (int[] tour : candidates) {
+      double tourWeight = matrix.computeTourWeight(tour);
+      if (tourWeight < closestWeight) {
+        closestWeight = tourWeight;
+        closestTour = tour;
+      }
+    }
+    return closestTour == null ? null : closestTour.clone();
+  }
+
+  /*Memeriksa apakah tur memuat setiap vertex 0..length-1 tepat sekali, dimulai dari simpul awal*/
+  private static boolean isPermutation(int[] tour) {
+    if (tour.length > 0 && tour[0] != WeightMatrix.START_VERTEX) {
+      return false;
+    }
+    boolean[] isVisited = new boolean[tour.length];
+    for (int vertex : tour) {
+      if (vertex < 0 || vertex >= tour.length || isVisited[vertex]) {
+        return false;
+      }
+      isVisited[vertex] = true;
+    }
+    return true;
+  }
+
+  /**
+   * Hasil penyelesaian yang tersimpan.
+   */
+  static final class Entry {
+
+    final int[] tour; //tur hasil, null jika tidak ada tur
+    final double tourWeight;
+    final double lowerBound;
+
+    Entry(int[] tour, double tourWeight, double lowerBound) {
+      this.tour = tour;
+      this.tourWeight = tourWeight;
+      this.lowerBound = lowerBound;
+    }
+  }
+}
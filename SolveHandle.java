@@ -0,0 +1,101 @@
+//SolveHandle.java
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Handle penyelesaian yang berjalan di thread tersendiri, dibuat oleh WeightMatrix.solveAsync().
+ * Pembatalan bersifat kooperatif : cancel() menandai permintaan berhenti pada metrics solver,
+ * solver berhenti pada pemeriksaan berikutnya lalu tetap menghasilkan SolveResult berisi tur
+ * terbaik sejauh ini dan batas bawah yang sudah terbukti.
+ * @author Arno Alexander
+ */
+public class SolveHandle {
+
+  private final WeightMatrix matrix;
+  private final FutureTask<SolveResult> task;
+  private final Thread thread;
+
+  /**
+   * Konstruktor, langsung menjalankan solver.
+   * @param matrix matriks permasalahan
+   * @param solver method solve yang dijalankan pada matrix
+   */
+  SolveHandle(WeightMatrix matrix, Function<WeightMatrix,int[]> solver) {
+    this.matrix = matrix;
+    task = new FutureTask<>(() -> {
+      int[] tour = solver.apply(matrix);
+      SolverMetrics metrics = matrix.getMetrics();
+      return new SolveResult(tour, matrix.shortestTourWeight, metrics.getLowerBound(),
+          matrix.numberOfSimpulToSolve, metrics.getElapsedMillis(), metrics.isStopped());
+    });
+    thread = new Thread(task, "tsp-solver");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Meminta solver berhenti. Tidak melakukan apa pun jika solver sudah selesai.
+   * Status interupsi thread solver tidak cukup karena dihapus selama thread tersebut menunggu
+   * worker paralel (ForkJoinTask.join()), sehingga permintaan berhenti juga ditandai pada metrics
+   * yang dibaca seluruh worker. Thread diinterupsi lebih dulu : jika metrics penyelesaian belum
+   * dibuat, WeightMatrix langsung menandainya berhenti ketika melihat interupsi tersebut.
+   */
+  public void cancel() {
+    if (!task.isDone()) {
+      thread.interrupt();
+      SolverMetrics metrics = matrix.getMetrics();
+      if (metrics != null) {
+        metrics.requestStop();
+      }
+    }
+  }
+
+  /**
+   * Memeriksa apakah solver sudah selesai atau sudah berhenti.
+   * @return true jika get() tidak akan menunggu
+   */
+  public boolean isDone() {
+    return task.isDone();
+  }
+
+  /**
+   * Getter metrics untuk memantau kemajuan selama solver berjalan.
+   * @return penghitung kemajuan, null jika solver belum mulai
+   */
+  public SolverMetrics getMetrics() {
+    return matrix.getMetrics();
+  }
+
+  /**
+   * Menunggu hingga solver selesai.
+   * @return hasil penyelesaian
+   * @throws InterruptedException jika thread pemanggil diinterupsi saat menunggu
+   * @throws ExecutionException jika solver melempar exception
+   */
+  public SolveResult get() throws InterruptedException, ExecutionException {
+    return task.get();
+  }
+
+  /**
+   * Menunggu paling lama timeout, lalu menghentikan solver dan menunggu hasil terbaik sejauh ini.
+   * Setelah dihentikan, solver biasanya berhenti dalam satu ekspansi simpul.
+   * @param timeout batas waktu menunggu
+   * @param unit satuan timeout
+   * @return hasil penyelesaian, isStopped() bernilai true jika solver dihentikan
+   * @throws InterruptedException jika thread pemanggil diinterupsi saat menunggu
+   * @throws ExecutionException jika solver melempar exception
+   */
+  public SolveResult get(long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException {
+    try {
+      return task.get(timeout, unit);
+    } catch (TimeoutException exception) {
+      cancel();
+      return task.get();
+    }
+  }
+}
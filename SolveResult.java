@@ -0,0 +1,90 @@
+//SolveResult.java
+
+/**
+ * Hasil satu penyelesaian, termasuk penyelesaian yang dihentikan sebelum selesai.
+ * @author Arno Alexander
+ */
+public class SolveResult {
+
+  private final int[] tour;
+  private final double tourWeight;
+  private final double lowerBound;
+  private final int numberOfSimpul;
+  private final long elapsedMillis;
+  private final boolean isStopped;
+
+  /**
+   * Konstruktor.
+   * @param tour tur terbaik yang ditemukan, null jika tidak ada
+   * @param tourWeight bobot tour, tak hingga jika tidak ada
+   * @param lowerBound batas bawah bobot tur optimal yang sudah terbukti
+   * @param numberOfSimpul banyak simpul yang dibangkitkan
+   * @param elapsedMillis waktu penyelesaian dalam milidetik
+   * @param isStopped apakah solver dihentikan sebelum selesai
+   */
+  SolveResult(int[] tour, double tourWeight, double lowerBound, int numberOfSimpul,
+      long elapsedMillis, boolean isStopped) {
+    this.tour = tour;
+    this.tourWeight = tourWeight;
+    this.lowerBound = lowerBound;
+    this.numberOfSimpul = numberOfSimpul;
+    this.elapsedMillis = elapsedMillis;
+    this.isStopped = isStopped;
+  }
+
+  /**
+   * Getter tour.
+   * @return salinan tur terbaik dimulai dari simpul awal, null jika tidak ada tur
+   */
+  public int[] getTour() {
+    return tour == null ? null : tour.clone();
+  }
+
+  /**
+   * Getter tourWeight.
+   * @return bobot tur terbaik, tak hingga jika tidak ada tur
+   */
+  public double getTourWeight() {
+    return tourWeight;
+  }
+
+  /**
+   * Getter lowerBound.
+   * @return batas bawah bobot tur optimal, minus tak hingga jika solver tidak menghasilkan batas
+   */
+  public double getLowerBound() {
+    return lowerBound;
+  }
+
+  /**
+   * Getter numberOfSimpul.
+   * @return banyak simpul yang dibangkitkan
+   */
+  public int getNumberOfSimpul() {
+    return numberOfSimpul;
+  }
+
+  /**
+   * Getter elapsedMillis.
+   * @return waktu penyelesaian dalam milidetik
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * Memeriksa apakah solver dihentikan karena dibatalkan atau melewati batas waktu.
+   * @return true jika tur hanya yang terbaik sejauh ini
+   */
+  public boolean isStopped() {
+    return isStopped;
+  }
+
+  /**
+   * Memeriksa apakah tur sudah terbukti optimal, atau sudah terbukti tidak ada tur.
+   * @return true jika batas bawah sama dengan bobot tur
+   */
+  public boolean isOptimal() {
+    return lowerBound >= tourWeight;
+  }
+}
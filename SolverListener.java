@@ -0,0 +1,16 @@
+//SolverListener.java
+
+/**
+ * Penerima kemajuan solver.
+ * Dipanggil dari thread pelapor, bukan dari thread solver maupun Event Dispatch Thread, sehingga
+ * antarmuka grafis harus memindahkan pembaruan tampilan dengan SwingUtilities.invokeLater().
+ * @author Arno Alexander
+ */
+public interface SolverListener {
+
+  /**
+   * Dipanggil secara berkala selama solver berjalan dan sekali lagi ketika solver selesai.
+   * @param progress snapshot kemajuan
+   */
+  void onProgress(SolverProgress progress);
+}
@@ -0,0 +1,354 @@
+//SolverMetrics.java
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Penghitung kemajuan satu proses penyelesaian yang dapat dibaca selama solver berjalan.
+ * Thread solver tidak menyentuh penghitung bersama untuk setiap simpul : setiap thread menghitung
+ * pada LocalCounter miliknya lalu menambahkan hasilnya ke LongAdder setiap FLUSH_INTERVAL simpul.
+ * Listener dipanggil dari thread pelapor tersendiri dengan selang waktu tetap, sehingga pelaporan
+ * tetap berjalan walaupun solver sedang macet di satu ekspansi.
+ * Objek ini juga membawa permintaan berhenti : solver memeriksa isStopRequested() secara berkala
+ * dan berhenti dengan hasil terbaik sejauh ini jika thread pemanggil diinterupsi, batas waktu
+ * terlewati, atau requestStop() dipanggil. Interupsi hanya terlihat selama status interupsi thread
+ * pemanggil tidak dihapus, misalnya oleh join() pada worker paralel, sehingga pembatalan dari
+ * thread lain memakai requestStop() yang tetap berlaku setelah ditandai.
+ * @author Arno Alexander
+ */
+public class SolverMetrics {
+
+  /*Banyak kejadian yang dikumpulkan LocalCounter sebelum ditambahkan ke penghitung bersama*/
+  static final int FLUSH_INTERVAL = 1024;
+
+  /*Waktu mulai dalam System.nanoTime()*/
+  private final long startTime = System.nanoTime();
+  /*Banyak simpul yang dibangkitkan, diekspansi, dan dipangkas*/
+  private final LongAdder generatedSimpul = new LongAdder();
+  private final LongAdder expandedSimpul = new LongAdder();
+  private final LongAdder prunedSimpul = new LongAdder();
+  /*Banyak simpul hidup (belum diekspansi)*/
+  private volatile long frontierSize;
+  /*Batas bawah dan batas atas bobot tur optimal yang sudah diketahui*/
+  private volatile double lowerBound = Double.NEGATIVE_INFINITY;
+  private volatile double upperBound = Double.POSITIVE_INFINITY;
+  /*Penghitung batas bawah dari luar thread solver, null jika solver menulis lowerBound sendiri*/
+  private volatile DoubleSupplier lowerBoundProbe;
+  /*Apakah penyelesaian sudah selesai*/
+  private volatile boolean isFinished;
+  /*Thread yang memanggil solve, interupsi pada thread ini menghentikan solver*/
+  private final Thread owner = Thread.currentThread();
+  /*Batas waktu dalam System.nanoTime(), hanya berlaku jika hasDeadline*/
+  private volatile long deadline;
+  private volatile boolean hasDeadline;
+  /*Apakah solver sudah diminta berhenti sebelum selesai*/
+  private volatile boolean isStopped;
+  /*Thread pelapor, null jika tidak ada listener*/
+  private ScheduledExecutorService reporter;
+  private SolverListener listener;
+  /*Snapshot terakhir yang dikirim, untuk menghitung laju simpul*/
+  private SolverProgress lastProgress;
+
+  /**
+   * Getter banyak simpul yang dibangkitkan. Selama solver berjalan, nilai ini dapat tertinggal
+   * hingga FLUSH_INTERVAL simpul per thread solver.
+   * @return banyak simpul yang dibangkitkan
+   */
+  public long getNumberOfGeneratedSimpul() {
+    return generatedSimpul.sum();
+  }
+
+  /**
+   * Getter banyak simpul yang diekspansi.
+   * @return banyak simpul yang diekspansi
+   */
+  public long getNumberOfExpandedSimpul() {
+    return expandedSimpul.sum();
+  }
+
+  /**
+   * Getter banyak simpul yang dipangkas karena nilai batasnya tidak lebih kecil dari incumbent.
+   * @return banyak simpul yang dipangkas
+   */
+  public long getNumberOfPrunedSimpul() {
+    return prunedSimpul.sum();
+  }
+
+  /**
+   * Getter banyak simpul hidup.
+   * @return banyak simpul hidup pada pembaruan terakhir
+   */
+  public long getFrontierSize() {
+    return frontierSize;
+  }
+
+  /**
+   * Getter batas bawah.
+   * @return batas bawah bobot tur optimal, minus tak hingga jika belum diketahui
+   */
+  public double getLowerBound() {
+    DoubleSupplier probe = lowerBoundProbe;
+    if (probe != null && !isFinished) {
+      return Math.max(lowerBound, probe.getAsDouble());
+    }
+    return lowerBound;
+  }
+
+  /**
+   * Getter batas atas.
+   * @return bobot tur terbaik yang sudah ditemukan, tak hingga jika belum ada
+   */
+  public double getUpperBound() {
+    return upperBound;
+  }
+
+  /**
+   * Getter waktu berjalan.
+   * @return milidetik sejak penyelesaian dimulai
+   */
+  public long getElapsedMillis() {
+    return (System.nanoTime() - startTime) / 1000000;
+  }
+
+  /**
+   * Memeriksa apakah penyelesaian sudah selesai.
+   * @return true jika solver sudah selesai
+   */
+  public boolean isFinished() {
+    return isFinished;
+  }
+
+  /**
+   * Memeriksa apakah solver berhenti sebelum selesai karena diinterupsi atau melewati batas waktu.
+   * Jika true, batas atas adalah tur terbaik sejauh ini dan batas bawah adalah batas yang sudah
+   * terbukti, bukan bobot tur optimal.
+   * @return true jika solver dihentikan
+   */
+  public boolean isStopped() {
+    return isStopped;
+  }
+
+  /**
+   * Membuat snapshot seluruh penghitung.
+   * @return snapshot kemajuan saat ini
+   */
+  public synchronized SolverProgress snapshot() {
+    Runtime runtime = Runtime.getRuntime();
+    SolverProgress progress = new SolverProgress(getElapsedMillis(), getNumberOfGeneratedSimpul(),
+        getNumberOfExpandedSimpul(), getNumberOfPrunedSimpul(), frontierSize, getLowerBound(),
+        upperBound, runtime.totalMemory() - runtime.freeMemory(), isFinished, lastProgress);
+    lastProgress = progress;
+    return progress;
+  }
+
+  /**
+   * Membuat penghitung lokal untuk simpul yang dibangkitkan.
+   * @return penghitung lokal, hanya untuk dipakai satu thread
+   */
+  LocalCounter createGeneratedCounter() {
+    return new LocalCounter(generatedSimpul);
+  }
+
+  /**
+   * Membuat penghitung lokal untuk simpul yang diekspansi.
+   * @return penghitung lokal, hanya untuk dipakai satu thread
+   */
+  LocalCounter createExpandedCounter() {
+    return new LocalCounter(expandedSimpul);
+  }
+
+  /**
+   * Membuat penghitung lokal untuk simpul yang dipangkas.
+   * @return penghitung lokal, hanya untuk dipakai satu thread
+   */
+  LocalCounter createPrunedCounter() {
+    return new LocalCounter(prunedSimpul);
+  }
+
+  /**
+   * Setter frontierSize.
+   * @param frontierSize banyak simpul hidup
+   */
+  void setFrontierSize(long frontierSize) {
+    this.frontierSize = frontierSize;
+  }
+
+  /**
+   * Setter lowerBound.
+   * @param lowerBound batas bawah bobot tur optimal
+   */
+  void setLowerBound(double lowerBound) {
+    this.lowerBound = lowerBound;
+  }
+
+  /**
+   * Setter lowerBoundProbe, untuk solver paralel yang batas bawahnya harus dihitung dari antrian
+   * seluruh worker.
+   * @param lowerBoundProbe penghitung batas bawah yang aman dipanggil dari thread lain
+   */
+  void setLowerBoundProbe(DoubleSupplier lowerBoundProbe) {
+    this.lowerBoundProbe = lowerBoundProbe;
+  }
+
+  /**
+   * Setter upperBound.
+   * @param upperBound bobot tur terbaik yang baru ditemukan
+   */
+  void setUpperBound(double upperBound) {
+    this.upperBound = upperBound;
+  }
+
+  /**
+   * Mengatur batas waktu penyelesaian dihitung dari pembuatan objek ini.
+   * @param timeLimitMillis batas waktu dalam milidetik
+   */
+  void setTimeLimitMillis(long timeLimitMillis) {
+    deadline = startTime + timeLimitMillis * 1000000L;
+    hasDeadline = true;
+  }
+
+  /**
+   * Meminta solver berhenti pada pemeriksaan berikutnya.
+   */
+  void requestStop() {
+    isStopped = true;
+  }
+
+  /**
+   * Memeriksa permintaan berhenti. Dipanggil solver sekali per ekspansi atau per kelompok kecil
+   * pekerjaan, sehingga cukup murah : satu pembacaan volatile, status interupsi, dan nanoTime.
+   * @return true jika solver harus berhenti
+   */
+  boolean isStopRequested() {
+    if (isStopped) {
+      return true;
+    }
+    if (owner.isInterrupted() || (hasDeadline && System.nanoTime() - deadline > 0)) {
+      isStopped = true;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Menambahkan banyak simpul yang dibangkitkan secara langsung, untuk solver yang menghitung
+   * per kelompok besar.
+   * @param numberOfSimpul banyak simpul
+   */
+  void addGeneratedSimpul(long numberOfSimpul) {
+    generatedSimpul.add(numberOfSimpul);
+  }
+
+  /**
+   * Menjalankan thread pelapor yang memanggil listener secara berkala.
+   * @param listener penerima kemajuan
+   * @param intervalMillis selang waktu antar pemanggilan dalam milidetik, minimal 1
+   */
+  synchronized void startReporting(SolverListener listener, long intervalMillis) {
+    this.listener = listener;
+    reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "tsp-solver-progress");
+      thread.setDaemon(true);
+      return thread;
+    });
+    reporter.scheduleAtFixedRate(this::report, intervalMillis, intervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Menandai penyelesaian selesai, menghentikan thread pelapor, dan mengirim snapshot terakhir.
+   * @param lowerBound batas bawah akhir
+   * @param upperBound bobot tur akhir
+   */
+  void finish(double lowerBound, double upperBound) {
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+    frontierSize = 0;
+    lowerBoundProbe = null;
+    isFinished = true;
+    synchronized (this) { //listener dipanggil di dalam lock agar snapshot akhir selalu yang terakhir
+      if (reporter != null) {
+        reporter.shutdownNow();
+        reporter = null;
+      }
+      if (listener != null) {
+        SolverListener finalListener = listener;
+        listener = null;
+        finalListener.onProgress(snapshot());
+      }
+    }
+  }
+
+  /**
+   * Menghentikan thread pelapor tanpa mengirim snapshot akhir, untuk solver yang berhenti karena
+   * exception. Tidak melakukan apa pun jika finish() sudah dipanggil.
+   */
+  synchronized void stopReporting() {
+    if (reporter != null) {
+      reporter.shutdownNow();
+      reporter = null;
+    }
+    listener = null;
+  }
+
+  /*Dipanggil thread pelapor, kesalahan listener tidak boleh menghentikan pelaporan*/
+  private synchronized void report() {
+    if (listener == null) {
+      return;
+    }
+    try {
+      listener.onProgress(snapshot());
+    } catch (RuntimeException exception) {
+      //kesalahan listener diabaikan agar pelaporan berikutnya tetap berjalan
+    }
+  }
+
+  /**
+   * Penghitung milik satu thread yang menambahkan hasilnya ke LongAdder bersama secara berkala.
+   */
+  static final class LocalCounter {
+
+    private final LongAdder target;
+    private long pending;
+
+    private LocalCounter(LongAdder target) {
+      this.target = target;
+    }
+
+    /**
+     * Menambah satu kejadian.
+     * @return true jika penghitung baru saja ditambahkan ke penghitung bersama
+     */
+    boolean increment() {
+      if (++pending == FLUSH_INTERVAL) {
+        flush();
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Menambah beberapa kejadian sekaligus.
+     * @param count banyak kejadian
+     */
+    void add(long count) {
+      pending += count;
+      if (pending >= FLUSH_INTERVAL) {
+        flush();
+      }
+    }
+
+    /**
+     * Menambahkan kejadian yang belum tercatat ke penghitung bersama.
+     */
+    void flush() {
+      if (pending != 0) {
+        target.add(pending);
+        pending = 0;
+      }
+    }
+  }
+}
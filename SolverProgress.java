@@ -0,0 +1,152 @@
+//SolverProgress.java
+
+/**
+ * Snapshot kemajuan solver pada satu saat.
+ * @author Arno Alexander
+ */
+public class SolverProgress {
+
+  private final long elapsedMillis;
+  private final long numberOfGeneratedSimpul;
+  private final long numberOfExpandedSimpul;
+  private final long numberOfPrunedSimpul;
+  private final long frontierSize;
+  private final double lowerBound;
+  private final double upperBound;
+  private final long usedMemory;
+  private final boolean isFinished;
+  /*Laju simpul dibangkitkan sejak snapshot sebelumnya*/
+  private final double simpulPerSecond;
+
+  /**
+   * Konstruktor.
+   * @param elapsedMillis milidetik sejak penyelesaian dimulai
+   * @param numberOfGeneratedSimpul banyak simpul yang dibangkitkan
+   * @param numberOfExpandedSimpul banyak simpul yang diekspansi
+   * @param numberOfPrunedSimpul banyak simpul yang dipangkas
+   * @param frontierSize banyak simpul hidup
+   * @param lowerBound batas bawah bobot tur optimal
+   * @param upperBound bobot tur terbaik yang sudah ditemukan
+   * @param usedMemory memori heap yang terpakai dalam byte
+   * @param isFinished apakah solver sudah selesai
+   * @param previous snapshot sebelumnya untuk menghitung laju simpul, boleh null
+   */
+  SolverProgress(long elapsedMillis, long numberOfGeneratedSimpul, long numberOfExpandedSimpul,
+      long numberOfPrunedSimpul, long frontierSize, double lowerBound, double upperBound,
+      long usedMemory, boolean isFinished, SolverProgress previous) {
+    this.elapsedMillis = elapsedMillis;
+    this.numberOfGeneratedSimpul = numberOfGeneratedSimpul;
+    this.numberOfExpandedSimpul = numberOfExpandedSimpul;
+    this.numberOfPrunedSimpul = numberOfPrunedSimpul;
+    this.frontierSize = frontierSize;
+    this.lowerBound = lowerBound;
+    this.upperBound = upperBound;
+    this.usedMemory = usedMemory;
+    this.isFinished = isFinished;
+    long previousMillis = previous == null ? 0 : previous.elapsedMillis;
+    long previousSimpul = previous == null ? 0 : previous.numberOfGeneratedSimpul;
+    simpulPerSecond = elapsedMillis > previousMillis
+        ? (numberOfGeneratedSimpul - previousSimpul) * 1000.0 / (elapsedMillis - previousMillis)
+        : 0;
+  }
+
+  /**
+   * Getter elapsedMillis.
+   * @return milidetik sejak penyelesaian dimulai
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * Getter numberOfGeneratedSimpul.
+   * @return banyak simpul yang dibangkitkan
+   */
+  public long getNumberOfGeneratedSimpul() {
+    return numberOfGeneratedSimpul;
+  }
+
+  /**
+   * Getter numberOfExpandedSimpul.
+   * @return banyak simpul yang diekspansi
+   */
+  public long getNumberOfExpandedSimpul() {
+    return numberOfExpandedSimpul;
+  }
+
+  /**
+   * Getter numberOfPrunedSimpul.
+   * @return banyak simpul yang dipangkas
+   */
+  public long getNumberOfPrunedSimpul() {
+    return numberOfPrunedSimpul;
+  }
+
+  /**
+   * Getter frontierSize.
+   * @return banyak simpul hidup
+   */
+  public long getFrontierSize() {
+    return frontierSize;
+  }
+
+  /**
+   * Getter lowerBound.
+   * @return batas bawah bobot tur optimal, minus tak hingga jika belum diketahui
+   */
+  public double getLowerBound() {
+    return lowerBound;
+  }
+
+  /**
+   * Getter upperBound.
+   * @return bobot tur terbaik yang sudah ditemukan, tak hingga jika belum ada
+   */
+  public double getUpperBound() {
+    return upperBound;
+  }
+
+  /**
+   * Getter usedMemory.
+   * @return memori heap yang terpakai dalam byte
+   */
+  public long getUsedMemory() {
+    return usedMemory;
+  }
+
+  /**
+   * Memeriksa apakah solver sudah selesai.
+   * @return true jika ini snapshot akhir
+   */
+  public boolean isFinished() {
+    return isFinished;
+  }
+
+  /**
+   * Getter laju simpul.
+   * @return banyak simpul dibangkitkan per detik sejak snapshot sebelumnya, 0 berarti solver
+   *     tidak membangkitkan simpul baru (misalnya macet pada satu ekspansi)
+   */
+  public double getSimpulPerSecond() {
+    return simpulPerSecond;
+  }
+
+  /**
+   * Menghitung selisih relatif batas atas dan batas bawah.
+   * @return (upperBound - lowerBound) / upperBound, tak hingga jika salah satu batas belum diketahui
+   */
+  public double getGap() {
+    if (Double.isInfinite(lowerBound) || Double.isInfinite(upperBound) || upperBound <= 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return Math.max(0, upperBound - lowerBound) / upperBound;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("waktu=%dms simpul=%d (%.0f/s) ekspansi=%d pangkas=%d hidup=%d "
+        + "batas=[%s, %s] gap=%.4f memori=%dMB%s", elapsedMillis, numberOfGeneratedSimpul,
+        simpulPerSecond, numberOfExpandedSimpul, numberOfPrunedSimpul, frontierSize,
+        lowerBound, upperBound, getGap(), usedMemory >> 20, isFinished ? " selesai" : "");
+  }
+}
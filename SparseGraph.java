@@ -0,0 +1,310 @@
+//SparseGraph.java
+
+import java.util.Arrays;
+
+/**
+ * Daftar ketetanggaan matriks bobot dalam format CSR (compressed sparse row).
+ * Sisi keluar vertex v berada pada indeks getOutBegin(v) hingga getOutEnd(v)-1 dari array target
+ * dan bobot, terurut menurut vertex tujuan; sisi masuk disusun dengan cara yang sama. Hanya sisi
+ * yang bobotnya bukan INVALID_WEIGHT yang disimpan, sehingga solver yang mengiterasi sisi lewat
+ * kelas ini bekerja sebanding dengan banyak sisi, bukan n^2, pada graf jarang seperti jaringan
+ * jalan. Urutan iterasi sama dengan iterasi kolom 0 hingga n-1 pada matriks.
+ * Kelas ini juga memeriksa syarat perlu keberadaan tur (sirkuit Hamilton) dalam waktu O(n+m).
+ * Objek tidak diubah setelah dibuat sehingga boleh dipakai bersama oleh banyak thread.
+ * @author Arno Alexander
+ */
+class SparseGraph {
+
+  /*Banyak vertex*/
+  private final int numberOfVertex;
+  /*Sisi keluar : awal daftar setiap vertex, vertex tujuan, dan bobot*/
+  private final int[] outStart;
+  private final int[] outTarget;
+  private final double[] outWeight;
+  /*Sisi masuk : awal daftar setiap vertex dan vertex asal*/
+  private final int[] inStart;
+  private final int[] inSource;
+
+  /**
+   * Konstruktor. Membaca seluruh bobot matriks sekali.
+   * @param matrix matriks bobot
+   */
+  SparseGraph(WeightMatrix matrix) {
+    numberOfVertex = matrix.getNumberOfVertex();
+    outStart = new int[numberOfVertex + 1];
+    int[] target = new int[Math.max(numberOfVertex, 1)];
+    double[] weight = new double[target.length];
+    int numberOfEdge = 0;
+    int[] inDegree = new int[numberOfVertex];
+    for (int i = 0; i < numberOfVertex; ++i) {
+      outStart[i] = numberOfEdge;
+      for (int j = 0; j < numberOfVertex; ++j) {
+        double edgeWeight = matrix.getWeight(i, j);
+        if (edgeWeight == WeightMatrix.INVALID_WEIGHT) {
+          continue;
+        }
+        if (numberOfEdge == target.length) {
+          target = Arrays.copyOf(target, numberOfEdge * 2);
+          weight = Arrays.copyOf(weight, numberOfEdge * 2);
+        }
+        target[numberOfEdge] = j;
+        weight[numberOfEdge] = edgeWeight;
+        numberOfEdge++;
+        inDegree[j]++;
+      }
+    }
+    outStart[numberOfVertex] = numberOfEdge;
+    outTarget = Arrays.copyOf(target, numberOfEdge);
+    outWeight = Arrays.copyOf(weight, numberOfEdge);
+    inStart = new int[numberOfVertex + 1];
+    for (int j = 0; j < numberOfVertex; ++j) {
+      inStart[j+1] = inStart[j] + inDegree[j];
+    }
+    inSource = new int[numberOfEdge];
+    int[] position = Arrays.copyOf(inStart, numberOfVertex);
+    for (int i = 0; i < numberOfVertex; ++i) { //baris berurutan sehingga asal ikut terurut
+      for (int e = outStart[i]; e < outStart[i+1]; ++e) {
+        inSource[position[outTarget[e]]++] = i;
+      }
+    }
+  }
+
+  /*Copy constructor dengan bobot sisi keluar yang baru, struktur dipakai bersama*/
+  private SparseGraph(SparseGraph graph, double[] outWeight) {
+    numberOfVertex = graph.numberOfVertex;
+    outStart = graph.outStart;
+    outTarget = graph.outTarget;
+    this.outWeight = outWeight;
+    inStart = graph.inStart;
+    inSource = graph.inSource;
+  }
+
+  /**
+   * Membuat daftar ketetanggaan matriks yang bobot beberapa sisinya sudah diubah.
+   * Jika seluruh sisi yang diubah sudah ada dan tetap ada, hanya array bobot yang disalin dalam
+   * O(m) dan struktur dipakai bersama; jika ada sisi yang muncul atau hilang, daftar dibangun ulang
+   * dari matriks. Objek ini tidak diubah sehingga solver yang masih memakainya tidak terganggu.
+   * @param matrix matriks setelah bobotnya diubah
+   * @param beginNode node asal setiap sisi yang diubah
+   * @param endNode node tujuan setiap sisi yang diubah
+   * @return daftar ketetanggaan matriks setelah diubah
+   */
+  SparseGraph update(WeightMatrix matrix, int[] beginNode, int[] endNode) {
+    double[] weight = outWeight.clone();
+    for (int k = 0; k < beginNode.length; ++k) {
+      int edge = findEdge(beginNode[k], endNode[k]);
+      double edgeWeight = matrix.getWeight(beginNode[k], endNode[k]);
+      if ((edge < 0) != (edgeWeight == WeightMatrix.INVALID_WEIGHT)) { //struktur berubah
+        return new SparseGraph(matrix);
+      }
+      if (edge >= 0) {
+        weight[edge] = edgeWeight;
+      }
+    }
+    return new SparseGraph(this, weight);
+  }
+
+  /**
+   * Getter numberOfVertex.
+   * @return banyak vertex
+   */
+  int getNumberOfVertex() {
+    return numberOfVertex;
+  }
+
+  /**
+   * Getter banyak sisi.
+   * @return banyak sisi berarah yang bobotnya bukan INVALID_WEIGHT
+   */
+  int getNumberOfEdge() {
+    return outTarget.length;
+  }
+
+  /**
+   * Indeks sisi keluar pertama suatu vertex.
+   * @param vertex vertex asal
+   * @return indeks sisi pertama untuk getTarget() dan getWeight()
+   */
+  int getOutBegin(int vertex) {
+    return outStart[vertex];
+  }
+
+  /**
+   * Indeks setelah sisi keluar terakhir suatu vertex.
+   * @param vertex vertex asal
+   * @return getOutBegin(vertex) ditambah banyak sisi keluar
+   */
+  int getOutEnd(int vertex) {
+    return outStart[vertex+1];
+  }
+
+  /**
+   * Getter vertex tujuan sisi keluar.
+   * @param edge indeks sisi keluar
+   * @return vertex tujuan
+   */
+  int getTarget(int edge) {
+    return outTarget[edge];
+  }
+
+  /**
+   * Getter bobot sisi keluar.
+   * @param edge indeks sisi keluar
+   * @return bobot sisi, tidak pernah INVALID_WEIGHT
+   */
+  double getWeight(int edge) {
+    return outWeight[edge];
+  }
+
+  /**
+   * Mencari sisi keluar dengan pencarian biner pada daftar vertex asal.
+   * @param beginNode node asal
+   * @param endNode node tujuan
+   * @return indeks sisi keluar, -1 jika bobotnya INVALID_WEIGHT
+   */
+  int findEdge(int beginNode, int endNode) {
+    int edge = Arrays.binarySearch(outTarget, outStart[beginNode], outStart[beginNode+1], endNode);
+    return edge >= 0 ? edge : -1;
+  }
+
+  /**
+   * Indeks sisi masuk pertama suatu vertex.
+   * @param vertex vertex tujuan
+   * @return indeks sisi pertama untuk getSource()
+   */
+  int getInBegin(int vertex) {
+    return inStart[vertex];
+  }
+
+  /**
+   * Indeks setelah sisi masuk terakhir suatu vertex.
+   * @param vertex vertex tujuan
+   * @return getInBegin(vertex) ditambah banyak sisi masuk
+   */
+  int getInEnd(int vertex) {
+    return inStart[vertex+1];
+  }
+
+  /**
+   * Getter vertex asal sisi masuk.
+   * @param edge indeks sisi masuk
+   * @return vertex asal
+   */
+  int getSource(int edge) {
+    return inSource[edge];
+  }
+
+  /**
+   * Memeriksa syarat perlu keberadaan tur : setiap vertex memiliki sisi masuk dan keluar, tidak
+   * ada dua vertex yang hanya dapat menuju (atau hanya dapat didatangi dari) vertex yang sama, graf
+   * terhubung kuat, dan untuk n&gt;=3 graf tak berarahnya tidak memiliki titik artikulasi.
+   * @return false jika pasti tidak ada tur, true jika semua syarat perlu terpenuhi
+   */
+  boolean isTourFeasible() {
+    if (numberOfVertex < 2) {
+      return true;
+    }
+    return isDegreeFeasible() && isReachable(outStart, outTarget)
+        && isReachable(inStart, inSource) && (numberOfVertex < 3 || isBiconnected());
+  }
+
+  /*Setiap vertex memiliki sisi keluar dan masuk, dan tidak ada sisi wajib yang berbenturan*/
+  private boolean isDegreeFeasible() {
+    boolean[] isForcedTarget = new boolean[numberOfVertex];
+    boolean[] isForcedSource = new boolean[numberOfVertex];
+    for (int v = 0; v < numberOfVertex; ++v) {
+      int outDegree = outStart[v+1] - outStart[v];
+      int inDegree = inStart[v+1] - inStart[v];
+      if (outDegree == 0 || inDegree == 0) {
+        return false;
+      }
+      if (outDegree == 1) { //satu-satunya sisi keluar harus dipakai tur
+        int target = outTarget[outStart[v]];
+        if (isForcedTarget[target]) {
+          return false;
+        }
+        isForcedTarget[target] = true;
+      }
+      if (inDegree == 1) {
+        int source = inSource[inStart[v]];
+        if (isForcedSource[source]) {
+          return false;
+        }
+        isForcedSource[source] = true;
+      }
+    }
+    return true;
+  }
+
+  /*Apakah seluruh vertex dapat dicapai dari simpul awal melalui daftar ketetanggaan*/
+  private boolean isReachable(int[] start, int[] neighbor) {
+    boolean[] isReached = new boolean[numberOfVertex];
+    int[] stack = new int[numberOfVertex];
+    int stackSize = 0;
+    stack[stackSize++] = WeightMatrix.START_VERTEX;
+    isReached[WeightMatrix.START_VERTEX] = true;
+    int numberOfReached = 1;
+    while (stackSize > 0) {
+      int vertex = stack[--stackSize];
+      for (int e = start[vertex]; e < start[vertex+1]; ++e) {
+        if (!isReached[neighbor[e]]) {
+          isReached[neighbor[e]] = true;
+          numberOfReached++;
+          stack[stackSize++] = neighbor[e];
+        }
+      }
+    }
+    return numberOfReached == numberOfVertex;
+  }
+
+  /*
+   * Apakah graf tak berarah (sisi masuk dan keluar digabung) tidak memiliki titik artikulasi,
+   * dengan DFS iteratif dan low-link Tarjan. Graf sudah diketahui terhubung.
+   */
+  private boolean isBiconnected() {
+    int[] discovery = new int[numberOfVertex];
+    int[] low = new int[numberOfVertex];
+    int[] parent = new int[numberOfVertex];
+    int[] nextNeighbor = new int[numberOfVertex]; //urutan tetangga berikutnya yang diperiksa
+    int[] stack = new int[numberOfVertex];
+    int stackSize = 0;
+    int time = 0;
+    int root = WeightMatrix.START_VERTEX;
+    int numberOfRootChild = 0;
+    discovery[root] = ++time;
+    low[root] = time;
+    parent[root] = -1;
+    stack[stackSize++] = root;
+    while (stackSize > 0) {
+      int vertex = stack[stackSize-1];
+      int outDegree = outStart[vertex+1] - outStart[vertex];
+      int degree = outDegree + inStart[vertex+1] - inStart[vertex];
+      if (nextNeighbor[vertex] < degree) {
+        int k = nextNeighbor[vertex]++;
+        int neighbor = k < outDegree ? outTarget[outStart[vertex] + k]
+            : inSource[inStart[vertex] + k - outDegree];
+        if (discovery[neighbor] == 0) {
+          discovery[neighbor] = ++time;
+          low[neighbor] = time;
+          parent[neighbor] = vertex;
+          stack[stackSize++] = neighbor;
+          if (vertex == root) {
+            numberOfRootChild++;
+          }
+        } else if (neighbor != parent[vertex]) {
+          low[vertex] = Math.min(low[vertex], discovery[neighbor]);
+        }
+      } else { //seluruh tetangga selesai, low-link diteruskan ke parent
+        stackSize--;
+        int parentVertex = parent[vertex];
+        if (parentVertex >= 0) {
+          low[parentVertex] = Math.min(low[parentVertex], low[vertex]);
+          if (parentVertex != root && low[vertex] >= discovery[parentVertex]) {
+            return false; //parentVertex adalah titik artikulasi
+          }
+        }
+      }
+    }
+    return numberOfRootChild < 2;
+  }
+}
@@ -1,8 +1,13 @@
 //WeightMatrix.java
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Matriks yang menggambarkan bobot dari edge.
@@ -14,52 +19,114 @@ public class WeightMatrix {
   public final static double INVALID_WEIGHT = -1;
   /*Indeks simpul awal dari TSP*/
   public final static int START_VERTEX = 0;
+  /*Konstanta kode fungsi pembatas*/
+  public final static int BOUND_REDUCED_COST_MATRIX = 1;
+  public final static int BOUND_BOBOT_TUR_LENGKAP = 2;
+  public final static int BOUND_ONE_TREE = 3;
+  public final static int BOUND_ASSIGNMENT = 4;
+  /*
+   * Batas waktu heuristik untuk tur awal solveOneTree() dan solveAssignment() dalam milidetik,
+   * dipotong oleh batas waktu penyelesaian
+   */
+  private final static long INITIAL_TOUR_MILLIS = 1000;
+  /*Banyak bilangan yang diubah ke byte sekaligus ketika menghitung hash isi matriks*/
+  private final static int DIGEST_BLOCK_SIZE = 4096;
 
   /*Banyak vertex dari graf yang sama dengan banyak baris dan banyak kolom matriks masukan*/
   private int numberOfVertex;
-  /*Matriks bobot*/
-  private double weight[][];
+  /*Penyimpanan bobot, array datar di heap atau file biner yang di-map ke memori*/
+  private WeightStorage weight;
+  /*Kesimetrisan matriks, null jika belum diperiksa*/
+  private Boolean symmetric;
   /*Banyaknya simpul yang di-generate untuk memecahkan masalah*/
   public int numberOfSimpulToSolve;
   /*Bobot tur terpendek*/
   public double shortestTourWeight;
+  /*Dua tetangga termurah setiap vertex untuk Bobot Tur Lengkap, dihitung saat pertama dibutuhkan*/
+  private volatile int[] cheapestNeighbor;
+  /*Daftar ketetanggaan untuk solver eksak, dihitung saat pertama dibutuhkan*/
+  private volatile SparseGraph sparseGraph;
+  /*Penghitung kemajuan penyelesaian yang sedang berjalan atau terakhir, null jika belum pernah*/
+  private volatile SolverMetrics metrics;
+  /*Penerima kemajuan dan selang waktu pemanggilannya, null jika tidak ada*/
+  private SolverListener solverListener;
+  private long progressIntervalMillis;
+  /*Batas waktu setiap pemanggilan solve dalam milidetik, 0 jika tidak dibatasi*/
+  private long timeLimitMillis = 0;
+  /*Cache hasil penyelesaian, null jika tidak memakai cache*/
+  private SolutionCache solutionCache;
+  /*Hash SHA-256 isi matriks dalam heksadesimal, null jika belum dihitung*/
+  private String contentHash;
+  /*Tur dari cache sebagai kandidat tur awal solve yang sedang berjalan, null jika tidak ada*/
+  private int[] warmStartTour;
+  /*Tur hasil solve terakhir yang menemukan tur, null jika belum ada*/
+  private int[] lastSolution;
+  /*Tur hasil solve sebelum updateWeights() terakhir, kandidat tur awal, null jika tidak ada*/
+  private int[] previousSolution;
 
   /**
    * Konstruktor.
-   * Prekondisi : inputPath berisi dari n baris, masing-masing baris terdiri dari n buah integer, n>0.
+   * Prekondisi : inputPath berisi dari n baris, masing-masing baris terdiri dari n buah bilangan, n>0.
+   * Matriks simetris dikenali saat dibaca dan disimpan sebagai segitiga bawah (lihat
+   * PackedSymmetricWeightStorage) sehingga memakai setengah memori matriks penuh.
    * @param inputPath lokasi relatif file teks input dalam folder.
+   * @throws IOException jika file tidak ditemukan atau gagal dibaca
+   * @throws NoSuchElementException jika isi file bukan matriks n x n, InputMismatchException
+   *     jika ada baris yang banyak bilangannya berbeda
+   * @throws IllegalArgumentException jika matriks tidak simetris dan n*n melebihi ukuran array
+   *     maksimum
    */
-  public WeightMatrix(String inputPath) throws FileNotFoundException, NoSuchElementException {
-    Scanner scanner = new Scanner(new File(inputPath));
-    String[] firstLine = scanner.nextLine().split("(\\s)+");
-    numberOfVertex = firstLine.length;
-    weight = new double[numberOfVertex][numberOfVertex];
-    for (int i = 0; i < numberOfVertex; i++) {
-      try {
-        double parsedWeight = Double.parseDouble(firstLine[i]);
-        if (parsedWeight > 0 && i != 0) {
-          weight[0][i] = parsedWeight;
-        } else {
-          weight[0][i] = INVALID_WEIGHT;
-        }
-      } catch(NumberFormatException nfe) {
-        weight[0][i] = INVALID_WEIGHT;
+  public WeightMatrix(String inputPath) throws IOException, NoSuchElementException {
+    this(load(inputPath, new PackedSymmetricWeightStorage.Loader(false, false)));
+  }
+
+  /*Konstruktor dari hasil pembacaan PackedSymmetricWeightStorage.Loader*/
+  private WeightMatrix(PackedSymmetricWeightStorage.Loader loader) {
+    this(loader.getStorage(), loader.isSymmetric());
+  }
+
+  /**
+   * Konstruktor dari array dua dimensi.
+   * Aturan bobot sama dengan file input : bobot tidak positif dan bobot diagonal menjadi
+   * INVALID_WEIGHT. Matriks simetris disimpan sebagai segitiga bawah seperti pada file input.
+   * @param weight bobot baris i kolom j pada weight[i][j], tidak diubah
+   * @throws IllegalArgumentException jika weight bukan matriks n x n dengan n>0, atau matriks
+   *     tidak simetris dan n*n melebihi ukuran array maksimum
+   */
+  public WeightMatrix(double[][] weight) {
+    numberOfVertex = weight.length;
+    if (numberOfVertex == 0) {
+      throw new IllegalArgumentException("Matriks kosong");
+    }
+    for (int i = 0; i < numberOfVertex; ++i) {
+      if (weight[i].length != numberOfVertex) {
+        throw new IllegalArgumentException("Baris " + i + " berisi " + weight[i].length
+            + " bobot, seharusnya " + numberOfVertex);
       }
     }
-    for (int i = 1; i < numberOfVertex; i++) {
-      for (int j = 0; j < numberOfVertex; j++) {
-        try {
-          double parsedWeight = Double.parseDouble(scanner.next());
-          if (parsedWeight > 0 && i != j) {
-            weight[i][j] = parsedWeight;
-          } else {
-            weight[i][j] = INVALID_WEIGHT;
-          }
-        } catch(NumberFormatException nfe) {
-          weight[i][j] = INVALID_WEIGHT;
-        }
+    PackedSymmetricWeightStorage.Loader loader = new PackedSymmetricWeightStorage.Loader(false,
+        false);
+    loader.begin(numberOfVertex);
+    double[] rowWeight = new double[numberOfVertex];
+    for (int i = 0; i < numberOfVertex; ++i) {
+      for (int j = 0; j < numberOfVertex; ++j) {
+        rowWeight[j] = weight[i][j] > 0 && i != j ? weight[i][j] : INVALID_WEIGHT;
       }
+      loader.acceptRow(i, rowWeight);
     }
+    this.weight = loader.getStorage();
+    symmetric = loader.isSymmetric();
+  }
+
+  /**
+   * Konstruktor dari penyimpanan bobot yang sudah ada.
+   * @param weight penyimpanan bobot
+   * @param symmetric kesimetrisan matriks jika sudah diketahui, null jika belum
+   */
+  WeightMatrix(WeightStorage weight, Boolean symmetric) {
+    numberOfVertex = weight.getNumberOfVertex();
+    this.weight = weight;
+    this.symmetric = symmetric;
   }
 
   /**
@@ -68,12 +135,90 @@ public class WeightMatrix {
    */
   public WeightMatrix(WeightMatrix weightMatrix) {
     numberOfVertex = weightMatrix.numberOfVertex;
-    weight = new double[numberOfVertex][numberOfVertex];
-    for (int i = 0; i < numberOfVertex; i++) {
-      for (int j = 0; j < numberOfVertex; j++) {
-        weight[i][j] = weightMatrix.weight[i][j];
-      }
+    weight = weightMatrix.weight.copy();
+    symmetric = weightMatrix.symmetric;
+  }
+
+  /**
+   * Membuka file input, baik file teks, file biner (lihat BinaryMatrixFile), maupun file
+   * koordinat TSPLIB (.tsp) atau CSV (.csv). File biner dikenali dari magic number di awal file dan
+   * di-map ke memori tanpa disalin.
+   * @param inputPath lokasi file input
+   * @return matriks bobot
+   * @throws IOException jika file tidak ditemukan, gagal dibaca, atau file biner rusak
+   * @throws NoSuchElementException jika file teks bukan matriks n x n atau file koordinat tidak
+   *     lengkap
+   */
+  public static WeightMatrix open(String inputPath) throws IOException, NoSuchElementException {
+    if (CoordinateLoader.isCoordinateFile(inputPath)) {
+      return openCoordinate(inputPath, 0);
+    }
+    if (BinaryMatrixFile.isBinaryFile(inputPath)) {
+      return BinaryMatrixFile.open(inputPath);
     }
+    return new WeightMatrix(inputPath);
+  }
+
+  /**
+   * Membuka file teks berisi matriks simetris sebagai segitiga bawah yang dipadatkan.
+   * Berbeda dengan konstruktor, matriks yang tidak simetris ditolak, dan bobot dapat disimpan
+   * sebagai float sehingga matriks hanya memakai seperempat memori matriks penuh.
+   * @param inputPath lokasi file teks input
+   * @param isSinglePrecision true untuk menyimpan bobot sebagai float, false sebagai double
+   * @return matriks bobot simetris
+   * @throws IOException jika file tidak ditemukan atau gagal dibaca
+   * @throws NoSuchElementException jika isi file bukan matriks n x n, InputMismatchException
+   *     jika ada baris yang banyak bilangannya berbeda atau matriks tidak simetris
+   * @throws IllegalArgumentException jika banyak vertex melebihi
+   *     PackedSymmetricWeightStorage.MAXIMUM_NUMBER_OF_VERTEX
+   */
+  public static WeightMatrix openSymmetric(String inputPath, boolean isSinglePrecision)
+      throws IOException, NoSuchElementException {
+    return new WeightMatrix(load(inputPath,
+        new PackedSymmetricWeightStorage.Loader(isSinglePrecision, true)));
+  }
+
+  /*Membaca file teks ke loader*/
+  private static PackedSymmetricWeightStorage.Loader load(String inputPath,
+      PackedSymmetricWeightStorage.Loader loader) throws IOException {
+    new MatrixLoader(inputPath).load(loader);
+    return loader;
+  }
+
+  /**
+   * Membuka file biner yang di-map ke memori.
+   * @param binaryPath lokasi file biner
+   * @return matriks bobot yang dibaca langsung dari file
+   * @throws IOException jika file tidak ditemukan, gagal dibaca, atau bukan file biner yang valid
+   */
+  public static WeightMatrix openBinary(String binaryPath) throws IOException {
+    return BinaryMatrixFile.open(binaryPath);
+  }
+
+  /**
+   * Membuka file koordinat TSPLIB (.tsp) atau CSV (.csv).
+   * Bobot dihitung dari koordinat saat dibutuhkan sehingga memori sebanding dengan banyak vertex.
+   * @param inputPath lokasi file koordinat
+   * @param cacheSize banyak entri cache jarak, 0 jika tidak memakai cache
+   * @return matriks bobot simetris
+   * @throws IOException jika file tidak ditemukan atau gagal dibaca
+   * @throws NoSuchElementException jika file tidak lengkap, InputMismatchException jika ada baris
+   *     yang tidak sesuai format
+   */
+  public static WeightMatrix openCoordinate(String inputPath, int cacheSize)
+      throws IOException, NoSuchElementException {
+    return new WeightMatrix(new CoordinateLoader(inputPath, cacheSize).load(), true);
+  }
+
+  /**
+   * Menulis matriks ke file biner.
+   * @param binaryPath lokasi file biner
+   * @param isSinglePrecision true untuk menyimpan bobot sebagai float, false sebagai double
+   * @throws IOException jika file gagal ditulis
+   */
+  public void writeBinary(String binaryPath, boolean isSinglePrecision) throws IOException {
+    BinaryMatrixFile.write(this, binaryPath, isSinglePrecision
+        ? BinaryMatrixFile.PRECISION_FLOAT : BinaryMatrixFile.PRECISION_DOUBLE);
   }
 
   /**
@@ -91,7 +236,301 @@ public class WeightMatrix {
    * @return bobot dari node asal ke node tujuan
    */
   public double getWeight(int beginNode, int endNode) {
-    return weight[beginNode][endNode];
+    return weight.getWeight(beginNode, endNode);
+  }
+
+  /**
+   * Getter penyimpanan bobot.
+   * @return penyimpanan bobot
+   */
+  WeightStorage getStorage() {
+    return weight;
+  }
+
+  /**
+   * Memeriksa apakah matriks simetris, yaitu graf tak berarah.
+   * @return true jika bobot setiap sisi sama pada kedua arah
+   */
+  public boolean isSymmetric() {
+    if (symmetric == null) {
+      symmetric = computeSymmetric();
+    }
+    return symmetric;
+  }
+
+  /*Memeriksa kesimetrisan seluruh matriks*/
+  private boolean computeSymmetric() {
+    for (int i = 0; i < numberOfVertex; i++) {
+      for (int j = i + 1; j < numberOfVertex; j++) {
+        if (getWeight(i, j) != getWeight(j, i)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Mengubah bobot sekumpulan sisi sekaligus pada matriks yang sudah diselesaikan, misalnya ketika
+   * waktu tempuh beberapa ruas jalan berubah, lalu matriks dapat diselesaikan ulang dengan solve
+   * apa pun.
+   * Aturan bobot sama dengan file input : bobot tidak positif menjadi INVALID_WEIGHT dan bobot
+   * diagonal tidak diubah. Hasil perhitungan yang masih berlaku dipakai ulang : daftar ketetanggaan
+   * hanya disalin bobotnya jika tidak ada sisi yang muncul atau hilang, dan dua tetangga termurah
+   * hanya dihitung ulang untuk vertex asal sisi yang diubah. Setiap solve berikutnya memakai tur
+   * hasil solve terakhir sebelum perubahan sebagai kandidat tur awal, sehingga solver branch and
+   * bound langsung memiliki batas atas yang biasanya optimal atau hampir optimal.
+   * Penyimpanan yang tidak dapat diubah (file biner dan file koordinat) disalin lebih dulu ke
+   * matriks penuh di heap, demikian juga matriks simetris padat jika perubahannya tidak simetris.
+   * Tidak boleh dipanggil selama solver berjalan.
+   * @param beginNode node asal setiap sisi
+   * @param endNode node tujuan setiap sisi
+   * @param newWeight bobot baru setiap sisi, bobot terakhir berlaku jika satu sisi muncul berulang
+   * @throws IllegalArgumentException jika panjang ketiga array berbeda atau ada node di luar
+   *     matriks
+   * @throws IllegalStateException jika matriks terlalu besar untuk disalin ke heap
+   */
+  public synchronized void updateWeights(int[] beginNode, int[] endNode, double[] newWeight) {
+    if (beginNode.length != endNode.length || beginNode.length != newWeight.length) {
+      throw new IllegalArgumentException("Banyak node asal " + beginNode.length + ", node tujuan "
+          + endNode.length + ", dan bobot " + newWeight.length + " harus sama");
+    }
+    double[] edgeWeight = new double[newWeight.length];
+    for (int k = 0; k < newWeight.length; ++k) {
+      if (beginNode[k] < 0 || beginNode[k] >= numberOfVertex
+          || endNode[k] < 0 || endNode[k] >= numberOfVertex) {
+        throw new IllegalArgumentException("Sisi di luar matriks : " + beginNode[k] + " ke "
+            + endNode[k]);
+      }
+      edgeWeight[k] = newWeight[k] > 0 ? newWeight[k] : INVALID_WEIGHT;
+    }
+    boolean isSymmetricUpdate = Boolean.TRUE.equals(symmetric)
+        && isSymmetricUpdate(beginNode, endNode, edgeWeight);
+    if (!(weight instanceof DenseWeightStorage)
+        && !(weight instanceof PackedSymmetricWeightStorage && isSymmetricUpdate)) {
+      weight = copyToDense();
+    }
+    for (int k = 0; k < edgeWeight.length; ++k) {
+      if (beginNode[k] == endNode[k]) {
+        continue;
+      }
+      if (weight instanceof DenseWeightStorage) {
+        ((DenseWeightStorage) weight).setWeight(beginNode[k], endNode[k], edgeWeight[k]);
+      } else {
+        ((PackedSymmetricWeightStorage) weight).setWeight(beginNode[k], endNode[k], edgeWeight[k]);
+      }
+    }
+    contentHash = null;
+    symmetric = Boolean.TRUE.equals(symmetric) ? Boolean.valueOf(isSymmetricUpdate) : null;
+    SparseGraph graph = sparseGraph;
+    if (graph != null) {
+      sparseGraph = graph.update(this, beginNode, endNode);
+    }
+    int[] neighbor = cheapestNeighbor;
+    if (neighbor != null) { //tetangga termurah vertex lain tidak berubah
+      neighbor = neighbor.clone();
+      boolean[] isUpdated = new boolean[numberOfVertex];
+      for (int vertex : beginNode) {
+        if (!isUpdated[vertex]) {
+          isUpdated[vertex] = true;
+          fillCheapestNeighbor(neighbor, getSparseGraph(), vertex);
+        }
+      }
+      Arrays.fill(isUpdated, false);
+      for (int vertex : endNode) {
+        if (!isUpdated[vertex]) {
+          isUpdated[vertex] = true;
+          fillCheapestInNeighbor(neighbor, getSparseGraph(), vertex);
+        }
+      }
+      cheapestNeighbor = neighbor;
+    }
+    if (lastSolution != null) {
+      previousSolution = lastSolution;
+    }
+  }
+
+  /*Apakah matriks simetris tetap simetris setelah perubahan, bobot terakhir setiap sisi berlaku*/
+  private boolean isSymmetricUpdate(int[] beginNode, int[] endNode, double[] edgeWeight) {
+    Map<Long,Double> updatedWeight = new HashMap<>();
+    for (int k = 0; k < edgeWeight.length; ++k) {
+      if (beginNode[k] != endNode[k]) {
+        updatedWeight.put((long) beginNode[k] * numberOfVertex + endNode[k], edgeWeight[k]);
+      }
+    }
+    for (Map.Entry<Long,Double> entry : updatedWeight.entrySet()) {
+      int i = (int) (entry.getKey() / numberOfVertex);
+      int j = (int) (entry.getKey() % numberOfVertex);
+      double reverseWeight = updatedWeight.getOrDefault((long) j * numberOfVertex + i,
+          getWeight(j, i));
+      if (reverseWeight != entry.getValue()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Menghitung banyak sel matriks penuh yang disimpan dalam satu array.
+   * @param numberOfVertex banyak vertex
+   * @return numberOfVertex*numberOfVertex
+   * @throws IllegalArgumentException jika banyak sel melebihi ukuran array maksimum
+   */
+  static int computeDenseSize(int numberOfVertex) {
+    if ((long) numberOfVertex * numberOfVertex > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Matriks " + numberOfVertex
+          + " vertex terlalu besar untuk matriks penuh, maksimal "
+          + (int) Math.sqrt(Integer.MAX_VALUE) + " vertex");
+    }
+    return numberOfVertex * numberOfVertex;
+  }
+
+  /*Menyalin seluruh bobot ke matriks penuh di heap agar dapat diubah*/
+  private DenseWeightStorage copyToDense() {
+    if ((long) numberOfVertex * numberOfVertex > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Matriks " + numberOfVertex
+          + " vertex terlalu besar untuk diubah");
+    }
+    double[] dense = new double[numberOfVertex * numberOfVertex];
+    for (int i = 0; i < numberOfVertex; ++i) {
+      for (int j = 0; j < numberOfVertex; ++j) {
+        dense[i*numberOfVertex + j] = getWeight(i, j);
+      }
+    }
+    return new DenseWeightStorage(numberOfVertex, dense);
+  }
+
+  /**
+   * Mengatur penerima kemajuan untuk setiap pemanggilan solve berikutnya.
+   * Listener dipanggil dari thread pelapor setiap intervalMillis dan sekali lagi ketika solver
+   * selesai, sehingga solver yang macet tetap terlihat.
+   * @param listener penerima kemajuan, null untuk berhenti menerima
+   * @param intervalMillis selang waktu pemanggilan dalam milidetik, minimal 1
+   */
+  public void setSolverListener(SolverListener listener, long intervalMillis) {
+    if (listener != null && intervalMillis < 1) {
+      throw new IllegalArgumentException("Selang waktu minimal 1 milidetik : " + intervalMillis);
+    }
+    solverListener = listener;
+    progressIntervalMillis = intervalMillis;
+  }
+
+  /**
+   * Mengatur batas waktu untuk setiap pemanggilan solve berikutnya.
+   * Solver yang melewati batas waktu, atau yang thread pemanggilnya diinterupsi, berhenti dan
+   * mengembalikan tur terbaik yang sudah ditemukan. Batas bawah yang sudah terbukti dapat dibaca
+   * dari getMetrics().getLowerBound() dan getMetrics().isStopped() bernilai true.
+   * @param timeLimitMillis batas waktu dalam milidetik, 0 untuk tanpa batas waktu
+   */
+  public void setTimeLimitMillis(long timeLimitMillis) {
+    if (timeLimitMillis < 0) {
+      throw new IllegalArgumentException("Batas waktu tidak boleh negatif : " + timeLimitMillis);
+    }
+    this.timeLimitMillis = timeLimitMillis;
+  }
+
+  /**
+   * Menjalankan solver di thread tersendiri.
+   * Contoh : matrix.solveAsync(WeightMatrix::solveReducedCostMatrix). Batas waktu dari
+   * setTimeLimitMillis() dan listener dari setSolverListener() tetap berlaku. Selama solver berjalan
+   * matriks ini tidak boleh dipakai untuk penyelesaian lain.
+   * @param solver method solve yang dijalankan
+   * @return handle untuk menunggu, membatalkan, atau memantau penyelesaian
+   */
+  public SolveHandle solveAsync(Function<WeightMatrix,int[]> solver) {
+    return new SolveHandle(this, solver);
+  }
+
+  /**
+   * Mengatur cache hasil untuk setiap pemanggilan solve berikutnya.
+   * Jika matriks dengan isi yang sama sudah pernah diselesaikan dengan algoritma yang sama, solve
+   * langsung mengembalikan tur dari cache dan numberOfSimpulToSolve bernilai 0. Jika belum, tur
+   * terdekat di cache dipakai sebagai tur awal solver branch and bound, lalu hasil yang selesai
+   * (tidak dihentikan batas waktu) disimpan ke cache. Satu cache boleh dipakai banyak matriks.
+   * @param solutionCache cache hasil, null untuk tidak memakai cache
+   */
+  public void setSolutionCache(SolutionCache solutionCache) {
+    this.solutionCache = solutionCache;
+  }
+
+  /**
+   * Getter hash isi matriks, dihitung sekali lalu disimpan.
+   * @return hash SHA-256 dari jenis penyimpanan, banyak vertex, dan isi penyimpanan bobot dalam
+   *     heksadesimal
+   */
+  String getContentHash() {
+    if (contentHash == null) {
+      contentHash = computeContentHash();
+    }
+    return contentHash;
+  }
+
+  /*
+   * Menghitung hash isi matriks dari data penyimpanan bobot, sehingga matriks koordinat cukup
+   * O(n) dan matriks lain tidak memanggil getWeight() untuk setiap pasangan vertex
+   */
+  private String computeContentHash() {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException(exception); //SHA-256 wajib ada di setiap JVM
+    }
+    weight.updateContentHash(digest);
+    StringBuilder hash = new StringBuilder();
+    for (byte value : digest.digest()) {
+      hash.append(String.format("%02x", value));
+    }
+    return hash.toString();
+  }
+  /**
+   * Menambahkan jenis penyimpanan dan banyak vertex ke hash isi matriks.
+   * @param digest hash yang sedang dihitung
+   * @param kind nama jenis penyimpanan beserta parameter yang memengaruhi bobot
+   * @param numberOfVertex banyak vertex
+   */
+  static void updateDigest(MessageDigest digest, String kind, int numberOfVertex) {
+    digest.update(kind.getBytes(StandardCharsets.UTF_8));
+    digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(numberOfVertex).array());
+  }
+
+  /**
+   * Menambahkan array ke hash isi matriks per blok tanpa membuat array byte seukuran seluruh isi.
+   * @param digest hash yang sedang dihitung
+   * @param values bilangan yang di-hash
+   */
+  static void updateDigest(MessageDigest digest, double[] values) {
+    ByteBuffer block = ByteBuffer.allocate(Double.BYTES * DIGEST_BLOCK_SIZE);
+    for (int start = 0; start < values.length; start += DIGEST_BLOCK_SIZE) {
+      int length = Math.min(DIGEST_BLOCK_SIZE, values.length - start);
+      block.asDoubleBuffer().put(values, start, length);
+      digest.update(block.array(), 0, length * Double.BYTES);
+    }
+  }
+
+  /**
+   * Menambahkan array ke hash isi matriks per blok tanpa membuat array byte seukuran seluruh isi.
+   * @param digest hash yang sedang dihitung
+   * @param values bilangan yang di-hash
+   */
+  static void updateDigest(MessageDigest digest, float[] values) {
+    ByteBuffer block = ByteBuffer.allocate(Float.BYTES * DIGEST_BLOCK_SIZE);
+    for (int start = 0; start < values.length; start += DIGEST_BLOCK_SIZE) {
+      int length = Math.min(DIGEST_BLOCK_SIZE, values.length - start);
+      block.asFloatBuffer().put(values, start, length);
+      digest.update(block.array(), 0, length * Float.BYTES);
+    }
+  }
+
+
+  /**
+   * Getter metrics. Berbeda dengan numberOfSimpulToSolve dan shortestTourWeight yang baru diisi
+   * setelah solver selesai, penghitung ini dapat dibaca dari thread lain selama solver berjalan.
+   * @return penghitung kemajuan penyelesaian yang sedang berjalan atau terakhir, null jika belum
+   *     pernah menyelesaikan
+   */
+  public SolverMetrics getMetrics() {
+    return metrics;
   }
 
   /**
@@ -100,7 +539,7 @@ public class WeightMatrix {
   public void print() {
     for (int i = 0; i < numberOfVertex; i++) {
       for (int j = 0; j < numberOfVertex; j++) {
-        System.out.print(weight[i][j]+" ");
+        System.out.print(getWeight(i, j)+" ");
       }
       System.out.println();
     }
@@ -109,261 +548,801 @@ public class WeightMatrix {
 
   /**
    * Menyelesaikan TSP dengan Bobot Tur Lengkap.
-   * @return array berisi urutan nomor vertex yang harus dilewati
+   * Simpul disimpan dalam arena array primitif (BobotTurLengkapSearch) sehingga jutaan simpul hidup
+   * muat di memori yang jauh lebih kecil daripada objek Simpul.
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ada tur
    */
   public int[] solveBobotTurLengkap() {
-    numberOfSimpulToSolve = 0;
-    PriorityQueue<SimpulBobotTurLengkap> queue
-        = new PriorityQueue<>(new SimpulBobotTurLengkapComparator());
-    SimpulBobotTurLengkap head = new SimpulBobotTurLengkap();
-    queue.add(head);
-    numberOfSimpulToSolve++;
-    while (!queue.isEmpty()) {
-      head = queue.poll();
-      if (head.level < numberOfVertex) { //bukan daun
-        for (int i = 0; i < numberOfVertex; ++i) {
-          if (!head.isVisited[i]) {
-            SimpulBobotTurLengkap simpul = new SimpulBobotTurLengkap(head, i);
-            queue.add(simpul);
-            numberOfSimpulToSolve++;
-          }
-        }
-      } else { //daun, bunuh simpul yang pasti bukan solusi
-        PriorityQueue<SimpulBobotTurLengkap> temporaryQueue
-            = new PriorityQueue<>(new SimpulBobotTurLengkapComparator());
-        while (!queue.isEmpty()) {
-          SimpulBobotTurLengkap otherThanHead = queue.poll();
-          if (otherThanHead.cost < head.cost) {
-            temporaryQueue.add(otherThanHead);
-          }
-        }
-        queue = temporaryQueue;
+    return solveCached("bobot-tur-lengkap",
+        () -> solveIfFeasible(this::solveBobotTurLengkapSearch));
+  }
+
+  /*Best-first Bobot Tur Lengkap tanpa cache*/
+  private int[] solveBobotTurLengkapSearch() {
+    SolverMetrics solveMetrics = startMetrics();
+    try {
+      BobotTurLengkapSearch search = new BobotTurLengkapSearch(this, solveMetrics);
+      search.setInitialTour(selectInitialTour(null));
+      search.run();
+      int[] solution = search.getTour();
+      numberOfSimpulToSolve = search.getNumberOfSimpul();
+      shortestTourWeight = search.getTourWeight();
+      if (solution == null && solveMetrics.isStopped()) {
+        solution = computeNearestNeighbourTour();
+        shortestTourWeight = computeTourWeight(solution);
       }
+      solveMetrics.finish(Math.min(search.getLowerBound(), shortestTourWeight), shortestTourWeight);
+      return solution;
+    } finally {
+      solveMetrics.stopReporting();
     }
-    int[] solution = new int[numberOfVertex];
-    for (int i = numberOfVertex-1; i >= 0; --i) {
-      solution[i] = head.vertex;
-      head = head.parent;
-    }
-    shortestTourWeight = 0;
-    for (int i = 0; i < numberOfVertex; ++i) {
-      shortestTourWeight += weight[solution[i]][solution[(i+1)%numberOfVertex]];
-    }
-    return solution;
   }
 
   /**
    * Menyelesaikan TSP dengan Reduced Cost Matrix.
-   * @return array berisi urutan nomor vertex yang harus dilewati
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ada tur
+   * @throws IllegalArgumentException jika matriks kerja n x n melebihi ukuran array maksimum
    */
   public int[] solveReducedCostMatrix() {
-    numberOfSimpulToSolve = 0;
-    PriorityQueue<SimpulReducedCostMatrix> queue
-        = new PriorityQueue<>(new SimpulReducedCostMatrixComparator());
-    SimpulReducedCostMatrix head = new SimpulReducedCostMatrix(this);
-    queue.add(head);
-    numberOfSimpulToSolve++;
-    while (!queue.isEmpty()) {
-      head = queue.poll();
-      if (head.level < numberOfVertex) { //bukan daun
-        for (int i = 0; i < numberOfVertex; ++i) {
-          if (head.matrix.weight[head.vertex][i] != INVALID_WEIGHT) {
-            SimpulReducedCostMatrix simpul = new SimpulReducedCostMatrix(head, i);
-            queue.add(simpul);
-            numberOfSimpulToSolve++;
-          }
+    return solveCached("reduced-cost-matrix", () -> solveIfFeasible(
+        () -> solveBranchAndBound(new ReducedCostMatrixExpander(), Integer.MAX_VALUE,
+            solveMetrics -> null)));
+  }
+
+  /**
+   * Menyelesaikan TSP tak berarah dengan batas 1-tree Held-Karp.
+   * Nilai batas jauh lebih ketat daripada Bobot Tur Lengkap sehingga pohon ruang status jauh lebih
+   * kecil, namun setiap simpul lebih mahal. Pencarian diawali dengan tur heuristik sebagai batas
+   * atas agar sisi dapat dieliminasi sejak akar.
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ada tur
+   * @throws IllegalArgumentException jika matriks tidak simetris
+   */
+  public int[] solveOneTree() {
+    return solveCached("one-tree", () -> solveIfFeasible(() -> solveBranchAndBound(
+        createExpander(BOUND_ONE_TREE), Integer.MAX_VALUE, this::computeHeuristicTour)));
+  }
+
+  /**
+   * Menyelesaikan TSP dengan batas assignment problem, terutama untuk graf berarah.
+   * Nilai batas jauh lebih ketat daripada Reduced Cost Matrix dan setiap anak hanya membutuhkan
+   * perbaikan O(n^2) dari assignment parent. Pencarian diawali dengan tur heuristik sebagai batas
+   * atas. Pada graf tak berarah batas ini lemah karena subtur dua vertex, gunakan solveOneTree().
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ada tur
+   */
+  public int[] solveAssignment() {
+    return solveCached("assignment", () -> solveIfFeasible(() -> solveBranchAndBound(
+        createExpander(BOUND_ASSIGNMENT), Integer.MAX_VALUE, this::computeHeuristicTour)));
+  }
+
+  /**
+   * Menyelesaikan TSP dengan branch and bound depth-first.
+   * Memori yang dipakai sebanding dengan kedalaman pohon, bukan dengan banyaknya simpul hidup.
+   * Pencarian diawali dengan tur nearest neighbour sebagai batas atas.
+   * @param bound fungsi pembatas, BOUND_REDUCED_COST_MATRIX atau BOUND_BOBOT_TUR_LENGKAP
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ada tur
+   */
+  public int[] solveDepthFirst(int bound) {
+    return solveCached("depth-first:" + bound, () -> solveIfFeasible(
+        () -> solveBranchAndBound(createExpander(bound), 0,
+            solveMetrics -> computeNearestNeighbourTour())));
+  }
+
+  /**
+   * Menyelesaikan TSP dengan branch and bound best-first yang dibatasi banyaknya simpul hidup.
+   * Jika antrian sudah berisi maximumOpenSimpul simpul, subpohon dari simpul terbaik diselesaikan
+   * secara depth-first sehingga antrian tidak bertambah. Pencarian diawali dengan tur nearest
+   * neighbour sebagai batas atas.
+   * @param bound fungsi pembatas, BOUND_REDUCED_COST_MATRIX atau BOUND_BOBOT_TUR_LENGKAP
+   * @param maximumOpenSimpul banyak simpul maksimum di dalam antrian, 0 berarti depth-first murni
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ada tur
+   */
+  public int[] solveBestFirst(int bound, int maximumOpenSimpul) {
+    return solveCached("best-first:" + bound, () -> solveIfFeasible(() -> solveBranchAndBound(
+        createExpander(bound), maximumOpenSimpul, solveMetrics -> computeNearestNeighbourTour())));
+  }
+
+  /**
+   * Menyelesaikan TSP dengan branch and bound paralel.
+   * Bobot tur yang dihasilkan sama dengan solver sekuensial dengan fungsi pembatas yang sama.
+   * Untuk BOUND_ONE_TREE dan BOUND_ASSIGNMENT, pencarian diawali dengan tur heuristik.
+   * @param bound fungsi pembatas, BOUND_REDUCED_COST_MATRIX, BOUND_BOBOT_TUR_LENGKAP,
+   *     BOUND_ONE_TREE, atau BOUND_ASSIGNMENT
+   * @param numberOfThread banyaknya thread pencarian, minimal 1
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ada tur
+   */
+  public int[] solveParallel(int bound, int numberOfThread) {
+    return solveCached("parallel:" + bound,
+        () -> solveIfFeasible(() -> solveParallelSearch(bound, numberOfThread)));
+  }
+
+  /*Branch and bound paralel tanpa cache*/
+  private int[] solveParallelSearch(int bound, int numberOfThread) {
+    SolverMetrics solveMetrics = startMetrics();
+    try {
+      ParallelBranchAndBound search = new ParallelBranchAndBound(this, bound, numberOfThread,
+          solveMetrics);
+      if (bound == BOUND_ONE_TREE || bound == BOUND_ASSIGNMENT) {
+        search.setInitialTour(computeHeuristicTour(solveMetrics));
+      }
+      search.setInitialTour(warmStartTour);
+      int[] solution = search.solve();
+      numberOfSimpulToSolve = search.getNumberOfSimpul();
+      shortestTourWeight = search.getTourWeight();
+      if (solution == null && solveMetrics.isStopped()) {
+        solution = computeNearestNeighbourTour();
+        shortestTourWeight = computeTourWeight(solution);
+      }
+      solveMetrics.finish(search.getLowerBound(), shortestTourWeight);
+      return solution;
+    } finally {
+      solveMetrics.stopReporting();
+    }
+  }
+
+  /**
+   * Menyelesaikan TSP secara heuristik dengan konstruksi greedy edge lalu local search 2-opt,
+   * Or-opt, dan Or-3opt. Tur tidak dijamin optimal, tetapi dapat dipakai untuk ribuan vertex.
+   * Setelah selesai, numberOfSimpulToSolve berisi banyaknya langkah perbaikan yang diterapkan dan
+   * getMetrics().isStopped() bernilai true jika local search dihentikan sebelum optimal lokal.
+   * @param timeLimitMillis batas waktu local search dalam milidetik, 0 untuk tur konstruksi saja
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ditemukan tur
+   */
+  public int[] solveHeuristic(long timeLimitMillis) {
+    return solveCached("heuristic:" + timeLimitMillis,
+        () -> solveHeuristicSearch(timeLimitMillis));
+  }
+
+  /*Heuristik tanpa cache*/
+  private int[] solveHeuristicSearch(long timeLimitMillis) {
+    SolverMetrics solveMetrics = startMetrics();
+    try {
+      HeuristicSolver solver = new HeuristicSolver(this);
+      solver.setMetrics(solveMetrics);
+      solver.setInitialTour(warmStartTour);
+      int[] solution = solver.solve(timeLimitMillis);
+      numberOfSimpulToSolve = solver.getNumberOfImprovement();
+      shortestTourWeight = computeTourWeight(solution);
+      if (solver.isStopped()) { //status mengikuti local search, apa pun batas waktu yang tercapai
+        solveMetrics.requestStop();
+      }
+      solveMetrics.finish(Double.NEGATIVE_INFINITY, shortestTourWeight);
+      return solution;
+    } finally {
+      solveMetrics.stopReporting();
+    }
+  }
+
+  /**
+   * Menyelesaikan TSP besar dengan dekomposisi : vertex dibagi menjadi cluster berisi paling banyak
+   * clusterSize vertex, setiap cluster diselesaikan secara eksak pada sub-matriks oleh beberapa
+   * thread sekaligus, lalu tur cluster disambung, diperbaiki dengan local search, dan setiap
+   * segmennya diselesaikan ulang secara eksak (lihat DecompositionSolver). Tur tidak dijamin
+   * optimal, namun tidak lebih berat dari solveHeuristic() dan seluruh prosesor dipakai.
+   * Setelah selesai, numberOfSimpulToSolve berisi banyaknya simpul seluruh solver cluster.
+   * @param clusterSize banyak vertex maksimum setiap cluster dan segmen, minimal 2
+   * @param numberOfThread banyaknya thread untuk menyelesaikan cluster dan segmen, minimal 1
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ditemukan tur
+   */
+  public int[] solveDecomposition(int clusterSize, int numberOfThread) {
+    return solveCached("decomposition:" + clusterSize,
+        () -> solveDecompositionSearch(clusterSize, numberOfThread));
+  }
+
+  /*Dekomposisi tanpa cache*/
+  private int[] solveDecompositionSearch(int clusterSize, int numberOfThread) {
+    SolverMetrics solveMetrics = startMetrics();
+    try {
+      DecompositionSolver solver = new DecompositionSolver(this);
+      solver.setMetrics(solveMetrics);
+      solver.setInitialTour(warmStartTour);
+      int[] solution = solver.solve(clusterSize, numberOfThread);
+      numberOfSimpulToSolve = (int) Math.min(solver.getNumberOfSimpul(), Integer.MAX_VALUE);
+      shortestTourWeight = computeTourWeight(solution);
+      solveMetrics.finish(Double.NEGATIVE_INFINITY, shortestTourWeight);
+      return solution;
+    } finally {
+      solveMetrics.stopReporting();
+    }
+  }
+
+  /**
+   * Menyelesaikan TSP dengan dynamic programming Held-Karp.
+   * Waktu eksekusi O(2^n * n^2) untuk matriks apa pun, namun memori juga eksponensial sehingga
+   * gunakan isHeldKarpFeasible() terlebih dahulu.
+   * @param numberOfThread banyaknya thread untuk mengisi tabel, minimal 1
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ada tur
+   */
+  public int[] solveHeldKarp(int numberOfThread) {
+    return solveCached("held-karp",
+        () -> solveIfFeasible(() -> solveHeldKarpTable(numberOfThread)));
+  }
+
+  /*Dynamic programming Held-Karp tanpa cache*/
+  private int[] solveHeldKarpTable(int numberOfThread) {
+    SolverMetrics solveMetrics = startMetrics();
+    try {
+      HeldKarpSolver solver = new HeldKarpSolver(this);
+      solver.setMetrics(solveMetrics);
+      int[] solution = solver.solve(numberOfThread);
+      numberOfSimpulToSolve = (int) Math.min(solver.getNumberOfState(), Integer.MAX_VALUE);
+      shortestTourWeight = solver.getTourWeight();
+      solveMetrics.finish(solveMetrics.isStopped() ? Double.NEGATIVE_INFINITY : shortestTourWeight,
+          shortestTourWeight);
+      return solution;
+    } finally {
+      solveMetrics.stopReporting();
+    }
+  }
+
+  /**
+   * Menghitung memori yang dibutuhkan solveHeldKarp() untuk banyak vertex tertentu.
+   * @param numberOfVertex banyak vertex graf
+   * @return perkiraan memori tabel dalam byte, Long.MAX_VALUE jika tabel tidak dapat dialokasikan
+   */
+  public static long computeHeldKarpMemory(int numberOfVertex) {
+    return HeldKarpSolver.computeMemoryRequirement(numberOfVertex);
+  }
+
+  /**
+   * Memeriksa apakah solveHeldKarp() untuk matriks ini muat dalam batas memori.
+   * @param memoryLimit batas memori dalam byte
+   * @return true jika tabel Held-Karp muat dalam batas memori
+   */
+  public boolean isHeldKarpFeasible(long memoryLimit) {
+    return computeHeldKarpMemory(numberOfVertex) <= memoryLimit;
+  }
+
+  /**
+   * Memeriksa syarat perlu keberadaan tur dalam waktu sebanding dengan banyak sisi : setiap vertex
+   * memiliki sisi masuk dan keluar, graf terhubung kuat, dan graf tak berarahnya tidak memiliki
+   * titik artikulasi. Solver eksak memeriksa syarat ini lebih dulu dan langsung mengembalikan null
+   * jika tidak terpenuhi, alih-alih menghabiskan pohon ruang status.
+   * @return false jika pasti tidak ada tur, true jika tur mungkin ada
+   */
+  public boolean isTourFeasible() {
+    return getSparseGraph().isTourFeasible();
+  }
+
+  /**
+   * Getter daftar ketetanggaan, dihitung sekali lalu disimpan.
+   * @return daftar ketetanggaan seluruh sisi yang bobotnya bukan INVALID_WEIGHT
+   */
+  SparseGraph getSparseGraph() {
+    SparseGraph graph = sparseGraph;
+    return graph != null ? graph : computeSparseGraph();
+  }
+
+  /*Membangun daftar ketetanggaan jika belum dibangun thread lain*/
+  private synchronized SparseGraph computeSparseGraph() {
+    if (sparseGraph == null) {
+      sparseGraph = new SparseGraph(this);
+    }
+    return sparseGraph;
+  }
+
+  /**
+   * Membuat pembangkit simpul untuk fungsi pembatas tertentu.
+   * @param bound fungsi pembatas
+   * @return pembangkit simpul baru, hanya untuk dipakai satu thread
+   */
+  SimpulExpander createExpander(int bound) {
+    switch (bound) {
+      case BOUND_REDUCED_COST_MATRIX:
+        return new ReducedCostMatrixExpander();
+      case BOUND_BOBOT_TUR_LENGKAP:
+        return new BobotTurLengkapExpander();
+      case BOUND_ONE_TREE:
+        if (!isSymmetric()) {
+          throw new IllegalArgumentException("Batas 1-tree hanya untuk graf tak berarah");
         }
-      } else { //daun, bunuh simpul yang pasti bukan solusi
-        PriorityQueue<SimpulReducedCostMatrix> temporaryQueue
-            = new PriorityQueue<>(new SimpulReducedCostMatrixComparator());
-        while (!queue.isEmpty()) {
-          SimpulReducedCostMatrix otherThanHead = queue.poll();
-          if (otherThanHead.cost < head.cost) {
-            temporaryQueue.add(otherThanHead);
-          }
+        return new OneTreeExpander();
+      case BOUND_ASSIGNMENT:
+        return new AssignmentExpander();
+      default:
+        throw new IllegalArgumentException("Fungsi pembatas tidak dikenal : " + bound);
+    }
+  }
+
+  /**
+   * Menghitung bobot tur dari lintasan yang diperpanjang dengan lastVertex lalu kembali ke awal.
+   * @param pathWeight bobot lintasan dari simpul awal hingga vertex
+   * @param vertex vertex terakhir pada lintasan
+   * @param lastVertex vertex terakhir pada tur
+   * @return bobot tur, atau tak hingga jika sisi penutup tidak ada
+   */
+  double computeTourWeight(double pathWeight, int vertex, int lastVertex) {
+    if (getWeight(lastVertex, START_VERTEX) == INVALID_WEIGHT) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return pathWeight + getWeight(vertex, lastVertex) + getWeight(lastVertex, START_VERTEX);
+  }
+
+  /**
+   * Menghitung bobot tur lengkap.
+   * @param tour urutan vertex yang dilewati, kemudian kembali ke vertex pertama
+   * @return bobot tur, atau tak hingga jika tur null atau memuat sisi yang tidak ada
+   */
+  public double computeTourWeight(int[] tour) {
+    if (tour == null) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double tourWeight = 0;
+    for (int i = 0; i < tour.length; ++i) {
+      double edgeWeight = getWeight(tour[i], tour[(i+1)%tour.length]);
+      if (edgeWeight == INVALID_WEIGHT) {
+        return Double.POSITIVE_INFINITY;
+      }
+      tourWeight += edgeWeight;
+    }
+    return tourWeight;
+  }
+
+  /*
+   * Tur awal dari heuristik, dimulai dari warmStartTour jika ada. Heuristik berjalan di dalam
+   * metrics penyelesaian sehingga waktunya terhitung dan ikut berhenti ketika batas waktu
+   * terlewati atau pembatalan diminta.
+   */
+  private int[] computeHeuristicTour(SolverMetrics solveMetrics) {
+    HeuristicSolver solver = new HeuristicSolver(this);
+    solver.setInitialTour(warmStartTour);
+    solver.setMetrics(solveMetrics);
+    return solver.solve(INITIAL_TOUR_MILLIS);
+  }
+
+  /**
+   * Membangun tur secara greedy dengan selalu menuju vertex belum dikunjungi yang terdekat.
+   * @return tur nearest neighbour dari simpul awal, null jika buntu sebelum tur lengkap
+   */
+  int[] computeNearestNeighbourTour() {
+    int[] tour = new int[numberOfVertex];
+    boolean[] isVisited = new boolean[numberOfVertex];
+    tour[0] = START_VERTEX;
+    isVisited[START_VERTEX] = true;
+    SparseGraph graph = getSparseGraph();
+    for (int level = 1; level < numberOfVertex; ++level) {
+      int nearestVertex = -1;
+      double nearestWeight = Double.POSITIVE_INFINITY;
+      for (int e = graph.getOutBegin(tour[level-1]); e < graph.getOutEnd(tour[level-1]); ++e) {
+        int i = graph.getTarget(e);
+        if (!isVisited[i] && (nearestVertex < 0 || graph.getWeight(e) < nearestWeight)) {
+          nearestVertex = i;
+          nearestWeight = graph.getWeight(e);
         }
-        queue = temporaryQueue;
       }
+      if (nearestVertex < 0) {
+        return null;
+      }
+      tour[level] = nearestVertex;
+      isVisited[nearestVertex] = true;
     }
-    int[] solution = new int[numberOfVertex];
-    for (int i = numberOfVertex-1; i >= 0; --i) {
-      solution[i] = head.vertex;
-      head = head.parent;
+    return computeTourWeight(tour) == Double.POSITIVE_INFINITY ? null : tour;
+  }
+
+  /**
+   * Pencarian branch and bound sekuensial.
+   * @param expander pembangkit simpul sesuai fungsi pembatas
+   * @param maximumOpenSimpul banyak simpul maksimum di dalam antrian sebelum beralih ke depth-first
+   * @param initialTourBuilder pembangun tur awal sebagai batas atas, dijalankan setelah metrics
+   *     dimulai, boleh mengembalikan null
+   * @return array berisi urutan nomor vertex yang harus dilewati, null jika tidak ada tur
+   */
+  private int[] solveBranchAndBound(SimpulExpander expander, int maximumOpenSimpul,
+      Function<SolverMetrics,int[]> initialTourBuilder) {
+    SolverMetrics solveMetrics = startMetrics();
+    try {
+      BestFirstSearch search = new BestFirstSearch(maximumOpenSimpul, solveMetrics);
+      int[] initialTour = selectInitialTour(initialTourBuilder.apply(solveMetrics));
+      if (initialTour != null) {
+        search.incumbentTour = initialTour.clone();
+        search.incumbentCost = computeTourWeight(initialTour);
+        solveMetrics.setUpperBound(search.incumbentCost);
+      }
+      search.run(expander);
+      if (search.incumbentTour == null && solveMetrics.isStopped()) {
+        //best-first murni jarang mencapai daun sebelum dihentikan, tur cepat lebih berguna
+        search.incumbentTour = computeNearestNeighbourTour();
+        search.incumbentCost = computeTourWeight(search.incumbentTour);
+      }
+      numberOfSimpulToSolve = search.numberOfSimpul;
+      shortestTourWeight = search.incumbentCost;
+      solveMetrics.finish(Math.min(search.lowerBound, shortestTourWeight), shortestTourWeight);
+      return search.incumbentTour;
+    } finally {
+      solveMetrics.stopReporting();
     }
-    shortestTourWeight = 0;
-    for (int i = 0; i < numberOfVertex; ++i) {
-      shortestTourWeight += weight[solution[i]][solution[(i+1)%numberOfVertex]];
+  }
+
+  /*
+   * Menjalankan solver melalui solutionCache jika ada. Hasil yang ada di cache langsung
+   * dikembalikan tanpa menjalankan solver; jika tidak ada, tur yang lebih ringan antara
+   * previousSolution dan tur terdekat di cache menjadi warmStartTour selama solver berjalan dan
+   * hasil yang selesai disimpan ke cache.
+   */
+  private int[] solveCached(String algorithm, Supplier<int[]> solver) {
+    SolutionCache cache = solutionCache;
+    String key = null;
+    if (cache != null) {
+      key = SolutionCache.createKey(getContentHash(), algorithm);
+      SolutionCache.Entry entry = cache.get(key, numberOfVertex);
+      if (entry != null) {
+        SolverMetrics solveMetrics = startMetrics();
+        numberOfSimpulToSolve = 0;
+        shortestTourWeight = entry.tourWeight;
+        solveMetrics.finish(entry.lowerBound, entry.tourWeight);
+        return recordSolution(entry.tour);
+      }
+    }
+    warmStartTour = previousSolution;
+    if (cache != null) {
+      int[] closestTour = cache.findClosestTour(this);
+      if (computeTourWeight(closestTour) < computeTourWeight(warmStartTour)) {
+        warmStartTour = closestTour;
+      }
+    }
+    try {
+      int[] solution = solver.get();
+      if (cache != null && !metrics.isStopped()) {
+        cache.put(key, solution, shortestTourWeight, metrics.getLowerBound());
+      }
+      return recordSolution(solution);
+    } finally {
+      warmStartTour = null;
+    }
+  }
+
+  /*Menyimpan salinan tur sebagai lastSolution untuk updateWeights(), mengembalikan salinan lain*/
+  private int[] recordSolution(int[] tour) {
+    if (tour == null) {
+      return null;
     }
-    return solution;
+    lastSolution = tour.clone();
+    return tour.clone();
+  }
+
+  /*Menjalankan solver eksak, atau langsung selesai tanpa tur jika isTourFeasible() false*/
+  private int[] solveIfFeasible(Supplier<int[]> solver) {
+    if (isTourFeasible()) {
+      return solver.get();
+    }
+    SolverMetrics solveMetrics = startMetrics();
+    numberOfSimpulToSolve = 0;
+    shortestTourWeight = Double.POSITIVE_INFINITY;
+    solveMetrics.finish(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+    return null;
+  }
+
+  /*Tur awal yang lebih ringan antara initialTour dan warmStartTour, null jika keduanya tidak ada*/
+  private int[] selectInitialTour(int[] initialTour) {
+    if (computeTourWeight(warmStartTour) < computeTourWeight(initialTour)) {
+      return warmStartTour;
+    }
+    return initialTour;
+  }
+
+  /*
+   * Membuat penghitung kemajuan baru dan menjalankan pelapor jika ada listener. Interupsi yang
+   * sudah ada langsung dicatat sebagai permintaan berhenti karena statusnya dapat hilang ketika
+   * thread ini menunggu worker paralel.
+   */
+  private SolverMetrics startMetrics() {
+    SolverMetrics solveMetrics = new SolverMetrics();
+    if (timeLimitMillis > 0) {
+      solveMetrics.setTimeLimitMillis(timeLimitMillis);
+    }
+    if (solverListener != null) {
+      solveMetrics.startReporting(solverListener, progressIntervalMillis);
+    }
+    metrics = solveMetrics;
+    if (Thread.currentThread().isInterrupted()) { //diperiksa setelah metrics terlihat oleh cancel()
+      solveMetrics.requestStop();
+    }
+    return solveMetrics;
   }
 
   /**
-   * Kelas simpul untuk pohon ruang status Bobot Tur Lengkap.
+   * Kelas dasar simpul pohon ruang status yang merepresentasikan lintasan dari simpul awal.
    */
-  private class SimpulBobotTurLengkap {
+  static class Simpul {
 
-    public final SimpulBobotTurLengkap parent; //simpul parent
-    public final boolean[] isVisited; //apakah vertex pada suatu indeks sudah dikunjungi
+    public final Simpul parent; //simpul parent
     public double cost; //nilai batas
+    public final double pathWeight; //bobot lintasan dari simpul awal hingga simpul ini
     public final int level; //level simpul pada pohon ruang status
     public final int vertex; //vertex yang ditempati pada simpul ini
 
-    public SimpulBobotTurLengkap() {
+    public Simpul(double rootCost) {
       parent = null;
-      isVisited = new boolean[numberOfVertex];
+      cost = rootCost;
+      pathWeight = 0;
       level = 1;
       vertex = START_VERTEX;
-      isVisited[vertex] = true;
-      computeCost();
     }
 
-    public SimpulBobotTurLengkap(SimpulBobotTurLengkap parent, int nextVertex) {
+    public Simpul(Simpul parent, int nextVertex, double pathWeight, double cost) {
       this.parent = parent;
-      isVisited = parent.isVisited.clone();
+      this.cost = cost;
+      this.pathWeight = pathWeight;
       level = parent.level + 1;
       vertex = nextVertex;
-      isVisited[vertex] = true;
-      computeCost();
-    }
-
-    void computeCost() {
-      cost = 0;
-      int[][] indexOfMinimumNeighbor = new int[numberOfVertex][2];
-      int[] numberOfMinimumNeighbor = new int[numberOfVertex];
-      SimpulBobotTurLengkap scannedSimpul = this;
-      while (scannedSimpul != null) {
-        if (scannedSimpul.parent != null) {
-          indexOfMinimumNeighbor[scannedSimpul.vertex][numberOfMinimumNeighbor
-              [scannedSimpul.vertex]] = scannedSimpul.parent.vertex;
-          numberOfMinimumNeighbor[scannedSimpul.vertex]++;
-          indexOfMinimumNeighbor[scannedSimpul.parent.vertex][numberOfMinimumNeighbor
-              [scannedSimpul.parent.vertex]] = scannedSimpul.vertex;
-          numberOfMinimumNeighbor[scannedSimpul.parent.vertex]++;
-        }
+    }
+
+    /*Mengisi path dengan urutan vertex dari simpul awal hingga simpul ini*/
+    void fillPath(int[] path) {
+      Simpul scannedSimpul = this;
+      for (int i = level-1; i >= 0; --i) {
+        path[i] = scannedSimpul.vertex;
         scannedSimpul = scannedSimpul.parent;
       }
-      for (int i = 0; i < numberOfVertex; i++) { //iterasi baris
-        while (numberOfMinimumNeighbor[i] < 2) {
-          int excludedIndex;
-          if (numberOfMinimumNeighbor[i] == 1) {
-            excludedIndex = indexOfMinimumNeighbor[i][0];
-          } else {
-            excludedIndex = -1;
+    }
+  }
+
+  /**
+   * Pembangkit simpul anak untuk suatu fungsi pembatas.
+   * Pembangkit boleh menyimpan keadaan kerja, sehingga satu objek hanya dipakai oleh satu thread.
+   */
+  interface SimpulExpander {
+
+    /*Membuat simpul akar*/
+    Simpul createRoot();
+
+    /*Membangkitkan anak dari head ke dalam sink*/
+    void expand(Simpul head, SimpulSink sink);
+  }
+
+  /**
+   * Penampung simpul dan tur yang dibangkitkan oleh SimpulExpander.
+   */
+  interface SimpulSink {
+
+    /*Bobot tur terbaik yang sudah ditemukan, untuk memangkas anak sebelum dibangun*/
+    double getIncumbentCost();
+
+    /*Menerima simpul anak yang bukan daun*/
+    void addSimpul(Simpul simpul);
+
+    /*Menerima tur lengkap berupa lintasan head diperpanjang dengan lastVertex*/
+    void addTour(Simpul head, int lastVertex, double tourWeight);
+  }
+
+  /**
+   * Pencarian best-first sekuensial, simpul dengan nilai batas terkecil diekspansi lebih dulu.
+   * Jika antrian penuh, subpohon simpul terbaik diselesaikan secara depth-first.
+   */
+  private class BestFirstSearch implements SimpulSink {
+
+    private final SimpulComparator comparator = new SimpulComparator();
+    private final SimpulFrontier queue = new SimpulFrontier();
+    private final int maximumOpenSimpul;
+    private final int[] path = new int[numberOfVertex];
+    private double incumbentCost = Double.POSITIVE_INFINITY; //bobot tur terbaik yang sudah ditemukan
+    private int[] incumbentTour = null;
+    private int numberOfSimpul = 0;
+    /*Nilai batas terkecil simpul yang belum selesai saat pencarian dihentikan*/
+    private double lowerBound = Double.POSITIVE_INFINITY;
+    /*Penampung anak selama pencarian depth-first, null jika anak masuk ke antrian*/
+    private ArrayList<Simpul> children = null;
+    /*Penghitung kemajuan*/
+    private final SolverMetrics metrics;
+    private final SolverMetrics.LocalCounter generatedCounter;
+    private final SolverMetrics.LocalCounter expandedCounter;
+    private final SolverMetrics.LocalCounter prunedCounter;
+
+    BestFirstSearch(int maximumOpenSimpul, SolverMetrics metrics) {
+      this.maximumOpenSimpul = maximumOpenSimpul;
+      this.metrics = metrics;
+      generatedCounter = metrics.createGeneratedCounter();
+      expandedCounter = metrics.createExpandedCounter();
+      prunedCounter = metrics.createPrunedCounter();
+    }
+
+    void run(SimpulExpander expander) {
+      queue.add(expander.createRoot());
+      numberOfSimpul++;
+      generatedCounter.increment();
+      while (!queue.isEmpty()) {
+        Simpul head = queue.poll();
+        if (head.cost >= incumbentCost) { //simpul tersisa pasti bukan solusi yang lebih baik
+          prunedCounter.add(queue.size() + 1);
+          break;
+        }
+        if (metrics.isStopRequested()) { //head adalah simpul hidup dengan nilai batas terkecil
+          lowerBound = head.cost;
+          break;
+        }
+        if (queue.size() >= maximumOpenSimpul) {
+          if (!searchDepthFirst(expander, head)) {
+            lowerBound = head.cost;
+            break;
           }
-          double minimumWeight = Double.MAX_VALUE;
-          int minimumWeightIndex = -1;
-          int numberOfValidWeight = 0;
-          for (int j = 0; j < numberOfVertex; j++) { //mencari bobot minimum
-            if (j != excludedIndex) {
-              if (weight[i][j] != INVALID_WEIGHT) {
-                numberOfValidWeight++;
-                if (weight[i][j] < minimumWeight) {
-                  minimumWeight = weight[i][j];
-                  minimumWeightIndex = j;
-                }
-              }
-            }
+        } else {
+          if (expandedCounter.increment()) { //nilai batas head tidak lebih besar dari simpul hidup
+            metrics.setLowerBound(head.cost);
+            metrics.setFrontierSize(queue.size());
+          }
+          expander.expand(head, this);
+        }
+      }
+      generatedCounter.flush();
+      expandedCounter.flush();
+      prunedCounter.flush();
+    }
+
+    /*
+     * Menyelesaikan subpohon start secara depth-first, anak dengan nilai batas terkecil lebih dulu.
+     * Mengembalikan false jika pencarian dihentikan sebelum subpohon selesai.
+     */
+    private boolean searchDepthFirst(SimpulExpander expander, Simpul start) {
+      ArrayList<Simpul> stack = new ArrayList<>();
+      children = new ArrayList<>();
+      stack.add(start);
+      while (!stack.isEmpty()) {
+        Simpul head = stack.remove(stack.size()-1);
+        if (head.cost < incumbentCost) {
+          if (metrics.isStopRequested()) {
+            children = null;
+            return false;
           }
-          if (numberOfValidWeight > 0) {
-            indexOfMinimumNeighbor[i][numberOfMinimumNeighbor[i]] = minimumWeightIndex;
-            numberOfMinimumNeighbor[i]++;
+          if (expandedCounter.increment()) { //subpohon start tidak lebih murah dari start
+            metrics.setLowerBound(start.cost);
+            metrics.setFrontierSize(queue.size() + stack.size());
           }
+          expander.expand(head, this);
+          children.sort(comparator.reversed());
+          stack.addAll(children);
+          children.clear();
+        } else {
+          prunedCounter.increment();
         }
       }
-      for (int i = 0; i < numberOfVertex; i++) {
-        cost += weight[i][indexOfMinimumNeighbor[i][0]];
-        cost += weight[i][indexOfMinimumNeighbor[i][1]];
+      children = null;
+      return true;
+    }
+
+    @Override
+    public double getIncumbentCost() {
+      return incumbentCost;
+    }
+
+    @Override
+    public void addSimpul(Simpul simpul) {
+      numberOfSimpul++;
+      generatedCounter.increment();
+      if (simpul.cost < incumbentCost) {
+        if (children != null) {
+          children.add(simpul);
+        } else {
+          queue.add(simpul);
+        }
+      } else {
+        prunedCounter.increment();
       }
-      if (parent != null)
-      cost /= 2;
     }
 
+    @Override
+    public void addTour(Simpul head, int lastVertex, double tourWeight) {
+      numberOfSimpul++;
+      generatedCounter.increment();
+      if (tourWeight < incumbentCost) {
+        incumbentCost = tourWeight;
+        head.fillPath(path);
+        path[numberOfVertex-1] = lastVertex;
+        incumbentTour = path.clone();
+        metrics.setUpperBound(tourWeight);
+        prunedCounter.add(queue.pruneAtLeast(tourWeight));
+      }
+    }
   }
 
   /**
-   * Kelas simpul untuk pohon ruang status Reduced Cost Matrix.
+   * Pembangkit simpul dengan fungsi pembatas Bobot Tur Lengkap.
    */
-  private class SimpulReducedCostMatrix {
+  class BobotTurLengkapExpander implements SimpulExpander {
 
-    public final SimpulReducedCostMatrix parent; //simpul parent
-    public WeightMatrix matrix; //matriks bobot
-    public double cost; //nilai batas
-    public final int level; //level simpul pada pohon ruang status
-    public final int vertex; //vertex yang ditempati pada simpul ini
+    private final SparseGraph graph = getSparseGraph();
 
-    public SimpulReducedCostMatrix(WeightMatrix matrix) {
-      parent = null;
-      this.matrix = new WeightMatrix(matrix);
-      cost = 0;
-      level = 1;
-      vertex = START_VERTEX;
-      reduceCost();
+    @Override
+    public Simpul createRoot() {
+      return new SimpulBobotTurLengkap();
     }
 
-    public SimpulReducedCostMatrix(SimpulReducedCostMatrix parent, int nextVertex) {
-      this.parent = parent;
-      matrix = new WeightMatrix(parent.matrix);
-      for (int j = 0; j < matrix.numberOfVertex; ++j) {
-        matrix.weight[parent.vertex][j] = INVALID_WEIGHT;
-      }
-      for (int i = 0; i < matrix.numberOfVertex; ++i) {
-        matrix.weight[i][nextVertex] = INVALID_WEIGHT;
-      }
-      matrix.weight[nextVertex][0] = INVALID_WEIGHT;
-      cost = parent.cost + parent.matrix.weight[parent.vertex][nextVertex];
-      level = parent.level+1;
-      this.vertex = nextVertex;
-      reduceCost();
-    }
-
-    public void reduceCost() {
-      for (int i = 0; i < matrix.numberOfVertex; ++i) {
-        boolean isZeroExist = false;
-        double minimumCost = Double.MAX_VALUE;
-        int numberOfInvalid = 0;
-        for (int j = 0; j < matrix.numberOfVertex; ++j) {
-          if (matrix.weight[i][j] == 0.0) {
-            isZeroExist = true;
-            break;
-          } else if (matrix.weight[i][j] != INVALID_WEIGHT) {
-            if (matrix.weight[i][j] < minimumCost) {
-              minimumCost = matrix.weight[i][j];
-            }
+    @Override
+    public void expand(Simpul head, SimpulSink sink) {
+      SimpulBobotTurLengkap simpul = (SimpulBobotTurLengkap) head;
+      for (int e = graph.getOutBegin(head.vertex); e < graph.getOutEnd(head.vertex); ++e) {
+        int i = graph.getTarget(e);
+        if (!simpul.isVisited[i]
+            && head.pathWeight + graph.getWeight(e) < sink.getIncumbentCost()) {
+          if (head.level + 1 == numberOfVertex) { //daun, langsung dievaluasi sebagai tur
+            sink.addTour(head, i, computeTourWeight(head.pathWeight, head.vertex, i));
           } else {
-            numberOfInvalid++;
+            sink.addSimpul(new SimpulBobotTurLengkap(simpul, i));
           }
         }
-        if (!isZeroExist) {
-          if (numberOfInvalid < matrix.numberOfVertex) cost += minimumCost;
-          for (int j = 0; j < matrix.numberOfVertex; ++j) {
-            if (matrix.weight[i][j] != INVALID_WEIGHT) {
-              matrix.weight[i][j] -= minimumCost;
-            }
+      }
+    }
+  }
+
+  /**
+   * Pembangkit simpul dengan fungsi pembatas Reduced Cost Matrix.
+   * Setiap pembangkit memiliki ReducedCostWorkspace sendiri.
+   */
+  class ReducedCostMatrixExpander implements SimpulExpander {
+
+    private final ReducedCostWorkspace workspace = new ReducedCostWorkspace(WeightMatrix.this);
+    private final SparseGraph graph = getSparseGraph();
+    private final int[] path = new int[numberOfVertex];
+
+    @Override
+    public Simpul createRoot() {
+      return new Simpul(workspace.getRootCost());
+    }
+
+    @Override
+    public void expand(Simpul head, SimpulSink sink) {
+      head.fillPath(path);
+      workspace.moveTo(path, head.level);
+      for (int e = graph.getOutBegin(head.vertex); e < graph.getOutEnd(head.vertex); ++e) {
+        int i = graph.getTarget(e);
+        double reducedWeight = workspace.getWeight(head.vertex, i);
+        double pathWeight = head.pathWeight + graph.getWeight(e);
+        if (reducedWeight != INVALID_WEIGHT && head.cost + reducedWeight < sink.getIncumbentCost()
+            && pathWeight < sink.getIncumbentCost()) {
+          if (head.level + 1 == numberOfVertex) { //daun, langsung dievaluasi sebagai tur
+            sink.addTour(head, i, computeTourWeight(head.pathWeight, head.vertex, i));
+          } else {
+            double cost = workspace.push(i, head.cost);
+            workspace.pop();
+            sink.addSimpul(new Simpul(head, i, pathWeight, cost));
           }
         }
       }
-      for (int j = 0; j < matrix.numberOfVertex; ++j) {
-        boolean isZeroExist = false;
-        double minimumCost = Double.MAX_VALUE;
-        int numberOfInvalid = 0;
-        for (int i = 0; i < matrix.numberOfVertex; ++i) {
-          if (matrix.weight[i][j] == 0.0) {
-            isZeroExist = true;
-            break;
-          } else if (matrix.weight[i][j] != INVALID_WEIGHT) {
-            if (matrix.weight[i][j] < minimumCost) {
-              minimumCost = matrix.weight[i][j];
-            }
-          } else {
-            numberOfInvalid++;
+    }
+  }
+
+  /**
+   * Pembangkit simpul dengan fungsi pembatas 1-tree Held-Karp, hanya untuk graf tak berarah.
+   * Nilai batas penuh dihitung saat simpul diekspansi, anak diberi perkiraan dari reduced cost.
+   */
+  class OneTreeExpander implements SimpulExpander {
+
+    private final OneTreeWorkspace workspace = new OneTreeWorkspace(WeightMatrix.this);
+    private final SparseGraph graph = getSparseGraph();
+
+    @Override
+    public Simpul createRoot() {
+      return workspace.createRoot();
+    }
+
+    @Override
+    public void expand(Simpul head, SimpulSink sink) {
+      OneTreeWorkspace.SimpulOneTree simpul = (OneTreeWorkspace.SimpulOneTree) head;
+      if (head.level + 1 == numberOfVertex) { //anak berupa daun, langsung dievaluasi sebagai tur
+        for (int e = graph.getOutBegin(head.vertex); e < graph.getOutEnd(head.vertex); ++e) {
+          int i = graph.getTarget(e);
+          if (!simpul.isVisited[i]) {
+            sink.addTour(head, i, computeTourWeight(head.pathWeight, head.vertex, i));
           }
         }
-        if (!isZeroExist) {
-          if (numberOfInvalid < matrix.numberOfVertex) cost += minimumCost;
-          for (int i = 0; i < matrix.numberOfVertex; ++i) {
-            if (matrix.weight[i][j] != INVALID_WEIGHT) {
-              matrix.weight[i][j] -= minimumCost;
-            }
+        return;
+      }
+      double bound = Math.max(head.cost,
+          workspace.evaluate(simpul, sink.getIncumbentCost(), metrics));
+      if (bound >= sink.getIncumbentCost()) {
+        return;
+      }
+      int[] rest = workspace.findTour();
+      if (rest != null) { //struktur berupa tur, sisa subpohon tidak mungkin lebih ringan
+        addCompletedTour(head, rest, bound, sink);
+        return;
+      }
+      for (int e = graph.getOutBegin(head.vertex); e < graph.getOutEnd(head.vertex); ++e) {
+        int i = graph.getTarget(e);
+        double pathWeight = head.pathWeight + graph.getWeight(e);
+        if (!simpul.isVisited[i] && workspace.isUsable(head.vertex, i)
+            && pathWeight < sink.getIncumbentCost()) {
+          double cost = Math.max(bound, workspace.estimateChild(i));
+          if (cost < sink.getIncumbentCost()) {
+            sink.addSimpul(workspace.createChild(simpul, i, pathWeight, cost));
           }
         }
       }
@@ -371,25 +1350,248 @@ public class WeightMatrix {
   }
 
   /**
-   * Komparator agar SimpulReducedCostMatrix dapat dimasukkan ke dalam priority queue.
+   * Pembangkit simpul dengan fungsi pembatas assignment problem.
+   * Setiap anak dihitung dari assignment parent, anak yang assignment-nya sudah berupa tur langsung
+   * dijadikan tur.
    */
-  private class SimpulReducedCostMatrixComparator implements Comparator<SimpulReducedCostMatrix> {
+  class AssignmentExpander implements SimpulExpander {
+
+    private final AssignmentWorkspace workspace = new AssignmentWorkspace(WeightMatrix.this);
+    private final SparseGraph graph = getSparseGraph();
+
     @Override
-    public int compare(SimpulReducedCostMatrix simpul1, SimpulReducedCostMatrix simpul2) {
-      if (simpul1.cost < simpul2.cost) {
-        return -1;
-      } else if (simpul1.cost > simpul2.cost) {
-        return 1;
-      } else return 0;
+    public Simpul createRoot() {
+      return workspace.createRoot();
+    }
+
+    @Override
+    public void expand(Simpul head, SimpulSink sink) {
+      AssignmentWorkspace.SimpulAssignment simpul = (AssignmentWorkspace.SimpulAssignment) head;
+      if (head.level + 1 == numberOfVertex) { //anak berupa daun, langsung dievaluasi sebagai tur
+        for (int e = graph.getOutBegin(head.vertex); e < graph.getOutEnd(head.vertex); ++e) {
+          int i = graph.getTarget(e);
+          if (!simpul.isVisited[i]) {
+            sink.addTour(head, i, computeTourWeight(head.pathWeight, head.vertex, i));
+          }
+        }
+        return;
+      }
+      workspace.load(simpul);
+      for (int e = graph.getOutBegin(head.vertex); e < graph.getOutEnd(head.vertex); ++e) {
+        int i = graph.getTarget(e);
+        double pathWeight = head.pathWeight + graph.getWeight(e);
+        if (!simpul.isVisited[i] && pathWeight < sink.getIncumbentCost()) {
+          double cost = workspace.evaluateChild(i, pathWeight);
+          if (cost < sink.getIncumbentCost()) {
+            int[] rest = workspace.findTour();
+            if (rest != null) { //assignment berupa tur, sisa subpohon tidak mungkin lebih ringan
+              addCompletedTour(head, rest, cost, sink);
+            } else {
+              sink.addSimpul(workspace.createChild(simpul, i, pathWeight, cost));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Mengirim tur berupa lintasan head diperpanjang dengan rest ke sink. Simpul perantara tidak
+   * dikirim sebagai simpul hidup karena subpohonnya tidak mungkin memuat tur yang lebih ringan.
+   * @param head simpul yang sedang diekspansi
+   * @param rest urutan vertex setelah head.vertex hingga vertex terakhir sebelum simpul awal
+   * @param cost nilai batas simpul perantara
+   * @param sink penampung tur
+   */
+  private void addCompletedTour(Simpul head, int[] rest, double cost, SimpulSink sink) {
+    Simpul tail = head;
+    for (int k = 0; k < rest.length - 1; ++k) {
+      double pathWeight = tail.pathWeight + getWeight(tail.vertex, rest[k]);
+      tail = new Simpul(tail, rest[k], pathWeight, cost);
+    }
+    int lastVertex = rest[rest.length-1];
+    sink.addTour(tail, lastVertex, computeTourWeight(tail.pathWeight, tail.vertex, lastVertex));
+  }
+
+  /**
+   * Kelas simpul untuk pohon ruang status Bobot Tur Lengkap.
+   * Nilai batas dihitung secara inkremental dari simpul parent: hanya kontribusi dua ujung sisi
+   * yang baru ditambahkan yang berubah (lihat computeBoundSumChange()).
+   */
+  private class SimpulBobotTurLengkap extends Simpul {
+
+    public final boolean[] isVisited; //apakah vertex pada suatu indeks sudah dikunjungi
+    public final double boundSum; //jumlah kontribusi seluruh vertex, dua kali nilai batas
+
+    public SimpulBobotTurLengkap() {
+      super(0);
+      isVisited = new boolean[numberOfVertex];
+      isVisited[vertex] = true;
+      boundSum = computeRootBoundSum();
+      cost = boundSum / 2;
+    }
+
+    public SimpulBobotTurLengkap(SimpulBobotTurLengkap parent, int nextVertex) {
+      super(parent, nextVertex, parent.pathWeight + getWeight(parent.vertex, nextVertex), 0);
+      isVisited = parent.isVisited.clone();
+      isVisited[vertex] = true;
+      int previousVertex = parent.parent == null ? -1 : parent.parent.vertex;
+      boundSum = parent.boundSum + computeBoundSumChange(previousVertex, parent.vertex, nextVertex);
+      cost = boundSum / 2;
+    }
+  }
+
+  /**
+   * Menghitung jumlah kontribusi seluruh vertex pada simpul akar, yaitu dua kali nilai batas Bobot
+   * Tur Lengkap. Pada graf tak berarah, kontribusi vertex adalah bobot dua sisi termurahnya. Pada
+   * graf berarah, kontribusi vertex adalah bobot sisi keluar termurah ditambah sisi masuk termurah,
+   * karena bobot tur sama dengan jumlah sisi keluar dan juga jumlah sisi masuk setiap vertex;
+   * dua sisi keluar termurah bukan batas bawah jika salah satu vertex hanya memiliki satu sisi
+   * keluar atau bobot kedua arah berbeda.
+   * @return jumlah kontribusi, tak hingga jika ada vertex tanpa sisi yang dibutuhkan
+   */
+  double computeRootBoundSum() {
+    double sum = 0;
+    for (int i = 0; i < numberOfVertex; i++) {
+      sum += isUndirectedBound() ? computeContribution(i, -1)
+          : computeCheapestExcluding(i, -1) + computeCheapestIn(i);
+    }
+    return sum;
+  }
+
+  /**
+   * Menghitung perubahan jumlah kontribusi ketika lintasan diperpanjang dengan sisi vertex ke
+   * nextVertex. Pada graf tak berarah, sisi termurah vertex dan nextVertex diganti sisi baru. Pada
+   * graf berarah, sisi keluar termurah vertex dan sisi masuk termurah nextVertex diganti sisi baru.
+   * @param previousVertex vertex sebelum vertex pada lintasan, -1 jika vertex adalah simpul awal
+   * @param vertex vertex terakhir lintasan
+   * @param nextVertex vertex berikutnya, belum dikunjungi
+   * @return perubahan jumlah kontribusi, tidak negatif
+   */
+  double computeBoundSumChange(int previousVertex, int vertex, int nextVertex) {
+    double edgeWeight = getWeight(vertex, nextVertex);
+    if (!isUndirectedBound()) {
+      return 2 * edgeWeight - computeCheapestExcluding(vertex, -1) - computeCheapestIn(nextVertex);
+    }
+    double change;
+    if (previousVertex < 0) { //vertex awal baru memiliki satu sisi tetap
+      change = computeContribution(vertex, nextVertex) - computeContribution(vertex, -1);
+    } else { //sisi tetap ke previousVertex tetap ada, sisi termurah lainnya diganti sisi baru
+      change = edgeWeight - computeCheapestExcluding(vertex, previousVertex);
+    }
+    return change + computeContribution(nextVertex, vertex) - computeContribution(nextVertex, -1);
+  }
+
+  /*
+   * Apakah nilai batas memakai dua sisi termurah. Tur dua vertex memakai satu sisi dua kali,
+   * sehingga selalu memakai kontribusi graf berarah.
+   */
+  private boolean isUndirectedBound() {
+    return numberOfVertex > 2 && isSymmetric();
+  }
+
+  /**
+   * Menghitung kontribusi suatu vertex pada nilai batas Bobot Tur Lengkap graf tak berarah.
+   * @param vertex vertex yang dihitung
+   * @param fixedNeighbor satu-satunya tetangga tetap dari vertex, -1 jika tidak ada
+   * @return bobot dua sisi termurah vertex yang memuat sisi tetap, tak hingga jika tidak ada
+   */
+  private double computeContribution(int vertex, int fixedNeighbor) {
+    if (fixedNeighbor < 0) {
+      int[] cheapestNeighbor = getCheapestNeighbor();
+      if (cheapestNeighbor[2*vertex+1] < 0) {
+        return Double.POSITIVE_INFINITY;
+      }
+      return getWeight(vertex, cheapestNeighbor[2*vertex])
+          + getWeight(vertex, cheapestNeighbor[2*vertex+1]);
+    }
+    return getWeight(vertex, fixedNeighbor) + computeCheapestExcluding(vertex, fixedNeighbor);
+  }
+
+  /**
+   * Menghitung bobot sisi termurah dari suatu vertex selain ke excludedNeighbor.
+   * @param vertex vertex asal
+   * @param excludedNeighbor vertex tujuan yang tidak diperhitungkan, -1 untuk seluruh sisi
+   * @return bobot sisi termurah, tak hingga jika tidak ada
+   */
+  private double computeCheapestExcluding(int vertex, int excludedNeighbor) {
+    int[] cheapestNeighbor = getCheapestNeighbor();
+    int neighbor = cheapestNeighbor[2*vertex];
+    if (neighbor == excludedNeighbor) {
+      neighbor = cheapestNeighbor[2*vertex+1];
+    }
+    if (neighbor < 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return getWeight(vertex, neighbor);
+  }
+
+  /*Bobot sisi masuk termurah suatu vertex, tak hingga jika tidak ada*/
+  private double computeCheapestIn(int vertex) {
+    int neighbor = getCheapestNeighbor()[2*numberOfVertex + vertex];
+    return neighbor < 0 ? Double.POSITIVE_INFINITY : getWeight(neighbor, vertex);
+  }
+
+  /**
+   * Getter tetangga termurah setiap vertex, dihitung sekali lalu disimpan.
+   * @return array dengan tetangga keluar termurah vertex i pada indeks 2i, termurah kedua pada
+   *     2i+1, dan tetangga masuk termurah pada 2n+i, -1 jika tidak ada
+   */
+  private int[] getCheapestNeighbor() {
+    int[] neighbor = cheapestNeighbor;
+    return neighbor != null ? neighbor : computeCheapestNeighbor();
+  }
+
+  /*Menghitung dua tetangga termurah setiap vertex jika belum dihitung thread lain*/
+  private synchronized int[] computeCheapestNeighbor() {
+    if (cheapestNeighbor == null) {
+      int[] neighbor = new int[3*numberOfVertex];
+      SparseGraph graph = getSparseGraph();
+      for (int i = 0; i < numberOfVertex; i++) {
+        fillCheapestNeighbor(neighbor, graph, i);
+        fillCheapestInNeighbor(neighbor, graph, i);
+      }
+      cheapestNeighbor = neighbor;
+    }
+    return cheapestNeighbor;
+  }
+
+  /*Mengisi dua tetangga termurah suatu vertex pada indeks 2*vertex dan 2*vertex+1*/
+  private void fillCheapestNeighbor(int[] neighbor, SparseGraph graph, int vertex) {
+    int first = -1;
+    int second = -1;
+    for (int e = graph.getOutBegin(vertex); e < graph.getOutEnd(vertex); e++) {
+      int j = graph.getTarget(e);
+      double edgeWeight = graph.getWeight(e);
+      if (first < 0 || edgeWeight < getWeight(vertex, first)) {
+        second = first;
+        first = j;
+      } else if (second < 0 || edgeWeight < getWeight(vertex, second)) {
+        second = j;
+      }
+    }
+    neighbor[2*vertex] = first;
+    neighbor[2*vertex+1] = second;
+  }
+
+  /*Mengisi tetangga masuk termurah suatu vertex pada indeks 2*numberOfVertex+vertex*/
+  private void fillCheapestInNeighbor(int[] neighbor, SparseGraph graph, int vertex) {
+    int cheapest = -1;
+    for (int e = graph.getInBegin(vertex); e < graph.getInEnd(vertex); e++) {
+      int i = graph.getSource(e);
+      if (cheapest < 0 || getWeight(i, vertex) < getWeight(cheapest, vertex)) {
+        cheapest = i;
+      }
     }
+    neighbor[2*numberOfVertex + vertex] = cheapest;
   }
 
   /**
-   * Komparator agar SimpulBobotTurLengkap dapat dimasukkan ke dalam priority queue.
+   * Komparator agar Simpul dapat dimasukkan ke dalam priority queue.
    */
-  private class SimpulBobotTurLengkapComparator implements Comparator<SimpulBobotTurLengkap> {
+  static class SimpulComparator implements Comparator<Simpul> {
     @Override
-    public int compare(SimpulBobotTurLengkap simpul1, SimpulBobotTurLengkap simpul2) {
+    public int compare(Simpul simpul1, Simpul simpul2) {
       if (simpul1.cost < simpul2.cost) {
         return -1;
       } else if (simpul1.cost > simpul2.cost) {
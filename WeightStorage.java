@@ -0,0 +1,41 @@
+//WeightStorage.java
+
+import java.security.MessageDigest;
+
+/**
+ * Penyimpanan bobot matriks.
+ * Memisahkan cara bobot disimpan (array di heap, file yang di-map ke memori, dan sebagainya) dari
+ * WeightMatrix sehingga solver tidak perlu mengetahui asal bobot.
+ * @author Arno Alexander
+ */
+interface WeightStorage {
+
+  /**
+   * Getter banyak vertex.
+   * @return banyak baris dan banyak kolom matriks
+   */
+  int getNumberOfVertex();
+
+  /**
+   * Getter bobot.
+   * @param beginNode node asal
+   * @param endNode node tujuan
+   * @return bobot dari node asal ke node tujuan, INVALID_WEIGHT jika tidak ada sisi
+   */
+  double getWeight(int beginNode, int endNode);
+
+  /**
+   * Membuat salinan penyimpanan untuk copy constructor WeightMatrix.
+   * Penyimpanan yang tidak dapat diubah boleh mengembalikan dirinya sendiri.
+   * @return salinan penyimpanan
+   */
+  WeightStorage copy();
+
+  /**
+   * Menambahkan isi penyimpanan ke hash isi matriks langsung dari data yang disimpan, tanpa
+   * getWeight() untuk setiap pasangan vertex. Jenis penyimpanan ikut di-hash sehingga bobot yang
+   * sama dalam penyimpanan berbeda menghasilkan hash berbeda.
+   * @param digest hash yang sedang dihitung
+   */
+  void updateContentHash(MessageDigest digest);
+}
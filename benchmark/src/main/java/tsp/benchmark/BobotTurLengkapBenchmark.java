@@ -0,0 +1,51 @@
+//BobotTurLengkapBenchmark.java
+
+package tsp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark solveBobotTurLengkap(). Bobot Tur Lengkap hanya untuk graf tak berarah sehingga
+ * instance berarah tidak diukur.
+ * @author Arno Alexander
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BobotTurLengkapBenchmark {
+
+  @Param({Instance.SYMMETRIC, Instance.EUCLIDEAN})
+  public String type;
+
+  @Param({"10", "13", "16"})
+  public int n;
+
+  @Param({"42"})
+  public long seed;
+
+  private Object matrix;
+
+  @Setup
+  public void setUp() {
+    matrix = Solver.newMatrix(Instance.generate(type, n, seed));
+  }
+
+  @Benchmark
+  public int[] solve() {
+    return Solver.solveBobotTurLengkap(matrix);
+  }
+}
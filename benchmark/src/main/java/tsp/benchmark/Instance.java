@@ -0,0 +1,89 @@
+//Instance.java
+
+package tsp.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Pembangkit instance acak dengan seed tetap agar hasil benchmark dapat diulang.
+ * @author Arno Alexander
+ */
+final class Instance {
+
+  /*Jenis instance*/
+  static final String SYMMETRIC = "symmetric";
+  static final String ASYMMETRIC = "asymmetric";
+  static final String EUCLIDEAN = "euclidean";
+  /*Bobot acak berada pada rentang 1 .. MAXIMUM_WEIGHT*/
+  private static final int MAXIMUM_WEIGHT = 1000;
+
+  private Instance() {
+  }
+
+  /**
+   * Membangkitkan matriks bobot.
+   * @param type SYMMETRIC, ASYMMETRIC, atau EUCLIDEAN (jarak Euclid titik acak, dibulatkan)
+   * @param numberOfVertex banyak vertex
+   * @param seed seed pembangkit acak
+   * @return matriks bobot, diagonal berisi -1
+   */
+  static double[][] generate(String type, int numberOfVertex, long seed) {
+    Random random = new Random(seed);
+    double[][] weight = new double[numberOfVertex][numberOfVertex];
+    double[] x = new double[numberOfVertex];
+    double[] y = new double[numberOfVertex];
+    for (int i = 0; i < numberOfVertex; ++i) {
+      x[i] = random.nextDouble() * MAXIMUM_WEIGHT;
+      y[i] = random.nextDouble() * MAXIMUM_WEIGHT;
+    }
+    for (int i = 0; i < numberOfVertex; ++i) {
+      for (int j = 0; j < numberOfVertex; ++j) {
+        if (i == j) {
+          weight[i][j] = -1;
+          continue;
+        }
+        switch (type) {
+          case SYMMETRIC:
+            weight[i][j] = j < i ? weight[j][i] : 1 + random.nextInt(MAXIMUM_WEIGHT);
+            break;
+          case ASYMMETRIC:
+            weight[i][j] = 1 + random.nextInt(MAXIMUM_WEIGHT);
+            break;
+          case EUCLIDEAN:
+            weight[i][j] = Math.max(1, Math.rint(Math.hypot(x[i] - x[j], y[i] - y[j])));
+            break;
+          default:
+            throw new IllegalArgumentException("Jenis instance tidak dikenal : " + type);
+        }
+      }
+    }
+    return weight;
+  }
+
+  /**
+   * Menulis matriks ke file teks sementara dengan format input program.
+   * @param weight matriks bobot
+   * @return file yang ditulis, dihapus ketika JVM selesai
+   * @throws IOException jika file gagal ditulis
+   */
+  static File write(double[][] weight) throws IOException {
+    File file = File.createTempFile("tsp-benchmark", ".txt");
+    file.deleteOnExit();
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      for (double[] row : weight) {
+        for (int j = 0; j < row.length; ++j) {
+          if (j > 0) {
+            writer.write(' ');
+          }
+          writer.write(Long.toString((long) row[j]));
+        }
+        writer.newLine();
+      }
+    }
+    return file;
+  }
+}
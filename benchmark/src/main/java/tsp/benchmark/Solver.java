@@ -0,0 +1,126 @@
+//Solver.java
+
+package tsp.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Akses ke WeightMatrix dari benchmark.
+ * WeightMatrix berada di package default yang tidak dapat di-import dari package bernama, sedangkan
+ * JMH mewajibkan benchmark berada di package bernama. Karena itu konstruktor dan method solver
+ * dipanggil melalui MethodHandle yang disimpan di field static final sehingga dapat di-inline JIT
+ * dan tidak menambah biaya yang berarti pada waktu yang diukur.
+ * @author Arno Alexander
+ */
+final class Solver {
+
+  private static final MethodHandle NEW_FROM_ARRAY;
+  private static final MethodHandle NEW_FROM_FILE;
+  private static final MethodHandle NEW_COPY;
+  private static final MethodHandle SOLVE_REDUCED_COST_MATRIX;
+  private static final MethodHandle SOLVE_BOBOT_TUR_LENGKAP;
+
+  static {
+    try {
+      Class<?> weightMatrix = Class.forName("WeightMatrix");
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      NEW_FROM_ARRAY = lookup.findConstructor(weightMatrix,
+          MethodType.methodType(void.class, double[][].class))
+          .asType(MethodType.methodType(Object.class, double[][].class));
+      NEW_FROM_FILE = lookup.findConstructor(weightMatrix,
+          MethodType.methodType(void.class, String.class))
+          .asType(MethodType.methodType(Object.class, String.class));
+      NEW_COPY = lookup.findConstructor(weightMatrix,
+          MethodType.methodType(void.class, weightMatrix))
+          .asType(MethodType.methodType(Object.class, Object.class));
+      SOLVE_REDUCED_COST_MATRIX = lookup.findVirtual(weightMatrix, "solveReducedCostMatrix",
+          MethodType.methodType(int[].class))
+          .asType(MethodType.methodType(int[].class, Object.class));
+      SOLVE_BOBOT_TUR_LENGKAP = lookup.findVirtual(weightMatrix, "solveBobotTurLengkap",
+          MethodType.methodType(int[].class))
+          .asType(MethodType.methodType(int[].class, Object.class));
+    } catch (ReflectiveOperationException exception) {
+      throw new ExceptionInInitializerError(exception);
+    }
+  }
+
+  private Solver() {
+  }
+
+  /**
+   * Membuat WeightMatrix dari array dua dimensi.
+   * @param weight bobot baris i kolom j pada weight[i][j]
+   * @return objek WeightMatrix
+   */
+  static Object newMatrix(double[][] weight) {
+    try {
+      return (Object) NEW_FROM_ARRAY.invokeExact(weight);
+    } catch (Throwable throwable) {
+      throw propagate(throwable);
+    }
+  }
+
+  /**
+   * Membuat WeightMatrix dari file teks input.
+   * @param inputPath lokasi file
+   * @return objek WeightMatrix
+   */
+  static Object loadMatrix(String inputPath) {
+    try {
+      return (Object) NEW_FROM_FILE.invokeExact(inputPath);
+    } catch (Throwable throwable) {
+      throw propagate(throwable);
+    }
+  }
+
+  /**
+   * Menyalin WeightMatrix dengan copy constructor.
+   * @param matrix objek WeightMatrix
+   * @return salinan matrix
+   */
+  static Object copyMatrix(Object matrix) {
+    try {
+      return (Object) NEW_COPY.invokeExact(matrix);
+    } catch (Throwable throwable) {
+      throw propagate(throwable);
+    }
+  }
+
+  /**
+   * Memanggil solveReducedCostMatrix().
+   * @param matrix objek WeightMatrix
+   * @return tur terpendek
+   */
+  static int[] solveReducedCostMatrix(Object matrix) {
+    try {
+      return (int[]) SOLVE_REDUCED_COST_MATRIX.invokeExact(matrix);
+    } catch (Throwable throwable) {
+      throw propagate(throwable);
+    }
+  }
+
+  /**
+   * Memanggil solveBobotTurLengkap().
+   * @param matrix objek WeightMatrix
+   * @return tur terpendek
+   */
+  static int[] solveBobotTurLengkap(Object matrix) {
+    try {
+      return (int[]) SOLVE_BOBOT_TUR_LENGKAP.invokeExact(matrix);
+    } catch (Throwable throwable) {
+      throw propagate(throwable);
+    }
+  }
+
+  private static RuntimeException propagate(Throwable throwable) {
+    if (throwable instanceof RuntimeException) {
+      return (RuntimeException) throwable;
+    }
+    if (throwable instanceof Error) {
+      throw (Error) throwable;
+    }
+    return new IllegalStateException(throwable);
+  }
+}
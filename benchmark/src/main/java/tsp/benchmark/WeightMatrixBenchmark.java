@@ -0,0 +1,66 @@
+//WeightMatrixBenchmark.java
+
+package tsp.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark konstruktor file WeightMatrix (pembacaan file teks) dan copy constructor.
+ * @author Arno Alexander
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WeightMatrixBenchmark {
+
+  @Param({Instance.ASYMMETRIC, Instance.EUCLIDEAN})
+  public String type;
+
+  @Param({"100", "500", "2000"})
+  public int n;
+
+  @Param({"42"})
+  public long seed;
+
+  private File inputFile;
+  private Object matrix;
+
+  @Setup
+  public void setUp() throws IOException {
+    double[][] weight = Instance.generate(type, n, seed);
+    inputFile = Instance.write(weight);
+    matrix = Solver.newMatrix(weight);
+  }
+
+  @TearDown
+  public void tearDown() {
+    inputFile.delete();
+  }
+
+  @Benchmark
+  public Object load() {
+    return Solver.loadMatrix(inputFile.getPath());
+  }
+
+  @Benchmark
+  public Object copy() {
+    return Solver.copyMatrix(matrix);
+  }
+}
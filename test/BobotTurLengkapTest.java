@@ -0,0 +1,129 @@
+//BobotTurLengkapTest.java
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Uji regresi nilai batas Bobot Tur Lengkap pada graf berarah. Tanpa framework pengujian :
+ * dijalankan dengan java -cp out BobotTurLengkapTest dan keluar dengan AssertionError jika gagal.
+ * @author Arno Alexander
+ */
+public class BobotTurLengkapTest {
+
+  private static final double X = WeightMatrix.INVALID_WEIGHT;
+
+  public static void main(String[] args) throws Exception {
+    testVertexWithOneOutEdge();
+    testDirectedLowerBound();
+    System.out.println("BobotTurLengkapTest OK");
+  }
+
+  /*
+   * Graf jarang berarah yang memiliki tur, dengan vertex 1 yang hanya memiliki satu sisi keluar.
+   * Sebelumnya kontribusi dua sisi keluar termurah vertex 1 tak hingga, sehingga akar langsung
+   * terpangkas dan seluruh solver Bobot Tur Lengkap mengembalikan null.
+   */
+  private static void testVertexWithOneOutEdge() {
+    double[][] weight = {
+      {X, 7, 3, X, 9, X},
+      {X, X, 5, X, X, X},
+      {X, X, X, 4, 2, 8},
+      {6, 1, X, X, X, 3},
+      {X, X, X, 2, X, 6},
+      {4, 9, X, 1, X, X},
+    };
+    double optimum = computeBruteForce(weight);
+    checkSolver("solveBobotTurLengkap", weight, optimum, WeightMatrix::solveBobotTurLengkap);
+    checkSolver("solveDepthFirst", weight, optimum, matrix -> matrix.solveDepthFirst(
+        WeightMatrix.BOUND_BOBOT_TUR_LENGKAP));
+    checkSolver("solveBestFirst", weight, optimum, matrix -> matrix.solveBestFirst(
+        WeightMatrix.BOUND_BOBOT_TUR_LENGKAP, 1000));
+    checkSolver("solveParallel", weight, optimum, matrix -> matrix.solveParallel(
+        WeightMatrix.BOUND_BOBOT_TUR_LENGKAP, 2));
+  }
+
+  /*
+   * Batas bawah yang dilaporkan SolveResult (dan kolom batas_bawah BatchSolver) pada graf berarah
+   * tidak boleh melebihi bobot tur optimal, termasuk jika solver dihentikan batas waktu, dan
+   * isOptimal() hanya boleh bernilai true untuk tur optimal. Sebelumnya setengah jumlah dua sisi
+   * keluar termurah dapat melebihi bobot tur optimal sehingga tur yang lebih berat dilaporkan
+   * optimal.
+   */
+  private static void testDirectedLowerBound() throws Exception {
+    Random random = new Random(5);
+    for (int instance = 0; instance < 20; ++instance) {
+      double[][] weight = new double[12][12];
+      for (int i = 0; i < weight.length; ++i) {
+        for (int j = 0; j < weight.length; ++j) {
+          weight[i][j] = i == j || random.nextInt(4) == 0 ? X : 1 + random.nextInt(100);
+        }
+      }
+      WeightMatrix reference = new WeightMatrix(weight);
+      double optimum = reference.computeTourWeight(reference.solveHeldKarp(1));
+      for (long timeLimitMillis : new long[] {0, 5}) {
+        WeightMatrix matrix = new WeightMatrix(weight);
+        matrix.setTimeLimitMillis(timeLimitMillis);
+        SolveResult result = matrix.solveAsync(WeightMatrix::solveBobotTurLengkap)
+            .get(1, TimeUnit.MINUTES);
+        if (result.getLowerBound() > optimum) {
+          throw new AssertionError("Instance " + instance + " : batas bawah "
+              + result.getLowerBound() + " melebihi bobot optimal " + optimum);
+        }
+        if (result.isOptimal() && result.getTourWeight() != optimum) {
+          throw new AssertionError("Instance " + instance + " : tur " + result.getTourWeight()
+              + " dilaporkan optimal, seharusnya " + optimum);
+        }
+      }
+    }
+  }
+
+  private static void checkSolver(String name, double[][] weight, double optimum,
+      Function<WeightMatrix,int[]> solver) {
+    WeightMatrix matrix = new WeightMatrix(weight);
+    int[] tour = solver.apply(matrix);
+    if (tour == null) {
+      throw new AssertionError(name + " tidak menemukan tur");
+    }
+    if (matrix.computeTourWeight(tour) != optimum) {
+      throw new AssertionError(name + " : bobot " + matrix.computeTourWeight(tour)
+          + ", seharusnya " + optimum);
+    }
+  }
+
+  /*Bobot tur optimal dengan mencoba seluruh permutasi vertex selain simpul awal*/
+  private static double computeBruteForce(double[][] weight) {
+    int[] tour = new int[weight.length];
+    for (int i = 0; i < tour.length; ++i) {
+      tour[i] = i;
+    }
+    return permute(weight, tour, 1);
+  }
+
+  private static double permute(double[][] weight, int[] tour, int position) {
+    if (position == tour.length) {
+      double tourWeight = 0;
+      for (int i = 0; i < tour.length; ++i) {
+        double edgeWeight = weight[tour[i]][tour[(i + 1) % tour.length]];
+        if (edgeWeight == X) {
+          return Double.POSITIVE_INFINITY;
+        }
+        tourWeight += edgeWeight;
+      }
+      return tourWeight;
+    }
+    double best = Double.POSITIVE_INFINITY;
+    for (int i = position; i < tour.length; ++i) {
+      swap(tour, position, i);
+      best = Math.min(best, permute(weight, tour, position + 1));
+      swap(tour, position, i);
+    }
+    return best;
+  }
+
+  private static void swap(int[] array, int i, int j) {
+    int temporary = array[i];
+    array[i] = array[j];
+    array[j] = temporary;
+  }
+}
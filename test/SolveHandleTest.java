@@ -0,0 +1,80 @@
+//SolveHandleTest.java
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uji regresi pembatalan SolveHandle pada solver paralel. Tanpa framework pengujian : dijalankan
+ * dengan java -cp out SolveHandleTest dan keluar dengan AssertionError jika gagal.
+ * @author Arno Alexander
+ */
+public class SolveHandleTest {
+
+  /*Batas waktu menunggu solver berhenti setelah dibatalkan*/
+  private static final long STOP_MILLIS = 5000;
+
+  public static void main(String[] args) throws Exception {
+    testCancelParallel();
+    testGetTimeoutParallel();
+    System.out.println("SolveHandleTest OK");
+  }
+
+  /*
+   * cancel() harus menghentikan solveParallel. Sebelumnya worker hanya memeriksa status interupsi
+   * thread solver, yang dihapus ketika thread tersebut menunggu worker dengan join(), sehingga
+   * worker tetap berjalan hingga kehabisan memori.
+   */
+  private static void testCancelParallel() throws Exception {
+    SolveHandle handle = createMatrix(40).solveAsync(matrix -> matrix.solveParallel(
+        WeightMatrix.BOUND_BOBOT_TUR_LENGKAP, 4));
+    Thread.sleep(1500);
+    if (handle.isDone()) {
+      throw new AssertionError("instance selesai sebelum dibatalkan, perbesar instance");
+    }
+    handle.cancel();
+    long deadline = System.currentTimeMillis() + STOP_MILLIS;
+    while (!handle.isDone() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    if (!handle.isDone()) {
+      throw new AssertionError("solveParallel masih berjalan " + STOP_MILLIS
+          + " ms setelah cancel()");
+    }
+    SolveResult result = handle.get();
+    if (!result.isStopped()) {
+      throw new AssertionError("hasil solveParallel yang dibatalkan tidak ditandai berhenti");
+    }
+  }
+
+  /*get(timeout) membatalkan solver dan harus kembali dengan hasil terbaik sejauh ini*/
+  private static void testGetTimeoutParallel() throws Exception {
+    SolveHandle handle = createMatrix(40).solveAsync(matrix -> matrix.solveParallel(
+        WeightMatrix.BOUND_BOBOT_TUR_LENGKAP, 4));
+    SolveResult[] result = new SolveResult[1];
+    Thread waiter = new Thread(() -> {
+      try {
+        result[0] = handle.get(500, TimeUnit.MILLISECONDS);
+      } catch (Exception exception) {
+        throw new RuntimeException(exception);
+      }
+    });
+    waiter.setDaemon(true);
+    waiter.start();
+    waiter.join(STOP_MILLIS + 2000);
+    if (result[0] == null) {
+      throw new AssertionError("get(500 ms) pada solveParallel tidak kembali");
+    }
+  }
+
+  /*Graf lengkap berarah acak yang terlalu besar untuk diselesaikan optimal dalam hitungan detik*/
+  private static WeightMatrix createMatrix(int numberOfVertex) {
+    Random random = new Random(14);
+    double[][] weight = new double[numberOfVertex][numberOfVertex];
+    for (int i = 0; i < numberOfVertex; ++i) {
+      for (int j = 0; j < numberOfVertex; ++j) {
+        weight[i][j] = i == j ? WeightMatrix.INVALID_WEIGHT : 1 + random.nextInt(1000);
+      }
+    }
+    return new WeightMatrix(weight);
+  }
+}